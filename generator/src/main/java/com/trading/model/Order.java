@@ -1,16 +1,48 @@
 package com.trading.model;
 
-import java.time.LocalDateTime;
-import java.util.Currency;
-import java.util.UUID;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
 
+// Mirrors the subset of the limit service's order message that passes its validation and subscription filter.
 public record Order(
-        UUID id,
-        UUID traderId,
-        String symbol,
+        String orderId,
+        String ownerId,
+        String instrumentCode,
+        String settlementCurrency,
+        TradeSide side,
         int quantity,
         double price,
-        TradeSide side,
-        Currency currency,
-        LocalDateTime tradeTimestamp
-) {}
\ No newline at end of file
+        LocalDate tradeDate,
+        LocalTime arrivalTime,
+        int version
+) {
+    public static final String STATE = "ACCEPTED_BY_DESK";
+    public static final String ACTION_EVENT = "SUBMIT_TO_EXCH";
+    public static final String MESSAGE_TYPE = "PARENT_ORDER";
+    private static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("h:mm:ss a", Locale.ENGLISH);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ENGLISH);
+
+    public double orderNotionalValueInLocal() {
+        return quantity * price;
+    }
+
+    public void toJson(StringBuilder json) {
+        json.append("{\"orderId\":\"").append(orderId)
+                .append("\",\"ownerId\":\"").append(ownerId)
+                .append("\",\"instrumentCode\":\"").append(instrumentCode)
+                .append("\",\"settlementCurrency\":\"").append(settlementCurrency)
+                .append("\",\"side\":\"").append(side)
+                .append("\",\"quantity\":").append(quantity)
+                .append(",\"price\":").append(price)
+                .append(",\"orderNotionalValueInLocal\":").append(orderNotionalValueInLocal())
+                .append(",\"tradeDate\":\"").append(DATE_FORMATTER.format(tradeDate))
+                .append("\",\"arrivalTime\":\"").append(TIME_FORMATTER.format(arrivalTime))
+                .append("\",\"state\":\"").append(STATE)
+                .append("\",\"actionEvent\":\"").append(ACTION_EVENT)
+                .append("\",\"messageType\":\"").append(MESSAGE_TYPE)
+                .append("\",\"version\":").append(version)
+                .append('}');
+    }
+}
@@ -1,30 +1,42 @@
 package com.trading.service;
 
 import com.crankuptheamps.client.Client;
-import com.crankuptheamps.client.exception.ConnectionException;
+import com.crankuptheamps.client.Message;
 import com.trading.model.Order;
 import com.trading.model.TradeSide;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import javax.annotation.PostConstruct;
-import lombok.RequiredArgsConstructor;
+import javax.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import java.time.LocalDateTime;
-import java.util.*;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
-import static java.lang.Thread.sleep;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class OrderGeneratorService {
 
-    private Client ampsClient;
-    private final ObjectMapper objectMapper;
-    private final List<UUID> traderIds = new ArrayList<>();
-    private final Random random = new Random();
+    private static final long SPIN_THRESHOLD_NANOS = 50_000;
+    private static final String ORDER_ID_FIELD = "\"orderId\":\"";
+
+    private record Instrument(String symbol, String currency) {}
+
+    private static final List<Instrument> INSTRUMENTS = List.of(
+            new Instrument("0700.HK", "HKD"), new Instrument("0001.HK", "HKD"), new Instrument("0005.HK", "HKD"),
+            new Instrument("0011.HK", "HKD"), new Instrument("0016.HK", "HKD"),
+            new Instrument("7203.T", "JPY"), new Instrument("9984.T", "JPY"), new Instrument("6758.T", "JPY"),
+            new Instrument("6861.T", "JPY"), new Instrument("9432.T", "JPY"),
+            new Instrument("005930.KS", "KRW"), new Instrument("035720.KS", "KRW"), new Instrument("035420.KS", "KRW"),
+            new Instrument("068270.KS", "KRW"), new Instrument("051910.KS", "KRW")
+    );
 
     @Value("${amps.server.url}")
     private String ampsServerUrl;
@@ -32,103 +44,191 @@ public class OrderGeneratorService {
     @Value("${amps.topic.orders}")
     private String ordersTopic;
 
-    private static final List<String> HK_SYMBOLS = Arrays.asList(
-            "0700.HK", "0001.HK", "0005.HK", "0011.HK", "0016.HK"
-    );
+    @Value("${amps.topic.trader.notional.update}")
+    private String traderNotionalUpdateTopic;
 
-    private static final List<String> JP_SYMBOLS = Arrays.asList(
-            "7203.T", "9984.T", "6758.T", "6861.T", "9432.T"
-    );
+    @Value("${generator.rate}")
+    private long rate;
 
-    private static final List<String> KR_SYMBOLS = Arrays.asList(
-            "005930.KS", "035720.KS", "035420.KS", "068270.KS", "051910.KS"
-    );
+    @Value("${generator.duration.seconds}")
+    private long durationSeconds;
 
-    @PostConstruct
-    public void init() throws ConnectionException {
-        // Initialize 5 trader IDs
-        traderIds.add(UUID.fromString("aa477902-f601-48f0-b206-48c472f75161"));
-        traderIds.add(UUID.fromString("0927b5e0-162d-41c6-98ec-630c1a8d5b22"));
-        traderIds.add(UUID.fromString("8f12a606-1e67-43de-bf55-5292fd535224"));
-        traderIds.add(UUID.fromString("ddcc0ccd-3f61-43ff-bbb2-49f7a8eac64d"));
-        traderIds.add(UUID.fromString("6eef7deb-f873-410f-93ae-09cfa209d84f"));
+    @Value("${generator.threads}")
+    private int threads;
 
-        log.info("Initialized trader IDs: {}", traderIds);
+    @Value("${generator.trader.prefix}")
+    private String traderPrefix;
+
+    @Value("${generator.trader.count}")
+    private int traderCount;
+
+    @Value("${generator.trader.skew}")
+    private double traderSkew;
+
+    @Value("${generator.symbol.skew}")
+    private double symbolSkew;
+
+    @Value("${generator.seed}")
+    private long seed;
+
+    @Value("${generator.report.interval.seconds}")
+    private long reportIntervalSeconds;
+
+    private Client ampsClient;
+    private String runPrefix;
+    private String[] traderIds;
+    private ZipfSampler traderSampler;
+    private ZipfSampler instrumentSampler;
+    private long startNanos;
+    private double periodNanos;
+    private CountDownLatch sendersDone;
+    private ScheduledExecutorService reporter;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong publishErrors = new AtomicLong();
+    private final AtomicLong responses = new AtomicLong();
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram intervalLatency = new LatencyHistogram();
+    private final LatencyHistogram sendLag = new LatencyHistogram();
+
+    @PostConstruct
+    public void init() throws Exception {
+        traderIds = new String[traderCount];
+        for (int i = 0; i < traderCount; i++)
+            traderIds[i] = traderPrefix + (i + 1);
+        traderSampler = new ZipfSampler(traderCount, traderSkew);
+        instrumentSampler = new ZipfSampler(INSTRUMENTS.size(), symbolSkew);
+        runPrefix = Long.toString(System.currentTimeMillis(), 36) + "-";
 
         ampsClient = new Client("order-generator");
-        // Connect to AMPS
         ampsClient.connect(ampsServerUrl);
         ampsClient.logon();
+        ampsClient.subscribe(this::onTraderNotionalUpdate, traderNotionalUpdateTopic, null, 5000);
+
+        log.info("Generating {} orders/sec for {} seconds on {} threads across {} traders (skew {}) and {} instruments (skew {}), run: {}",
+                rate, durationSeconds, threads, traderCount, traderSkew, INSTRUMENTS.size(), symbolSkew, runPrefix);
+
+        periodNanos = 1_000_000_000.0 / rate;
+        sendersDone = new CountDownLatch(threads);
+        startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        for (int i = 0; i < threads; i++) {
+            int thread = i;
+            Thread sender = new Thread(() -> generateOrders(thread), "order-generator-" + i);
+            sender.setDaemon(true);
+            sender.start();
+        }
 
-        // Schedule order generation
-        ScheduledExecutorService executor = Executors.newScheduledThreadPool(1);
-        generateOrders(executor);
+        reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-generator-report");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reporter.scheduleAtFixedRate(this::report, reportIntervalSeconds, reportIntervalSeconds, TimeUnit.SECONDS);
+        reporter.execute(this::awaitCompletion);
     }
 
-    private void generateOrders(ScheduledExecutorService executor) {
-        int totalOrders = 50;
-        int ordersSent = 0;
-        long startTime = System.currentTimeMillis();
-        long endTime = startTime + (5 * 60 * 10); // 5 minutes
-
-        while (ordersSent < totalOrders && System.currentTimeMillis() < endTime) {
-            Order order = createRandomOrder();
-            sendOrder(order);
-            ordersSent++;
-
-            // Calculate random delay between orders
-            long remainingTime = endTime - System.currentTimeMillis();
-            long remainingOrders = totalOrders - ordersSent;
-            long minDelay = Math.max(1, remainingOrders == 0 ? 1 : remainingTime / remainingOrders);
-            long randomDelay = random.nextLong(minDelay);
+    @PreDestroy
+    public void shutdown() {
+        reporter.shutdownNow();
+    }
 
+    // Open loop: every order has a fixed intended send time, and latency is measured from it rather than from
+    // when the publish actually happened, so a stalled publisher shows up as latency instead of hiding it.
+    private void generateOrders(int thread) {
+        SplittableRandom random = new SplittableRandom(seed + thread);
+        StringBuilder json = new StringBuilder(512);
+        long total = rate * durationSeconds;
+        LocalDate tradeDate = LocalDate.now();
+
+        for (long sequence = thread; sequence < total; sequence += threads) {
+            long intended = intendedNanos(sequence);
+            waitUntil(intended);
+            sendLag.record(System.nanoTime() - intended);
+
+            json.setLength(0);
+            createOrder(sequence, random, tradeDate).toJson(json);
             try {
-                sleep(randomDelay);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+                ampsClient.publish(ordersTopic, json.toString());
+                sent.incrementAndGet();
+            } catch (Exception e) {
+                if (publishErrors.incrementAndGet() == 1)
+                    log.error("Error publishing order: {}", json, e);
             }
         }
+        sendersDone.countDown();
+    }
 
-        executor.shutdown();
+    private Order createOrder(long sequence, SplittableRandom random, LocalDate tradeDate) {
+        Instrument instrument = INSTRUMENTS.get(instrumentSampler.sample(random));
+        return new Order(
+                runPrefix + sequence,
+                traderIds[traderSampler.sample(random)],
+                instrument.symbol(),
+                instrument.currency(),
+                random.nextBoolean() ? TradeSide.BUY : TradeSide.SELL,
+                random.nextInt(100, 10_001),
+                Math.round((100 + random.nextDouble() * 900) * 100) / 100.0,
+                tradeDate,
+                LocalTime.now(),
+                1);
     }
 
-    private Order createRandomOrder() {
-        UUID id = UUID.randomUUID();
-        UUID traderId = traderIds.get(random.nextInt(traderIds.size()));
-        TradeSide side = random.nextBoolean() ? TradeSide.BUY : TradeSide.SELL;
-        int quantity = random.nextInt(9901) + 100; // 100 to 10000
-        double price = 100 + random.nextDouble() * 900; // 100 to 1000
-
-        // Select random market and symbol
-        int marketIndex = random.nextInt(3);
-        String symbol;
-        Currency currency;
-
-        switch (marketIndex) {
-            case 0:
-                symbol = HK_SYMBOLS.get(random.nextInt(HK_SYMBOLS.size()));
-                currency = Currency.getInstance("HKD");
-                break;
-            case 1:
-                symbol = JP_SYMBOLS.get(random.nextInt(JP_SYMBOLS.size()));
-                currency = Currency.getInstance("JPY");
-                break;
-            default:
-                symbol = KR_SYMBOLS.get(random.nextInt(KR_SYMBOLS.size()));
-                currency = Currency.getInstance("KRW");
+    private void onTraderNotionalUpdate(Message message) {
+        long received = System.nanoTime();
+        String data = message.getData();
+        int start = data.indexOf(ORDER_ID_FIELD);
+        if (start < 0)
+            return;
+        start += ORDER_ID_FIELD.length();
+        if (!data.startsWith(runPrefix, start))
+            return;
+
+        int end = data.indexOf('"', start);
+        long sequence = Long.parseLong(data, start + runPrefix.length(), end, 10);
+        long elapsed = received - intendedNanos(sequence);
+        latency.record(elapsed);
+        intervalLatency.record(elapsed);
+        responses.incrementAndGet();
+    }
+
+    private long intendedNanos(long sequence) {
+        return startNanos + (long) (sequence * periodNanos);
+    }
+
+    private static void waitUntil(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > 0) {
+            if (remaining > SPIN_THRESHOLD_NANOS)
+                LockSupport.parkNanos(remaining - SPIN_THRESHOLD_NANOS);
+            else
+                Thread.onSpinWait();
         }
+    }
 
-        return new Order(id, traderId, symbol, quantity, price, side, currency, LocalDateTime.now());
+    private void report() {
+        log.info("Sent: {}, responses: {}, publish errors: {}, latency us p50: {} p99: {} p99.9: {} max: {}, send lag us p99: {}",
+                sent.get(), responses.get(), publishErrors.get(),
+                micros(intervalLatency.percentile(50)), micros(intervalLatency.percentile(99)),
+                micros(intervalLatency.percentile(99.9)), micros(intervalLatency.percentile(100)),
+                micros(sendLag.percentile(99)));
+        intervalLatency.reset();
     }
 
-    private void sendOrder(Order order) {
+    private void awaitCompletion() {
         try {
-            String orderJson = objectMapper.writeValueAsString(order);
-            ampsClient.publish(ordersTopic, orderJson);
-            log.info("Sent order: {}", order);
-        } catch (Exception e) {
-            log.error("Error sending order: {}", order, e);
+            sendersDone.await();
+            TimeUnit.SECONDS.sleep(reportIntervalSeconds);
+            double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+            log.info("Run {} complete: sent {} orders in {} s ({} orders/sec), {} responses, {} publish errors",
+                    runPrefix, sent.get(), String.format("%.1f", elapsedSeconds), Math.round(sent.get() / elapsedSeconds), responses.get(), publishErrors.get());
+            log.info("Latency us p50: {} p90: {} p99: {} p99.9: {} p99.99: {} max: {}",
+                    micros(latency.percentile(50)), micros(latency.percentile(90)), micros(latency.percentile(99)),
+                    micros(latency.percentile(99.9)), micros(latency.percentile(99.99)), micros(latency.percentile(100)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
-}
\ No newline at end of file
+
+    private static long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
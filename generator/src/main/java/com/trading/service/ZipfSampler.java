@@ -0,0 +1,33 @@
+package com.trading.service;
+
+import java.util.SplittableRandom;
+
+// Rank 0 is the most popular; an exponent of 0 gives a uniform distribution.
+public class ZipfSampler {
+    private final double[] cumulative;
+
+    public ZipfSampler(int size, double exponent) {
+        cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++)
+            cumulative[rank] /= total;
+    }
+
+    public int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < u)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
@@ -0,0 +1,58 @@
+package com.trading.affinity;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+// Linux thread pinning through /proc and taskset, so no native library is needed. Other platforms report the placement as unknown.
+public final class CpuAffinity
+{
+    public static final String UNKNOWN = "unknown";
+    private static final Path THREAD_SELF = Paths.get("/proc/thread-self");
+    private static final String CPUS_ALLOWED_LIST = "Cpus_allowed_list:";
+
+    private CpuAffinity()
+    {
+    }
+
+    public static boolean isSupported()
+    {
+        return Files.isDirectory(THREAD_SELF);
+    }
+
+    public static void pinCurrentThread(String cpus) throws IOException, InterruptedException
+    {
+        if (!isSupported())
+            throw new IOException("Thread affinity is only supported on Linux");
+
+        String threadId = Files.readSymbolicLink(THREAD_SELF).getFileName().toString();
+        Process taskset = new ProcessBuilder("taskset", "-p", "-c", cpus, threadId).redirectErrorStream(true).start();
+        String output = new String(taskset.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (taskset.waitFor() != 0)
+            throw new IOException("taskset failed to pin thread: " + threadId + " to CPUs: " + cpus + ": " + output);
+    }
+
+    public static String currentThreadCpus()
+    {
+        if (!isSupported())
+            return UNKNOWN;
+
+        try
+        {
+            List<String> status = Files.readAllLines(THREAD_SELF.resolve("status"), StandardCharsets.US_ASCII);
+            for (String line : status)
+            {
+                if (line.startsWith(CPUS_ALLOWED_LIST))
+                    return line.substring(CPUS_ALLOWED_LIST.length()).trim();
+            }
+        }
+        catch (IOException e)
+        {
+            return UNKNOWN;
+        }
+        return UNKNOWN;
+    }
+}
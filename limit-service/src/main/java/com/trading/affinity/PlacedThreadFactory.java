@@ -0,0 +1,57 @@
+package com.trading.affinity;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Names daemon threads and pins each one to the configured CPUs as it starts. A blank CPU list leaves placement to the OS.
+public class PlacedThreadFactory implements ThreadFactory
+{
+    private static final Logger log = LoggerFactory.getLogger(PlacedThreadFactory.class);
+    private final String name;
+    private final String cpus;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public PlacedThreadFactory(String name, String cpus)
+    {
+        this.name = name;
+        this.cpus = cpus == null ? "" : cpus.trim();
+    }
+
+    @Override
+    public Thread newThread(Runnable runnable)
+    {
+        int index = counter.incrementAndGet();
+        Thread thread = new Thread(() ->
+        {
+            place();
+            runnable.run();
+        }, index == 1 ? name : name + "-" + index);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private void place()
+    {
+        String threadName = Thread.currentThread().getName();
+        if (!cpus.isEmpty())
+        {
+            try
+            {
+                CpuAffinity.pinCurrentThread(cpus);
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-016: Failed to pin thread: {} to CPUs: {}, leaving placement to the OS", threadName, cpus, e);
+            }
+        }
+
+        String effectiveCpus = CpuAffinity.currentThreadCpus();
+        log.info("Thread: {} running on CPUs: {}, requested: {}", threadName, effectiveCpus, cpus.isEmpty() ? "any" : cpus);
+    }
+}
@@ -0,0 +1,21 @@
+package com.trading.changefeed;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class ChangeEvent
+{
+    public enum Operation
+    {
+        UPSERT,
+        DELETE;
+    }
+
+    private final Class<?> documentType;
+    private final Operation operation;
+    private final UUID id;
+    private final Object document;
+}
@@ -0,0 +1,9 @@
+package com.trading.changefeed;
+
+import java.util.function.Consumer;
+
+public interface ChangeFeed
+{
+    void start(Consumer<ChangeEvent> handler);
+    void stop();
+}
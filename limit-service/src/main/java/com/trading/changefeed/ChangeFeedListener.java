@@ -0,0 +1,84 @@
+package com.trading.changefeed;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.disruptor.DisruptorService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@RequiredArgsConstructor
+@DependsOn("notionalLimitService")
+public class ChangeFeedListener
+{
+    private static final Logger log = LoggerFactory.getLogger(ChangeFeedListener.class);
+    @Autowired
+    private final ObjectProvider<ChangeFeed> changeFeedProvider;
+    @Autowired
+    private final DisruptorService disruptorService;
+    @Value("${changefeed.source}")
+    private String changeFeedSource;
+    private ChangeFeed changeFeed;
+
+    @PostConstruct
+    public void initialize()
+    {
+        changeFeed = changeFeedProvider.getIfAvailable();
+        if (changeFeed == null)
+        {
+            log.info("No change feed for source: {}, live book will only change through this service", changeFeedSource);
+            return;
+        }
+        changeFeed.start(this::onChange);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        if (changeFeed != null)
+            changeFeed.stop();
+    }
+
+    private void onChange(ChangeEvent change)
+    {
+        try
+        {
+            boolean upsert = change.getOperation() == ChangeEvent.Operation.UPSERT;
+            CompletableFuture<Void> completion;
+            if (change.getDocumentType() == DeskNotionalLimit.class)
+                completion = upsert ? disruptorService.pushDeskLimitUpsert(List.of((DeskNotionalLimit) change.getDocument())) : disruptorService.pushDeskLimitDelete(change.getId());
+            else if (change.getDocumentType() == TraderNotionalLimit.class)
+                completion = upsert ? disruptorService.pushTraderLimitUpsert((TraderNotionalLimit) change.getDocument()) : disruptorService.pushTraderLimitDelete(change.getId());
+            else if (change.getDocumentType() == Desk.class)
+                completion = upsert ? disruptorService.pushDeskUpsert(List.of((Desk) change.getDocument())) : disruptorService.pushDeskDelete(change.getId());
+            else if (change.getDocumentType() == Trader.class)
+                completion = upsert ? disruptorService.pushTraderUpsert((Trader) change.getDocument()) : disruptorService.pushTraderDelete(change.getId());
+            else
+                return;
+
+            completion.whenComplete((ignored, e) ->
+            {
+                if (e != null)
+                    log.error("ERR-996: Engine failed to apply {} change for {}: {}", change.getOperation(), change.getDocumentType().getSimpleName(), change.getId(), e);
+                else
+                    log.debug("Applied {} change for {}: {}", change.getOperation(), change.getDocumentType().getSimpleName(), change.getId());
+            });
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-994: Failed to apply {} change for {}: {}", change.getOperation(), change.getDocumentType().getSimpleName(), change.getId(), e);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.trading.changefeed;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "changefeed.source", havingValue = "memory")
+public class InMemoryChangeFeed implements ChangeFeed
+{
+    private volatile Consumer<ChangeEvent> handler;
+
+    @Override
+    public void start(Consumer<ChangeEvent> handler)
+    {
+        this.handler = handler;
+    }
+
+    @Override
+    public void stop()
+    {
+        handler = null;
+    }
+
+    public void publish(ChangeEvent change)
+    {
+        Consumer<ChangeEvent> current = handler;
+        if (current != null)
+            current.accept(change);
+    }
+}
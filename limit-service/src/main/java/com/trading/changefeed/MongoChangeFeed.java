@@ -0,0 +1,148 @@
+package com.trading.changefeed;
+
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonBinary;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.bson.UuidRepresentation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "changefeed.source", havingValue = "mongo")
+public class MongoChangeFeed implements ChangeFeed
+{
+    private static final Logger log = LoggerFactory.getLogger(MongoChangeFeed.class);
+    private static final long RETRY_INTERVAL_MS = 1000;
+    @Autowired
+    private final MongoTemplate mongoTemplate;
+    private final Map<String, Class<?>> documentTypes = new HashMap<>();
+    private volatile boolean running;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor;
+    private BsonDocument resumeToken;
+    private Thread watcherThread;
+
+    @Override
+    public void start(Consumer<ChangeEvent> handler)
+    {
+        for (Class<?> type : List.of(Desk.class, Trader.class, DeskNotionalLimit.class, TraderNotionalLimit.class))
+            documentTypes.put(mongoTemplate.getCollectionName(type), type);
+
+        running = true;
+        watcherThread = new Thread(() -> watch(handler), "mongo-change-feed");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("Watching MongoDB change stream for collections: {}", documentTypes.keySet());
+    }
+
+    @Override
+    public void stop()
+    {
+        running = false;
+        MongoChangeStreamCursor<ChangeStreamDocument<Document>> current = cursor;
+        if (current != null)
+            current.close();
+    }
+
+    private void watch(Consumer<ChangeEvent> handler)
+    {
+        while (running)
+        {
+            try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> opened = open())
+            {
+                cursor = opened;
+                while (running)
+                {
+                    ChangeStreamDocument<Document> change = opened.next();
+                    resumeToken = change.getResumeToken();
+                    ChangeEvent event = toChangeEvent(change);
+                    if (event != null)
+                        handler.accept(event);
+                }
+            }
+            catch (Exception e)
+            {
+                if (!running)
+                    return;
+                log.error("ERR-993: MongoDB change stream failed, resuming after token: {}", resumeToken, e);
+                sleepQuietly();
+            }
+        }
+    }
+
+    private MongoChangeStreamCursor<ChangeStreamDocument<Document>> open()
+    {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", documentTypes.keySet()))))
+                .fullDocument(FullDocument.UPDATE_LOOKUP);
+        if (resumeToken != null)
+            changeStream = changeStream.resumeAfter(resumeToken);
+        return changeStream.cursor();
+    }
+
+    private ChangeEvent toChangeEvent(ChangeStreamDocument<Document> change)
+    {
+        Class<?> type = documentTypes.get(change.getNamespace().getCollectionName());
+        if (type == null || change.getDocumentKey() == null)
+            return null;
+
+        UUID id = toUuid(change.getDocumentKey().get("_id"));
+        switch (change.getOperationType())
+        {
+            case INSERT:
+            case UPDATE:
+            case REPLACE:
+                if (change.getFullDocument() == null)
+                    return null;
+                return new ChangeEvent(type, ChangeEvent.Operation.UPSERT, id, mongoTemplate.getConverter().read(type, change.getFullDocument()));
+            case DELETE:
+                return new ChangeEvent(type, ChangeEvent.Operation.DELETE, id, null);
+            default:
+                return null;
+        }
+    }
+
+    private static UUID toUuid(BsonValue value)
+    {
+        if (value.isString())
+            return UUID.fromString(value.asString().getValue());
+
+        BsonBinary binary = value.asBinary();
+        return binary.asUuid(binary.getType() == BsonBinarySubType.UUID_STANDARD.getValue() ? UuidRepresentation.STANDARD : UuidRepresentation.JAVA_LEGACY);
+    }
+
+    private void sleepQuietly()
+    {
+        try
+        {
+            Thread.sleep(RETRY_INTERVAL_MS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.trading.changefeed;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Works against a standalone MongoDB, which has no change streams: each poll reads the four collections and diffs the raw
+// documents against the previous poll. The first poll only records the baseline the caches were loaded from. Every poll
+// reads every document, so it is confined to the dev profile; production uses change streams.
+@Component
+@Profile("dev")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "changefeed.source", havingValue = "poll")
+public class PollingChangeFeed implements ChangeFeed
+{
+    private static final Logger log = LoggerFactory.getLogger(PollingChangeFeed.class);
+    @Value("${changefeed.poll.interval.ms}")
+    private long pollIntervalMs;
+    @Autowired
+    private final MongoTemplate mongoTemplate;
+    private final Map<Class<?>, Function<Object, UUID>> documentTypes = new LinkedHashMap<>();
+    private final Map<Class<?>, Map<UUID, Document>> previousDocuments = new HashMap<>();
+    private ScheduledExecutorService pollExecutor;
+
+    @Override
+    public void start(Consumer<ChangeEvent> handler)
+    {
+        documentTypes.put(Desk.class, document -> ((Desk) document).getDeskId());
+        documentTypes.put(Trader.class, document -> ((Trader) document).getTraderId());
+        documentTypes.put(DeskNotionalLimit.class, document -> ((DeskNotionalLimit) document).getDeskId());
+        documentTypes.put(TraderNotionalLimit.class, document -> ((TraderNotionalLimit) document).getTraderId());
+        documentTypes.keySet().forEach(type -> previousDocuments.put(type, load(type)));
+
+        pollExecutor = Executors.newSingleThreadScheduledExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "polling-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+        pollExecutor.scheduleWithFixedDelay(() -> poll(handler), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Polling MongoDB every {} ms for changes to: {}", pollIntervalMs, documentTypes.keySet());
+    }
+
+    @Override
+    public void stop()
+    {
+        if (pollExecutor != null)
+            pollExecutor.shutdownNow();
+    }
+
+    private void poll(Consumer<ChangeEvent> handler)
+    {
+        for (Class<?> type : documentTypes.keySet())
+        {
+            try
+            {
+                Map<UUID, Document> previous = previousDocuments.get(type);
+                Map<UUID, Document> current = load(type);
+                current.forEach((id, document) ->
+                {
+                    if (!document.equals(previous.get(id)))
+                        handler.accept(new ChangeEvent(type, ChangeEvent.Operation.UPSERT, id, mongoTemplate.getConverter().read(type, document)));
+                });
+                previous.keySet().forEach(id ->
+                {
+                    if (!current.containsKey(id))
+                        handler.accept(new ChangeEvent(type, ChangeEvent.Operation.DELETE, id, null));
+                });
+                previousDocuments.put(type, current);
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-995: Failed to poll MongoDB for changes to: {}", type.getSimpleName(), e);
+            }
+        }
+    }
+
+    private Map<UUID, Document> load(Class<?> type)
+    {
+        Function<Object, UUID> idOf = documentTypes.get(type);
+        Map<UUID, Document> documents = new HashMap<>();
+        List<Document> found = mongoTemplate.getCollection(mongoTemplate.getCollectionName(type)).find().into(new ArrayList<>());
+        for (Document document : found)
+            documents.put(idOf.apply(mongoTemplate.getConverter().read(type, document)), document);
+        return documents;
+    }
+}
@@ -0,0 +1,387 @@
+package com.trading.cluster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.messaging.AmpsMessageInboundProcessor;
+import com.trading.messaging.MessageBus;
+import com.trading.messaging.OrderMessageProcessor;
+import com.trading.model.Desk;
+import com.trading.model.DeskSnapshot;
+import com.trading.model.Trader;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.DisruptorService;
+import com.trading.service.disruptor.LimitEngineListener;
+import com.trading.warmup.EngineReadyEvent;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Desk handoff: the source snapshots the desk on its engine thread, behind every order already in its ring, and from then on
+// forwards that desk's orders to the target instead of applying them. The target restores the snapshot through its own ring,
+// subscribes to the desk and acknowledges; only then does the source drop the desk from its subscription. Orders delivered
+// both directly and forwarded, or to both the old and new subscription while one replaces the other, are dropped as
+// duplicates by the order dedup set. Until the engine is ready the node neither subscribes to orders nor applies forwarded
+// ones; forwarded orders and handoff acknowledgements are held and released once it is. Handoff messages, engine readiness
+// and every resubscription run on one handoff thread: the bus delivers on the AMPS client's receive thread, which cannot
+// also wait for the acknowledgement of a subscribe it would itself have to read.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterNode implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(ClusterNode.class);
+    @Value("${cluster.node.id}")
+    private String nodeId;
+    @Value("${cluster.nodes}")
+    private String clusterNodes;
+    @Value("${cluster.virtual.nodes:128}")
+    private int virtualNodes;
+    @Value("${cluster.topic.handoff}")
+    private String handoffTopic;
+    @Value("${amps.topic.orders}")
+    private String ordersTopic;
+    @Value("${engine.command.timeout.ms}")
+    private long commandTimeoutMs;
+    @Autowired
+    private final MessageBus messageBus;
+    @Autowired
+    private final OrderMessageProcessor orderMessageProcessor;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final DisruptorService disruptorService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<UUID, String> assignments = new ConcurrentHashMap<>();
+    private final Map<UUID, String> forwardedDesks = new ConcurrentHashMap<>();
+    private final AtomicBoolean resubscribePending = new AtomicBoolean();
+    private final List<String> heldOrders = new ArrayList<>();
+    private final List<HandoffMessage> heldAcks = new ArrayList<>();
+    private ExecutorService handoffExecutor;
+    private ConsistentHashRing ring;
+    private Set<String> subscribedOwnerIds = Collections.emptySet();
+    private String orderSubscriptionId;
+    private String handoffSubscriptionId;
+    private boolean engineReady;
+
+    @PostConstruct
+    public void initialize()
+    {
+        List<String> nodes = Arrays.stream(clusterNodes.split(",")).map(String::trim).filter(node -> !node.isEmpty()).collect(Collectors.toList());
+        if (!nodes.contains(nodeId))
+        {
+            log.error("ERR-971: Cluster node: {} is not a member of configured nodes: {}", nodeId, nodes);
+            throw new IllegalStateException("Cluster node " + nodeId + " is not a member of " + nodes);
+        }
+
+        ring = new ConsistentHashRing(nodes, virtualNodes);
+        handoffExecutor = Executors.newSingleThreadExecutor(runnable ->
+        {
+            Thread thread = new Thread(runnable, "cluster-handoff");
+            thread.setDaemon(true);
+            return thread;
+        });
+        handoffSubscriptionId = messageBus.subscribe(handoffTopic, null, this::onHandoffMessage);
+        log.info("Cluster node: {} started owning {} of {} desks, subscribing to orders once the engine is ready", nodeId,
+                getOwnedDeskIds().size(), persistenceService.getAllDesks().size());
+    }
+
+    @EventListener(EngineReadyEvent.class)
+    public void onEngineReady()
+    {
+        handoffExecutor.execute(() ->
+        {
+            engineReady = true;
+            try
+            {
+                heldOrders.forEach(orderMessageProcessor::process);
+                heldOrders.clear();
+                resubscribeOrders();
+                heldAcks.forEach(this::publish);
+                heldAcks.clear();
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-975: Cluster node: {} failed to open order ingress once the engine was ready", nodeId, e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException
+    {
+        handoffExecutor.shutdownNow();
+        handoffExecutor.awaitTermination(commandTimeoutMs, TimeUnit.MILLISECONDS);
+        if (orderSubscriptionId != null)
+            messageBus.unsubscribe(orderSubscriptionId);
+        messageBus.unsubscribe(handoffSubscriptionId);
+    }
+
+    public String getNodeId()
+    {
+        return nodeId;
+    }
+
+    public String ownerOf(UUID deskId)
+    {
+        return assignments.getOrDefault(deskId, ring.nodeFor(deskId));
+    }
+
+    public boolean owns(UUID deskId)
+    {
+        return nodeId.equals(ownerOf(deskId));
+    }
+
+    public Set<UUID> getOwnedDeskIds()
+    {
+        return persistenceService.getAllDesks().stream().map(Desk::getDeskId).filter(this::owns).collect(Collectors.toSet());
+    }
+
+    public Map<String, Set<UUID>> getOwnership()
+    {
+        Map<String, Set<UUID>> ownership = new TreeMap<>();
+        ring.getNodes().forEach(node -> ownership.put(node, new TreeSet<>()));
+        persistenceService.getAllDesks().forEach(desk -> ownership.computeIfAbsent(ownerOf(desk.getDeskId()), k -> new TreeSet<>()).add(desk.getDeskId()));
+        return ownership;
+    }
+
+    // Holds the order path for the time it takes the engine to drain up to the snapshot, so no order for the desk can slip
+    // into the ring behind it.
+    public synchronized void handOff(UUID deskId, String targetNode)
+    {
+        if (!owns(deskId) || forwardedDesks.containsKey(deskId))
+            throw new IllegalArgumentException("Desk " + deskId + " is not owned by node " + nodeId);
+        if (!ring.getNodes().contains(targetNode))
+            throw new IllegalArgumentException("Unknown cluster node: " + targetNode);
+        if (nodeId.equals(targetNode))
+            return;
+
+        try
+        {
+            DeskSnapshot snapshot = new DeskSnapshot(deskId);
+            disruptorService.pushDeskSnapshot(snapshot).get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+            publish(new HandoffMessage(HandoffMessage.Type.SNAPSHOT, deskId, nodeId, targetNode, snapshot, null));
+            forwardedDesks.put(deskId, targetNode);
+            assignments.put(deskId, targetNode);
+            log.info("Handed off desk: {} from node: {} to node: {} at sequence: {} with {} trader snapshots", deskId, nodeId, targetNode,
+                    snapshot.getSequence(), snapshot.getTraders().size());
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-972: Failed to hand off desk: {} to node: {}", deskId, targetNode, e);
+            throw new IllegalStateException("Failed to hand off desk " + deskId, e);
+        }
+    }
+
+    private synchronized void onOrderMessage(String message)
+    {
+        if (!forwardedDesks.isEmpty())
+        {
+            UUID deskId = deskOf(message);
+            String targetNode = deskId == null ? null : forwardedDesks.get(deskId);
+            if (targetNode != null)
+            {
+                publish(new HandoffMessage(HandoffMessage.Type.ORDER, deskId, nodeId, targetNode, null, message));
+                return;
+            }
+        }
+        orderMessageProcessor.process(message);
+    }
+
+    private void onHandoffMessage(String message)
+    {
+        handoffExecutor.execute(() -> applyHandoffMessage(message));
+    }
+
+    private void applyHandoffMessage(String message)
+    {
+        try
+        {
+            HandoffMessage handoff = objectMapper.readValue(message, HandoffMessage.class);
+            if (nodeId.equals(handoff.getSourceNode()) && handoff.getType() != HandoffMessage.Type.ACK)
+                return;
+
+            switch (handoff.getType())
+            {
+                case SNAPSHOT:
+                    assignments.put(handoff.getDeskId(), handoff.getTargetNode());
+                    if (nodeId.equals(handoff.getTargetNode()))
+                        takeOwnership(handoff);
+                    break;
+                case ORDER:
+                    if (!nodeId.equals(handoff.getTargetNode()))
+                        break;
+                    if (engineReady)
+                        orderMessageProcessor.process(handoff.getOrder());
+                    else
+                        heldOrders.add(handoff.getOrder());
+                    break;
+                case ACK:
+                    if (nodeId.equals(handoff.getSourceNode()))
+                        completeHandoff(handoff.getDeskId());
+                    break;
+            }
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-973: Failed to apply desk handoff message: {}", message, e);
+        }
+    }
+
+    // The restore is queued ahead of any order the new subscription delivers, so the desk's orders apply on top of it.
+    private void takeOwnership(HandoffMessage handoff)
+    {
+        disruptorService.pushDeskRestore(handoff.getSnapshot()).whenComplete((ignored, e) ->
+        {
+            if (e != null)
+                log.error("ERR-974: Failed to restore snapshot of desk: {} from node: {}", handoff.getDeskId(), handoff.getSourceNode(), e);
+        });
+        HandoffMessage ack = new HandoffMessage(HandoffMessage.Type.ACK, handoff.getDeskId(), handoff.getSourceNode(), nodeId, null, null);
+        if (engineReady)
+        {
+            resubscribeOrders();
+            publish(ack);
+        }
+        else
+        {
+            heldAcks.add(ack);
+        }
+        log.info("Took ownership of desk: {} from node: {} at its sequence: {}", handoff.getDeskId(), handoff.getSourceNode(), handoff.getSnapshot().getSequence());
+    }
+
+    private void completeHandoff(UUID deskId)
+    {
+        resubscribeOrders();
+        String targetNode = forwardedDesks.remove(deskId);
+        log.info("Node: {} acknowledged handoff of desk: {}, stopped forwarding its orders", targetNode, deskId);
+    }
+
+    private UUID deskOf(String message)
+    {
+        try
+        {
+            String ownerId = objectMapper.readTree(message).path("ownerId").asText(null);
+            Optional<Trader> trader = ownerId == null ? Optional.empty() : persistenceService.findTraderByUserId(ownerId);
+            return trader.flatMap(value -> persistenceService.findDeskByTraderId(value.getTraderId())).map(Desk::getDeskId).orElse(null);
+        }
+        catch (Exception e)
+        {
+            return null;
+        }
+    }
+
+    private void publish(HandoffMessage handoff)
+    {
+        try
+        {
+            messageBus.publish(handoffTopic, objectMapper.writeValueAsString(handoff));
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed to publish " + handoff.getType() + " handoff message for desk " + handoff.getDeskId(), e);
+        }
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+    }
+
+    @Override
+    public void onDesksApplied(long sequence, List<Desk> desks)
+    {
+        scheduleResubscribe();
+    }
+
+    @Override
+    public void onDeskRemoved(long sequence, UUID deskId)
+    {
+        scheduleResubscribe();
+    }
+
+    @Override
+    public void onTraderApplied(long sequence, Trader trader)
+    {
+        scheduleResubscribe();
+    }
+
+    @Override
+    public void onTraderRemoved(long sequence, UUID traderId)
+    {
+        scheduleResubscribe();
+    }
+
+    // Reference data changes arrive on the engine thread; the filter is rebuilt off it, once for any burst of changes.
+    private void scheduleResubscribe()
+    {
+        if (resubscribePending.compareAndSet(false, true))
+        {
+            handoffExecutor.execute(() ->
+            {
+                resubscribePending.set(false);
+                resubscribeOrders();
+            });
+        }
+    }
+
+    // Handoff thread only.
+    private void resubscribeOrders()
+    {
+        if (!engineReady)
+            return;
+
+        Set<String> ownerIds = getOwnedDeskIds().stream()
+                .map(persistenceService::getDeskById)
+                .filter(Objects::nonNull)
+                .flatMap(desk -> desk.getTraders().stream())
+                .map(persistenceService::getTraderById)
+                .filter(Objects::nonNull)
+                .map(Trader::getUserId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        if (ownerIds.equals(subscribedOwnerIds) && (orderSubscriptionId != null || ownerIds.isEmpty()))
+            return;
+
+        // The new subscription is live before the old one is dropped, so there is no window in which an order is not delivered.
+        String previousSubscriptionId = orderSubscriptionId;
+        orderSubscriptionId = null;
+        if (!ownerIds.isEmpty())
+        {
+            String ownerFilter = ownerIds.stream().map(ownerId -> "'" + ownerId.replace("'", "''") + "'").collect(Collectors.joining(",", "/ownerId IN (", ")"));
+            orderSubscriptionId = messageBus.subscribe(ordersTopic, AmpsMessageInboundProcessor.ORDERS_FILTER + " AND " + ownerFilter, this::onOrderMessage);
+        }
+        if (previousSubscriptionId != null)
+            messageBus.unsubscribe(previousSubscriptionId);
+
+        subscribedOwnerIds = ownerIds;
+        if (ownerIds.isEmpty())
+            log.info("Cluster node: {} owns no traders, not subscribed to: {}", nodeId, ordersTopic);
+        else
+            log.info("Cluster node: {} subscribed to: {} for {} traders", nodeId, ordersTopic, ownerIds.size());
+    }
+}
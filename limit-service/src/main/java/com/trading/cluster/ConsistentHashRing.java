@@ -0,0 +1,81 @@
+package com.trading.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+
+public class ConsistentHashRing
+{
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private final NavigableMap<Long, String> ring = new TreeMap<>();
+    private final Set<String> nodes = new TreeSet<>();
+    private final int virtualNodes;
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes)
+    {
+        if (virtualNodes <= 0)
+            throw new IllegalArgumentException("Virtual nodes must be positive: " + virtualNodes);
+
+        this.virtualNodes = virtualNodes;
+        nodeIds.forEach(this::addNode);
+    }
+
+    public void addNode(String nodeId)
+    {
+        if (!nodes.add(nodeId))
+            return;
+
+        for (int replica = 0; replica < virtualNodes; replica++)
+            ring.put(hash(nodeId + "#" + replica), nodeId);
+    }
+
+    public void removeNode(String nodeId)
+    {
+        if (!nodes.remove(nodeId))
+            return;
+
+        for (int replica = 0; replica < virtualNodes; replica++)
+            ring.remove(hash(nodeId + "#" + replica), nodeId);
+    }
+
+    public String nodeFor(UUID deskId)
+    {
+        if (ring.isEmpty())
+            throw new IllegalStateException("Consistent hash ring has no nodes");
+
+        Map.Entry<Long, String> entry = ring.ceilingEntry(mix(deskId.getMostSignificantBits() ^ deskId.getLeastSignificantBits()));
+        return (entry != null ? entry : ring.firstEntry()).getValue();
+    }
+
+    public Set<String> getNodes()
+    {
+        return new TreeSet<>(nodes);
+    }
+
+    private static long hash(String key)
+    {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8))
+        {
+            hash ^= b;
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long value)
+    {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
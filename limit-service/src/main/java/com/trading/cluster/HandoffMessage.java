@@ -0,0 +1,27 @@
+package com.trading.cluster;
+
+import com.trading.model.DeskSnapshot;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandoffMessage
+{
+    public enum Type
+    {
+        SNAPSHOT,
+        ORDER,
+        ACK
+    }
+
+    private Type type;
+    private UUID deskId;
+    private String sourceNode;
+    private String targetNode;
+    private DeskSnapshot snapshot;
+    private String order;
+}
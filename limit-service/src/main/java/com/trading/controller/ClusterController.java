@@ -0,0 +1,79 @@
+package com.trading.controller;
+
+import com.trading.cluster.ClusterNode;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/cluster")
+@RequiredArgsConstructor
+@Validated
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterController
+{
+    private static final Logger log = LoggerFactory.getLogger(ClusterController.class);
+    @Autowired
+    private final ClusterNode clusterNode;
+
+    @CrossOrigin
+    @GetMapping("/ownership")
+    public ResponseEntity<Map<String, Set<UUID>>> getOwnership()
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            return ResponseEntity.ok(clusterNode.getOwnership());
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-441: Error retrieving cluster ownership", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+
+    @CrossOrigin
+    @PostMapping("/desks/{deskId}/handoff")
+    public ResponseEntity<Void> handOffDesk(@NotNull @PathVariable UUID deskId, @RequestParam String targetNode)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            clusterNode.handOff(deskId, targetNode);
+            log.info("Successfully handed off desk: {} to node: {}", deskId, targetNode);
+            return ResponseEntity.ok().build();
+        }
+        catch (IllegalArgumentException e)
+        {
+            log.error("ERR-442: Invalid handoff of desk: {} to node: {}: {}", deskId, targetNode, e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-443: Error handing off desk: {} to node: {}", deskId, targetNode, e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.trading.controller;
 
 import com.trading.service.CurrencyManager;
+import com.trading.service.NotionalLimitService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +22,8 @@ public class CurrencyController {
     
     @Autowired
     private final CurrencyManager currencyManager;
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
     
     @GetMapping("/rates")
     public ResponseEntity<Map<Currency, Double>> getCurrentRates() {
@@ -43,7 +46,7 @@ public class CurrencyController {
         MDC.put("errorId", errorId);
         
         try {
-            rates.forEach(currencyManager::updateRate);
+            notionalLimitService.updateFxRates(rates);
             log.info("Successfully updated {} currency rates", rates.size());
             return ResponseEntity.ok().build();
         } catch (Exception e) {
@@ -62,7 +65,7 @@ public class CurrencyController {
         MDC.put("errorId", errorId);
         
         try {
-            currencyManager.updateRate(currency, rate);
+            notionalLimitService.updateFxRates(Map.of(currency, rate));
             log.info("Successfully updated rate for currency: {}", currency);
             return ResponseEntity.ok().build();
         } catch (Exception e) {
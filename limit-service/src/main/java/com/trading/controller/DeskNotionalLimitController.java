@@ -1,7 +1,15 @@
 package com.trading.controller;
 
+import com.trading.leaderboard.LeaderboardEntry;
+import com.trading.leaderboard.UtilisationLeaderboardService;
 import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.LimitType;
+import com.trading.service.BookSnapshotService;
+import com.trading.service.NotionalLimitService;
 import com.trading.service.TradingPersistenceService;
+import com.trading.validation.DeskLimitSetValidator;
+import com.trading.validation.ValidationResult;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,8 +30,17 @@ import java.util.UUID;
 public class DeskNotionalLimitController
 {
     private static final Logger log = LoggerFactory.getLogger(DeskNotionalLimitController.class);
+    static final String BOOK_VERSION_HEADER = "X-Book-Version";
     @Autowired
     private final TradingPersistenceService tradingPersistenceService;
+    @Autowired
+    private final BookSnapshotService bookSnapshotService;
+    @Autowired
+    private final UtilisationLeaderboardService leaderboardService;
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
+    @Autowired
+    private final DeskLimitSetValidator deskLimitSetValidator;
 
     @CrossOrigin
     @PostMapping
@@ -34,9 +51,9 @@ public class DeskNotionalLimitController
 
         try
         {
-            DeskNotionalLimit savedDesk = tradingPersistenceService.saveDeskNotionalLimit(deskNotionalLimit);
-            log.info("Successfully saved desk: {}", savedDesk.getDeskId());
-            return ResponseEntity.status(HttpStatus.CREATED).body(savedDesk);
+            DeskNotionalLimit applied = notionalLimitService.upsertDeskNotionalLimits(List.of(deskNotionalLimit)).get(0);
+            log.info("Successfully saved desk: {}", applied.getDeskId());
+            return ResponseEntity.status(HttpStatus.CREATED).body(applied);
         }
         catch (Exception e)
         {
@@ -49,16 +66,73 @@ public class DeskNotionalLimitController
         }
     }
 
+    @CrossOrigin
+    @PostMapping("/bulk")
+    public ResponseEntity<List<DeskNotionalLimit>> upsertDeskNotionalLimits(@RequestBody List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            ValidationResult validationResult = deskLimitSetValidator.validate(deskNotionalLimits);
+            if (!validationResult.isValid())
+            {
+                log.error("ERR-421: Rejected desk limit set: {}", validationResult.getErrorMessage());
+                return ResponseEntity.badRequest().build();
+            }
+            List<DeskNotionalLimit> applied = notionalLimitService.upsertDeskNotionalLimits(deskNotionalLimits);
+            log.info("Successfully upserted {} desk notional limits", applied.size());
+            return ResponseEntity.ok(applied);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-422: Error upserting desk limit set", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+
+    @CrossOrigin
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntry>> getTopDesks(@RequestParam(defaultValue = "gross") String type, @RequestParam(defaultValue = "20") int count)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            return ResponseEntity.ok(leaderboardService.getTopDesks(LimitType.valueOf(type.toUpperCase()), count));
+        }
+        catch (IllegalArgumentException e)
+        {
+            log.error("ERR-419: Unsupported limit type for desk leaderboard: {}", type);
+            return ResponseEntity.badRequest().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-420: Error retrieving desk utilisation leaderboard", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+
     @CrossOrigin
     @GetMapping("/{id}")
-    public ResponseEntity<DeskNotionalLimit> getDeskNotionalLimit(@NotNull @PathVariable UUID id)
+    public ResponseEntity<DeskNotionalLimitView> getDeskNotionalLimit(@NotNull @PathVariable UUID id)
     {
         String errorId = UUID.randomUUID().toString();
         MDC.put("errorId", errorId);
         
         try
         {
-            DeskNotionalLimit deskNotionalLimit = tradingPersistenceService.getDeskNotionalLimit(id);
+            DeskNotionalLimitView deskNotionalLimit = bookSnapshotService.getDesk(id);
             if (deskNotionalLimit == null)
             {
                 log.error("ERR-413: Desk notional limit not found with ID: {}", id);
@@ -79,14 +153,14 @@ public class DeskNotionalLimitController
 
     @CrossOrigin
     @GetMapping
-    public ResponseEntity<List<DeskNotionalLimit>> getAllDesks()
+    public ResponseEntity<List<DeskNotionalLimitView>> getAllDesks()
     {
         String errorId = UUID.randomUUID().toString();
         MDC.put("errorId", errorId);
         
         try
         {
-            return ResponseEntity.ok(tradingPersistenceService.getAllDeskNotionalLimits());
+            return ResponseEntity.ok().header(BOOK_VERSION_HEADER, String.valueOf(bookSnapshotService.getVersion())).body(bookSnapshotService.getAllDesks());
         }
         catch (Exception e)
         {
@@ -118,7 +192,7 @@ public class DeskNotionalLimitController
                 log.error("ERR-417: Cannot delete desk notional limit with ID: {} as it has associated traders", id);
                 return ResponseEntity.badRequest().build();
             }
-            tradingPersistenceService.deleteDeskNotionalLimit(id);
+            notionalLimitService.deleteDeskNotionalLimit(id);
             log.info("Successfully deleted desk notional limit with: {}", id);
             return ResponseEntity.ok().build();
         }
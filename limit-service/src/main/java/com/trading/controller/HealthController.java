@@ -0,0 +1,46 @@
+package com.trading.controller;
+
+import com.trading.warmup.EngineWarmupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/health")
+@RequiredArgsConstructor
+public class HealthController
+{
+    private static final Logger log = LoggerFactory.getLogger(HealthController.class);
+    @Autowired
+    private final EngineWarmupService warmupService;
+
+    @CrossOrigin
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> getHealth()
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            Map<String, Object> status = warmupService.getStatus();
+            return warmupService.isReady() ? ResponseEntity.ok(status) : ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(status);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-446: Error retrieving health status", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.trading.controller;
+
+import com.trading.messaging.OrderMessagePreFilter;
+import com.trading.service.NotionalLimitService;
+import com.trading.service.OrderDedupSet;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/ingress")
+@RequiredArgsConstructor
+public class IngressController
+{
+    private static final Logger log = LoggerFactory.getLogger(IngressController.class);
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
+    @Autowired
+    private final OrderMessagePreFilter preFilter;
+    @Autowired
+    private final OrderDedupSet dedupSet;
+
+    @CrossOrigin
+    @GetMapping("/counters")
+    public ResponseEntity<Map<String, Object>> getCounters()
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            Map<String, Object> counters = notionalLimitService.getIngressCounters();
+            counters.put("preFilter", preFilter.getCounters());
+            counters.put("dedup", dedupSet.getCounters());
+            return ResponseEntity.ok(counters);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-445: Error retrieving ingress counters", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
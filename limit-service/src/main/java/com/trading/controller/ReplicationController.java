@@ -0,0 +1,70 @@
+package com.trading.controller;
+
+import com.trading.replication.ReplicationPublisher;
+import com.trading.replication.ReplicationReceiver;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/replication")
+@RequiredArgsConstructor
+public class ReplicationController
+{
+    private static final Logger log = LoggerFactory.getLogger(ReplicationController.class);
+    @Value("${replication.role:none}")
+    private String replicationRole;
+    @Autowired
+    private final ObjectProvider<ReplicationPublisher> publisherProvider;
+    @Autowired
+    private final ObjectProvider<ReplicationReceiver> receiverProvider;
+
+    @CrossOrigin
+    @GetMapping("/status")
+    public ResponseEntity<Map<String, Object>> getStatus()
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("role", replicationRole);
+            publisherProvider.ifAvailable(publisher ->
+            {
+                status.put("standbys", publisher.getStandbyCount());
+                status.put("appliedSequence", publisher.getAppliedSequence());
+                status.put("writtenSequence", publisher.getWrittenSequence());
+                status.put("droppedFrames", publisher.getDroppedFrames());
+            });
+            receiverProvider.ifAvailable(receiver ->
+            {
+                status.put("connected", receiver.isConnected());
+                status.put("linkEstablished", receiver.isLinkEstablished());
+                status.put("promoted", receiver.isPromoted());
+                status.put("appliedSequence", receiver.getAppliedSequence());
+                status.put("primarySequence", receiver.getPrimarySequence());
+                status.put("lag", receiver.getReplicationLag());
+            });
+            return ResponseEntity.ok(status);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-444: Error retrieving replication status", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
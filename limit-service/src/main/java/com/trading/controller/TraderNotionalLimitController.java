@@ -1,6 +1,11 @@
 package com.trading.controller;
 
-import com.trading.model.TraderNotionalLimit;
+import com.trading.leaderboard.LeaderboardEntry;
+import com.trading.leaderboard.UtilisationLeaderboardService;
+import com.trading.model.LimitType;
+import com.trading.model.TraderNotionalLimitView;
+import com.trading.service.BookSnapshotService;
+import com.trading.service.NotionalLimitService;
 import com.trading.service.TradingPersistenceService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
@@ -23,17 +28,50 @@ public class TraderNotionalLimitController {
     private static final Logger log = LoggerFactory.getLogger(TraderNotionalLimitController.class);
     @Autowired
     private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final BookSnapshotService bookSnapshotService;
+    @Autowired
+    private final UtilisationLeaderboardService leaderboardService;
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
+
+    @CrossOrigin
+    @GetMapping("/top")
+    public ResponseEntity<List<LeaderboardEntry>> getTopTraders(@RequestParam(defaultValue = "gross") String type, @RequestParam(defaultValue = "20") int count)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            return ResponseEntity.ok(leaderboardService.getTopTraders(LimitType.valueOf(type.toUpperCase()), count));
+        }
+        catch (IllegalArgumentException e)
+        {
+            log.error("ERR-410: Unsupported limit type for trader leaderboard: {}", type);
+            return ResponseEntity.badRequest().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-411: Error retrieving trader utilisation leaderboard", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
 
     @CrossOrigin
     @GetMapping("/{id}")
-    public ResponseEntity<TraderNotionalLimit> getTraderNotionalLimit(@NotNull @PathVariable UUID id)
+    public ResponseEntity<TraderNotionalLimitView> getTraderNotionalLimit(@NotNull @PathVariable UUID id)
     {
         String errorId = UUID.randomUUID().toString();
         MDC.put("errorId", errorId);
         
         try
         {
-            TraderNotionalLimit trader = persistenceService.getTraderNotionalLimit(id);
+            TraderNotionalLimitView trader = bookSnapshotService.getTrader(id);
             if (trader == null)
             {
                 log.error("ERR-404: Trader not found with ID: {}", id);
@@ -54,15 +92,15 @@ public class TraderNotionalLimitController {
 
     @CrossOrigin
     @GetMapping()
-    public ResponseEntity<List<TraderNotionalLimit>> getAllTradersNotionalLimits()
+    public ResponseEntity<List<TraderNotionalLimitView>> getAllTradersNotionalLimits()
     {
         String errorId = UUID.randomUUID().toString();
         MDC.put("errorId", errorId);
 
         try
         {
-            List<TraderNotionalLimit> traders = persistenceService.getAllTraderNotionalLimits();
-            return ResponseEntity.ok(traders);
+            List<TraderNotionalLimitView> traders = bookSnapshotService.getAllTraders();
+            return ResponseEntity.ok().header(DeskNotionalLimitController.BOOK_VERSION_HEADER, String.valueOf(bookSnapshotService.getVersion())).body(traders);
         }
         catch (Exception e)
         {
@@ -77,7 +115,7 @@ public class TraderNotionalLimitController {
 
     @CrossOrigin
     @GetMapping("/desk/{deskId}")
-    public ResponseEntity<List<TraderNotionalLimit>> getDeskTraderNotionalLimitsByDeskId(@NotNull @PathVariable UUID deskId)
+    public ResponseEntity<List<TraderNotionalLimitView>> getDeskTraderNotionalLimitsByDeskId(@NotNull @PathVariable UUID deskId)
     {
         String errorId = UUID.randomUUID().toString();
         MDC.put("errorId", errorId);
@@ -89,7 +127,7 @@ public class TraderNotionalLimitController {
                 log.error("ERR-406: Desk not found for trader lookup: {}", deskId);
                 return ResponseEntity.notFound().build();
             }
-            return ResponseEntity.ok(persistenceService.getDeskTraderNotionalLimits(deskId));
+            return ResponseEntity.ok(bookSnapshotService.getDeskTraders(deskId));
         }
         catch (Exception e)
         {
@@ -116,7 +154,7 @@ public class TraderNotionalLimitController {
                 log.error("ERR-408: Trader not found for deletion: {}", id);
                 return ResponseEntity.notFound().build();
             }
-            persistenceService.deleteTraderNotionalLimit(id);
+            notionalLimitService.deleteTraderNotionalLimit(id);
             log.info("Successfully deleted trader: {}", id);
             return ResponseEntity.ok().build();
         }
@@ -130,4 +168,33 @@ public class TraderNotionalLimitController {
             MDC.remove("errorId");
         }
     }
-} 
\ No newline at end of file
+
+    @CrossOrigin
+    @PutMapping("/{id}/desk/{deskId}")
+    public ResponseEntity<Void> moveTrader(@NotNull @PathVariable UUID id, @NotNull @PathVariable UUID deskId)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            if (persistenceService.getTraderById(id) == null || persistenceService.getDeskById(deskId) == null)
+            {
+                log.error("ERR-423: Trader: {} or desk: {} not found for move", id, deskId);
+                return ResponseEntity.notFound().build();
+            }
+            notionalLimitService.moveTrader(id, deskId);
+            log.info("Successfully moved trader: {} to desk: {}", id, deskId);
+            return ResponseEntity.ok().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-424: Error moving trader: {} to desk: {}", id, deskId, e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
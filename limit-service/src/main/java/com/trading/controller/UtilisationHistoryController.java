@@ -0,0 +1,74 @@
+package com.trading.controller;
+
+import com.trading.history.Resolution;
+import com.trading.history.UtilisationHistory;
+import com.trading.history.UtilisationHistoryService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/history")
+@RequiredArgsConstructor
+public class UtilisationHistoryController
+{
+    private static final Logger log = LoggerFactory.getLogger(UtilisationHistoryController.class);
+    @Autowired
+    private final UtilisationHistoryService historyService;
+
+    @CrossOrigin
+    @GetMapping("/desks/{id}")
+    public ResponseEntity<UtilisationHistory> getDeskHistory(@PathVariable UUID id, @RequestParam(defaultValue = "1m") String resolution,
+                                                             @RequestParam(defaultValue = "0") long from, @RequestParam(required = false) Long to)
+    {
+        return getHistory("desk", id, resolution, from, to);
+    }
+
+    @CrossOrigin
+    @GetMapping("/traders/{id}")
+    public ResponseEntity<UtilisationHistory> getTraderHistory(@PathVariable UUID id, @RequestParam(defaultValue = "1m") String resolution,
+                                                               @RequestParam(defaultValue = "0") long from, @RequestParam(required = false) Long to)
+    {
+        return getHistory("trader", id, resolution, from, to);
+    }
+
+    private ResponseEntity<UtilisationHistory> getHistory(String type, UUID id, String resolution, long from, Long to)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            long toMillis = to == null ? Long.MAX_VALUE : to;
+            if (from < 0 || toMillis < from)
+            {
+                log.error("ERR-449: Invalid {} history range from: {} to: {}", type, from, to);
+                return ResponseEntity.badRequest().build();
+            }
+
+            Resolution bucketResolution = Resolution.fromLabel(resolution);
+            UtilisationHistory history = "desk".equals(type) ? historyService.getDeskHistory(id, bucketResolution, from, toMillis)
+                    : historyService.getTraderHistory(id, bucketResolution, from, toMillis);
+            return history == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(history);
+        }
+        catch (IllegalArgumentException e)
+        {
+            log.error("ERR-453: Unsupported history resolution: {}", resolution);
+            return ResponseEntity.badRequest().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-450: Error retrieving {} utilisation history with ID: {}", type, id, e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
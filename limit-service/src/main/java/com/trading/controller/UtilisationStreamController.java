@@ -0,0 +1,50 @@
+package com.trading.controller;
+
+import com.trading.stream.UtilisationStreamService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/stream")
+@RequiredArgsConstructor
+public class UtilisationStreamController
+{
+    private static final Logger log = LoggerFactory.getLogger(UtilisationStreamController.class);
+    @Autowired
+    private final UtilisationStreamService utilisationStreamService;
+
+    @CrossOrigin
+    @GetMapping(path = "/utilisation", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamUtilisation(@RequestParam(required = false) String type)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            if (type != null && !UtilisationStreamService.DESK.equals(type) && !UtilisationStreamService.TRADER.equals(type))
+            {
+                log.error("ERR-451: Unsupported utilisation stream type: {}", type);
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(utilisationStreamService.subscribe(type));
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-452: Error subscribing to utilisation stream", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
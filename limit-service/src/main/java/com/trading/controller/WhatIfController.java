@@ -0,0 +1,50 @@
+package com.trading.controller;
+
+import com.trading.whatif.WhatIfRequest;
+import com.trading.whatif.WhatIfResult;
+import com.trading.whatif.WhatIfService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/what-if")
+@RequiredArgsConstructor
+public class WhatIfController
+{
+    private static final Logger log = LoggerFactory.getLogger(WhatIfController.class);
+    @Autowired
+    private final WhatIfService whatIfService;
+
+    @CrossOrigin
+    @PostMapping
+    public ResponseEntity<WhatIfResult> evaluate(@RequestBody WhatIfRequest request)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            return ResponseEntity.ok(whatIfService.evaluate(request));
+        }
+        catch (IllegalArgumentException e)
+        {
+            log.error("ERR-447: Rejected what-if scenario: {}", e.getMessage());
+            return ResponseEntity.badRequest().build();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-448: Error evaluating what-if scenario", e);
+            return ResponseEntity.internalServerError().build();
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
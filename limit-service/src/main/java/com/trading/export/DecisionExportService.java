@@ -0,0 +1,172 @@
+package com.trading.export;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.LifecycleAware;
+import com.lmax.disruptor.LiteTimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.trading.affinity.PlacedThreadFactory;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.LimitDecision;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.disruptor.LimitEngineListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+// Streams every limit decision to hourly Arrow files for analytics. The engine thread only copies the decision into a
+// pre-allocated ring and never waits: when the export thread falls behind, decisions are dropped and counted instead.
+@Service
+@ConditionalOnProperty(name = "export.decisions.enabled", havingValue = "true")
+public class DecisionExportService implements LimitEngineListener, EventHandler<DecisionRecord>, TimeoutHandler, LifecycleAware
+{
+    private static final Logger log = LoggerFactory.getLogger(DecisionExportService.class);
+    private static final long DROP_LOG_INTERVAL = 10_000;
+    @Value("${export.decisions.directory}")
+    private String directory;
+    @Value("${export.decisions.buffer.size}")
+    private int bufferSize;
+    @Value("${export.decisions.block.rows}")
+    private int blockRows;
+    @Value("${export.decisions.flush.interval.ms}")
+    private long flushIntervalMs;
+    @Value("${export.decisions.cpus:}")
+    private String cpus;
+    private Disruptor<DecisionRecord> disruptor;
+    private RingBuffer<DecisionRecord> ringBuffer;
+    private DecisionFileWriter writer;
+    private long batchMillis;
+    private long dropped;
+
+    @PostConstruct
+    public void initialize() throws IOException
+    {
+        Path path = Paths.get(directory);
+        Files.createDirectories(path);
+        writer = new DecisionFileWriter(path, blockRows);
+        // The lite strategy only signals the export thread when it is parked, and its timeout flushes a quiet block
+        disruptor = new Disruptor<>(DecisionRecord::new, bufferSize, new PlacedThreadFactory("decision-export", cpus),
+                ProducerType.SINGLE, new LiteTimeoutBlockingWaitStrategy(flushIntervalMs, TimeUnit.MILLISECONDS));
+        disruptor.handleEventsWith(this);
+        ringBuffer = disruptor.start();
+        log.info("Exporting limit decisions to: {} in record batches of {} rows, flushed at least every {} ms", path.toAbsolutePath(), blockRows, flushIntervalMs);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        try
+        {
+            disruptor.shutdown(flushIntervalMs * 2, TimeUnit.MILLISECONDS);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-021: Timed out draining decision export, halting with {} dropped decisions", dropped, e);
+            disruptor.halt();
+        }
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+    }
+
+    @Override
+    public void onOrderDecided(long sequence, LimitDecision decision)
+    {
+        long slot;
+        try
+        {
+            slot = ringBuffer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            if (dropped++ % DROP_LOG_INTERVAL == 0)
+                log.error("ERR-020: Decision export buffer full, {} decisions dropped so far", dropped);
+            return;
+        }
+
+        try
+        {
+            ringBuffer.get(slot).copy(sequence, batchMillis(), decision);
+        }
+        finally
+        {
+            ringBuffer.publish(slot);
+        }
+    }
+
+    @Override
+    public void onEndOfBatch(long sequence)
+    {
+        batchMillis = 0;
+    }
+
+    @Override
+    public void onEvent(DecisionRecord record, long sequence, boolean endOfBatch)
+    {
+        try
+        {
+            writer.append(record);
+            if (endOfBatch && writer.isFlushDue(System.currentTimeMillis(), flushIntervalMs))
+                writer.flush();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            log.error("ERR-022: Failed to write decisions, discarding a block of {} decisions", writer.discard(), e);
+        }
+    }
+
+    @Override
+    public void onTimeout(long sequence)
+    {
+        try
+        {
+            if (writer.isFlushDue(System.currentTimeMillis(), flushIntervalMs))
+                writer.flush();
+        }
+        catch (IOException | RuntimeException e)
+        {
+            log.error("ERR-022: Failed to write decisions, discarding a block of {} decisions", writer.discard(), e);
+        }
+    }
+
+    @Override
+    public void onStart()
+    {
+    }
+
+    @Override
+    public void onShutdown()
+    {
+        try
+        {
+            writer.close();
+        }
+        catch (IOException e)
+        {
+            log.error("ERR-023: Failed to close decision file", e);
+        }
+    }
+
+    // Decisions within a batch are stamped with the time the batch started, one clock read per batch rather than per order.
+    private long batchMillis()
+    {
+        if (batchMillis == 0)
+            batchMillis = System.currentTimeMillis();
+        return batchMillis;
+    }
+}
@@ -0,0 +1,235 @@
+package com.trading.export;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.TimeStampMilliTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Buffers decisions in Arrow vectors and appends them to the current hour's Arrow IPC stream file a record batch at a
+// time, readable with pyarrow.ipc.open_stream, polars.read_ipc_stream or any other Arrow reader. The streaming format
+// rather than the file format, so a crash loses only the batch being written rather than the footer the whole hour
+// depends on. Owned by the export thread, so none of this is shared.
+class DecisionFileWriter implements Closeable
+{
+    private static final Logger log = LoggerFactory.getLogger(DecisionFileWriter.class);
+    static final String EXTENSION = ".arrows";
+    private static final long HOUR_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final DateTimeFormatter HOUR_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd-HH").withZone(ZoneOffset.UTC);
+    private static final ArrowType INT64 = new ArrowType.Int(64, true);
+    private static final ArrowType FLOAT32 = new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE);
+    private static final Schema SCHEMA = new Schema(List.of(
+            field("decidedAt", new ArrowType.Timestamp(org.apache.arrow.vector.types.TimeUnit.MILLISECOND, "UTC")),
+            field("sequence", INT64),
+            field("orderId", ArrowType.Utf8.INSTANCE),
+            field("ownerId", ArrowType.Utf8.INSTANCE),
+            field("traderId", ArrowType.Utf8.INSTANCE),
+            field("deskId", ArrowType.Utf8.INSTANCE),
+            field("side", ArrowType.Utf8.INSTANCE),
+            field("notionalUsdMicros", INT64),
+            field("sideUtilisationBefore", FLOAT32),
+            field("sideUtilisationAfter", FLOAT32),
+            field("grossUtilisationBefore", FLOAT32),
+            field("grossUtilisationAfter", FLOAT32),
+            field("outcome", ArrowType.Utf8.INSTANCE),
+            field("latencyNanos", INT64)));
+    private final Path directory;
+    private final int blockRows;
+    private final BufferAllocator allocator = new RootAllocator();
+    private final VectorSchemaRoot root;
+    private final TimeStampMilliTZVector decidedAt;
+    private final BigIntVector sequence;
+    private final VarCharVector orderId;
+    private final VarCharVector ownerId;
+    private final VarCharVector traderId;
+    private final VarCharVector deskId;
+    private final VarCharVector side;
+    private final BigIntVector notionalUsdMicros;
+    private final Float4Vector sideUtilisationBefore;
+    private final Float4Vector sideUtilisationAfter;
+    private final Float4Vector grossUtilisationBefore;
+    private final Float4Vector grossUtilisationAfter;
+    private final VarCharVector outcome;
+    private final BigIntVector latencyNanos;
+    private FileChannel channel;
+    private ArrowStreamWriter writer;
+    private Path file;
+    private long hour = -1;
+    private int rows;
+    private long blockStartedMillis;
+    private long fileDecisions;
+    private int fileBlocks;
+
+    DecisionFileWriter(Path directory, int blockRows)
+    {
+        this.directory = directory;
+        this.blockRows = blockRows;
+        root = VectorSchemaRoot.create(SCHEMA, allocator);
+        decidedAt = (TimeStampMilliTZVector) root.getVector("decidedAt");
+        sequence = (BigIntVector) root.getVector("sequence");
+        orderId = (VarCharVector) root.getVector("orderId");
+        ownerId = (VarCharVector) root.getVector("ownerId");
+        traderId = (VarCharVector) root.getVector("traderId");
+        deskId = (VarCharVector) root.getVector("deskId");
+        side = (VarCharVector) root.getVector("side");
+        notionalUsdMicros = (BigIntVector) root.getVector("notionalUsdMicros");
+        sideUtilisationBefore = (Float4Vector) root.getVector("sideUtilisationBefore");
+        sideUtilisationAfter = (Float4Vector) root.getVector("sideUtilisationAfter");
+        grossUtilisationBefore = (Float4Vector) root.getVector("grossUtilisationBefore");
+        grossUtilisationAfter = (Float4Vector) root.getVector("grossUtilisationAfter");
+        outcome = (VarCharVector) root.getVector("outcome");
+        latencyNanos = (BigIntVector) root.getVector("latencyNanos");
+        for (FieldVector vector : root.getFieldVectors())
+        {
+            vector.setInitialCapacity(blockRows);
+            vector.allocateNew();
+        }
+    }
+
+    void append(DecisionRecord record) throws IOException
+    {
+        long recordHour = record.getDecidedAtMillis() / HOUR_MILLIS;
+        if (recordHour > hour)
+            roll(recordHour);
+        if (rows == 0)
+            blockStartedMillis = record.getDecidedAtMillis();
+
+        decidedAt.setSafe(rows, record.getDecidedAtMillis());
+        sequence.setSafe(rows, record.getSequence());
+        setString(orderId, record.getOrderId());
+        setString(ownerId, record.getOwnerId());
+        setString(traderId, record.getTraderId());
+        setString(deskId, record.getDeskId());
+        setString(side, record.getSide());
+        notionalUsdMicros.setSafe(rows, record.getNotionalUsdMicros());
+        sideUtilisationBefore.setSafe(rows, record.getSideUtilisationBefore());
+        sideUtilisationAfter.setSafe(rows, record.getSideUtilisationAfter());
+        grossUtilisationBefore.setSafe(rows, record.getGrossUtilisationBefore());
+        grossUtilisationAfter.setSafe(rows, record.getGrossUtilisationAfter());
+        setString(outcome, record.getOutcome());
+        latencyNanos.setSafe(rows, record.getLatencyNanos());
+
+        if (++rows == blockRows)
+            flush();
+    }
+
+    boolean isFlushDue(long nowMillis, long flushIntervalMs)
+    {
+        return rows > 0 && nowMillis - blockStartedMillis >= flushIntervalMs;
+    }
+
+    void flush() throws IOException
+    {
+        if (rows == 0)
+            return;
+
+        root.setRowCount(rows);
+        writer.writeBatch();
+        fileDecisions += rows;
+        fileBlocks++;
+        discard();
+    }
+
+    // Drops the buffered batch, keeping the vectors' memory for the next one.
+    int discard()
+    {
+        int discarded = rows;
+        for (FieldVector vector : root.getFieldVectors())
+            vector.reset();
+        root.setRowCount(0);
+        rows = 0;
+        return discarded;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        try
+        {
+            closeFile();
+        }
+        finally
+        {
+            root.close();
+            allocator.close();
+        }
+    }
+
+    private void closeFile() throws IOException
+    {
+        if (channel == null)
+            return;
+
+        try
+        {
+            flush();
+            writer.end();
+            channel.force(false);
+        }
+        finally
+        {
+            writer.close();
+            channel = null;
+            writer = null;
+            log.info("Closed decision file: {} with {} decisions in {} record batches", file, fileDecisions, fileBlocks);
+        }
+    }
+
+    private void roll(long nextHour) throws IOException
+    {
+        closeFile();
+        file = nextFile(HOUR_FORMATTER.format(Instant.ofEpochMilli(nextHour * HOUR_MILLIS)));
+        channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        writer = new ArrowStreamWriter(root, null, channel);
+        writer.start();
+        hour = nextHour;
+        fileDecisions = 0;
+        fileBlocks = 0;
+        log.info("Writing decisions to: {}", file);
+    }
+
+    // A restart within the hour starts a new file alongside the earlier one rather than appending after a possibly torn batch.
+    private Path nextFile(String hourLabel)
+    {
+        Path candidate = directory.resolve("decisions-" + hourLabel + EXTENSION);
+        for (int suffix = 1; Files.exists(candidate); suffix++)
+            candidate = directory.resolve("decisions-" + hourLabel + "-" + suffix + EXTENSION);
+        return candidate;
+    }
+
+    private void setString(VarCharVector vector, Object value)
+    {
+        if (value == null)
+            vector.setNull(rows);
+        else
+            vector.setSafe(rows, value.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Field field(String name, ArrowType type)
+    {
+        return new Field(name, FieldType.nullable(type), null);
+    }
+}
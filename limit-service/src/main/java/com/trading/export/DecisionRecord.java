@@ -0,0 +1,45 @@
+package com.trading.export;
+
+import com.trading.model.DecisionOutcome;
+import com.trading.model.LimitDecision;
+import com.trading.model.Side;
+import lombok.Data;
+import java.util.UUID;
+
+// Slot in the export ring, a copy of the engine's reusable decision taken on the engine thread.
+@Data
+class DecisionRecord
+{
+    private long decidedAtMillis;
+    private long sequence;
+    private String orderId;
+    private String ownerId;
+    private UUID traderId;
+    private UUID deskId;
+    private Side side;
+    private long notionalUsdMicros;
+    private float sideUtilisationBefore;
+    private float sideUtilisationAfter;
+    private float grossUtilisationBefore;
+    private float grossUtilisationAfter;
+    private DecisionOutcome outcome;
+    private long latencyNanos;
+
+    void copy(long sequence, long decidedAtMillis, LimitDecision decision)
+    {
+        this.decidedAtMillis = decidedAtMillis;
+        this.sequence = sequence;
+        this.orderId = decision.getOrder().getOrderId();
+        this.ownerId = decision.getOrder().getOwnerId();
+        this.traderId = decision.getTraderId();
+        this.deskId = decision.getDeskId();
+        this.side = decision.getOrder().getSide();
+        this.notionalUsdMicros = decision.getNotionalUsdMicros();
+        this.sideUtilisationBefore = (float) decision.getSideUtilisationBefore();
+        this.sideUtilisationAfter = (float) decision.getSideUtilisationAfter();
+        this.grossUtilisationBefore = (float) decision.getGrossUtilisationBefore();
+        this.grossUtilisationAfter = (float) decision.getGrossUtilisationAfter();
+        this.outcome = decision.getOutcome();
+        this.latencyNanos = decision.getLatencyNanos();
+    }
+}
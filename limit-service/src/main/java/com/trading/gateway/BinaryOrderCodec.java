@@ -0,0 +1,182 @@
+package com.trading.gateway;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.trading.model.Currency;
+import com.trading.model.Order;
+import com.trading.model.Side;
+import com.trading.service.disruptor.CommandEvent;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+
+public final class BinaryOrderCodec
+{
+    public static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    public static final int HEADER_LENGTH = 8;
+    public static final int BLOCK_LENGTH = 104;
+    public static final int MESSAGE_LENGTH = HEADER_LENGTH + BLOCK_LENGTH;
+    public static final short TEMPLATE_NEW_ORDER = 1;
+    public static final short SCHEMA_ID = 17;
+    public static final short SCHEMA_VERSION = 1;
+
+    private static final int BLOCK_LENGTH_OFFSET = 0;
+    private static final int TEMPLATE_ID_OFFSET = 2;
+    private static final int SCHEMA_ID_OFFSET = 4;
+    private static final int VERSION_OFFSET = 6;
+    private static final int ORDER_ID_OFFSET = HEADER_LENGTH;
+    private static final int ORDER_ID_LENGTH = 36;
+    private static final int OWNER_ID_OFFSET = ORDER_ID_OFFSET + ORDER_ID_LENGTH;
+    private static final int OWNER_ID_LENGTH = 16;
+    private static final int INSTRUMENT_OFFSET = OWNER_ID_OFFSET + OWNER_ID_LENGTH;
+    private static final int INSTRUMENT_LENGTH = 16;
+    private static final int CURRENCY_OFFSET = INSTRUMENT_OFFSET + INSTRUMENT_LENGTH;
+    private static final int CURRENCY_LENGTH = 3;
+    private static final int SIDE_OFFSET = CURRENCY_OFFSET + CURRENCY_LENGTH;
+    private static final int QUANTITY_OFFSET = SIDE_OFFSET + 1;
+    private static final int PRICE_OFFSET = QUANTITY_OFFSET + Integer.BYTES;
+    private static final int NOTIONAL_OFFSET = PRICE_OFFSET + Double.BYTES;
+    private static final int ORDER_VERSION_OFFSET = NOTIONAL_OFFSET + Double.BYTES;
+    private static final int ARRIVAL_TIME_OFFSET = ORDER_VERSION_OFFSET + Integer.BYTES;
+    private static final Side[] SIDES = Side.values();
+    private static final Currency[] CURRENCIES = Currency.values();
+
+    public static final EventTranslatorOneArg<CommandEvent, ByteBuffer> TRANSLATOR = (event, sequence, buffer) ->
+    {
+        event.clear();
+        Order order = event.getReusableOrder();
+        decode(buffer, buffer.position(), order);
+        event.setOrder(order);
+    };
+
+    private BinaryOrderCodec()
+    {
+    }
+
+    public static int blockLength(ByteBuffer buffer, int offset)
+    {
+        return buffer.getShort(offset + BLOCK_LENGTH_OFFSET) & 0xFFFF;
+    }
+
+    public static boolean isNewOrder(ByteBuffer buffer, int offset)
+    {
+        return buffer.getShort(offset + TEMPLATE_ID_OFFSET) == TEMPLATE_NEW_ORDER
+                && buffer.getShort(offset + SCHEMA_ID_OFFSET) == SCHEMA_ID
+                && buffer.getShort(offset + VERSION_OFFSET) == SCHEMA_VERSION
+                && blockLength(buffer, offset) == BLOCK_LENGTH;
+    }
+
+    public static int quantity(ByteBuffer buffer, int offset)
+    {
+        return buffer.getInt(offset + QUANTITY_OFFSET);
+    }
+
+    public static double price(ByteBuffer buffer, int offset)
+    {
+        return buffer.getDouble(offset + PRICE_OFFSET);
+    }
+
+    // Side and currency are checked before a ring slot is claimed, the translator must not throw once it has one.
+    public static boolean hasValidSide(ByteBuffer buffer, int offset)
+    {
+        byte side = buffer.get(offset + SIDE_OFFSET);
+        return side >= 0 && side < SIDES.length;
+    }
+
+    public static boolean hasKnownCurrency(ByteBuffer buffer, int offset)
+    {
+        return currencyIndex(buffer, offset + CURRENCY_OFFSET) >= 0;
+    }
+
+    public static String ownerId(ByteBuffer buffer, int offset)
+    {
+        return getAscii(buffer, offset + OWNER_ID_OFFSET, OWNER_ID_LENGTH);
+    }
+
+    public static int orderIdOffset(int offset)
+    {
+        return offset + ORDER_ID_OFFSET;
+    }
+
+    public static int orderIdLength()
+    {
+        return ORDER_ID_LENGTH;
+    }
+
+    public static int orderVersion(ByteBuffer buffer, int offset)
+    {
+        return buffer.getInt(offset + ORDER_VERSION_OFFSET);
+    }
+
+    public static void decode(ByteBuffer buffer, int offset, Order order)
+    {
+        order.setOrderId(getAscii(buffer, offset + ORDER_ID_OFFSET, ORDER_ID_LENGTH));
+        order.setOwnerId(getAscii(buffer, offset + OWNER_ID_OFFSET, OWNER_ID_LENGTH));
+        order.setInstrumentCode(getAscii(buffer, offset + INSTRUMENT_OFFSET, INSTRUMENT_LENGTH));
+        order.setSettlementCurrency(currency(buffer, offset + CURRENCY_OFFSET));
+        order.setSide(SIDES[buffer.get(offset + SIDE_OFFSET)]);
+        order.setQuantity(buffer.getInt(offset + QUANTITY_OFFSET));
+        order.setPrice(buffer.getDouble(offset + PRICE_OFFSET));
+        order.setOrderNotionalValueInLocal(buffer.getDouble(offset + NOTIONAL_OFFSET));
+        order.setVersion(buffer.getInt(offset + ORDER_VERSION_OFFSET));
+        order.setArrivalTime(LocalTime.ofNanoOfDay(buffer.getLong(offset + ARRIVAL_TIME_OFFSET)));
+    }
+
+    public static void encode(ByteBuffer buffer, int offset, Order order)
+    {
+        buffer.putShort(offset + BLOCK_LENGTH_OFFSET, (short) BLOCK_LENGTH);
+        buffer.putShort(offset + TEMPLATE_ID_OFFSET, TEMPLATE_NEW_ORDER);
+        buffer.putShort(offset + SCHEMA_ID_OFFSET, SCHEMA_ID);
+        buffer.putShort(offset + VERSION_OFFSET, SCHEMA_VERSION);
+        putAscii(buffer, offset + ORDER_ID_OFFSET, ORDER_ID_LENGTH, order.getOrderId());
+        putAscii(buffer, offset + OWNER_ID_OFFSET, OWNER_ID_LENGTH, order.getOwnerId());
+        putAscii(buffer, offset + INSTRUMENT_OFFSET, INSTRUMENT_LENGTH, order.getInstrumentCode());
+        putAscii(buffer, offset + CURRENCY_OFFSET, CURRENCY_LENGTH, order.getSettlementCurrency());
+        buffer.put(offset + SIDE_OFFSET, (byte) order.getSide().ordinal());
+        buffer.putInt(offset + QUANTITY_OFFSET, order.getQuantity());
+        buffer.putDouble(offset + PRICE_OFFSET, order.getPrice());
+        buffer.putDouble(offset + NOTIONAL_OFFSET, order.getOrderNotionalValueInLocal());
+        buffer.putInt(offset + ORDER_VERSION_OFFSET, order.getVersion());
+        buffer.putLong(offset + ARRIVAL_TIME_OFFSET, order.getArrivalTime() == null ? 0 : order.getArrivalTime().toNanoOfDay());
+    }
+
+    private static String currency(ByteBuffer buffer, int offset)
+    {
+        int index = currencyIndex(buffer, offset);
+        return index >= 0 ? CURRENCIES[index].name() : getAscii(buffer, offset, CURRENCY_LENGTH);
+    }
+
+    private static int currencyIndex(ByteBuffer buffer, int offset)
+    {
+        for (int index = 0; index < CURRENCIES.length; index++)
+        {
+            String name = CURRENCIES[index].name();
+            if (buffer.get(offset) == name.charAt(0) && buffer.get(offset + 1) == name.charAt(1) && buffer.get(offset + 2) == name.charAt(2))
+                return index;
+        }
+        return -1;
+    }
+
+    private static String getAscii(ByteBuffer buffer, int offset, int length)
+    {
+        int end = offset;
+        while (end < offset + length && buffer.get(end) != 0)
+            end++;
+
+        byte[] bytes = new byte[end - offset];
+        buffer.get(offset, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    private static void putAscii(ByteBuffer buffer, int offset, int length, String value)
+    {
+        int written = 0;
+        if (value != null)
+        {
+            for (; written < Math.min(length, value.length()); written++)
+                buffer.put(offset + written, (byte) value.charAt(written));
+        }
+        for (; written < length; written++)
+            buffer.put(offset + written, (byte) 0);
+    }
+}
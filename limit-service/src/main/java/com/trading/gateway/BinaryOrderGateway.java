@@ -0,0 +1,201 @@
+package com.trading.gateway;
+
+import com.trading.affinity.PlacedThreadFactory;
+import com.trading.service.NotionalLimitService;
+import com.trading.warmup.EngineReadyEvent;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "gateway.binary.enabled", havingValue = "true")
+public class BinaryOrderGateway
+{
+    private static final Logger log = LoggerFactory.getLogger(BinaryOrderGateway.class);
+    @Value("${gateway.binary.host}")
+    private String host;
+    @Value("${gateway.binary.port}")
+    private int port;
+    @Value("${gateway.binary.buffer.size}")
+    private int bufferSize;
+    @Value("${gateway.binary.cpus:}")
+    private String cpus;
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
+    private final AtomicLong acceptedOrders = new AtomicLong();
+    private final AtomicLong rejectedMessages = new AtomicLong();
+    private volatile boolean running;
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread gatewayThread;
+
+    // The port is only bound once the engine is ready, so no client can send orders while it is still warming up.
+    @EventListener(EngineReadyEvent.class)
+    public synchronized void start()
+    {
+        try
+        {
+            selector = Selector.open();
+            serverChannel = ServerSocketChannel.open();
+            serverChannel.configureBlocking(false);
+            serverChannel.bind(new InetSocketAddress(host, port));
+            serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+            running = true;
+            gatewayThread = new PlacedThreadFactory("binary-order-gateway", cpus).newThread(this::run);
+            gatewayThread.start();
+            log.info("Binary order gateway listening on: {}:{}", host, port);
+        }
+        catch (IOException e)
+        {
+            log.error("ERR-924: Failed to start binary order gateway on: {}:{}", host, port, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() throws IOException
+    {
+        if (!running)
+            return;
+
+        running = false;
+        selector.wakeup();
+        serverChannel.close();
+        log.info("Binary order gateway stopped after accepting: {} orders and rejecting: {} messages", acceptedOrders.get(), rejectedMessages.get());
+    }
+
+    public long getAcceptedOrders()
+    {
+        return acceptedOrders.get();
+    }
+
+    public long getRejectedMessages()
+    {
+        return rejectedMessages.get();
+    }
+
+    private void run()
+    {
+        while (running)
+        {
+            try
+            {
+                selector.select();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext())
+                {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid())
+                        continue;
+                    if (key.isAcceptable())
+                        accept();
+                    else if (key.isReadable())
+                        read(key);
+                }
+            }
+            catch (IOException e)
+            {
+                if (running)
+                    log.error("ERR-921: Binary order gateway selector failed", e);
+            }
+        }
+        closeQuietly();
+    }
+
+    private void accept() throws IOException
+    {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null)
+            return;
+
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize).order(BinaryOrderCodec.BYTE_ORDER);
+        channel.register(selector, SelectionKey.OP_READ, buffer);
+        log.info("Binary order gateway accepted connection from: {}", channel.getRemoteAddress());
+    }
+
+    private void read(SelectionKey key)
+    {
+        SocketChannel channel = (SocketChannel) key.channel();
+        ByteBuffer buffer = (ByteBuffer) key.attachment();
+        try
+        {
+            if (channel.read(buffer) < 0)
+            {
+                log.info("Binary order gateway connection closed by: {}", channel.getRemoteAddress());
+                close(key);
+                return;
+            }
+
+            buffer.flip();
+            while (buffer.remaining() >= BinaryOrderCodec.HEADER_LENGTH)
+            {
+                int offset = buffer.position();
+                int length = BinaryOrderCodec.HEADER_LENGTH + BinaryOrderCodec.blockLength(buffer, offset);
+                if (buffer.remaining() < length)
+                    break;
+
+                if (BinaryOrderCodec.isNewOrder(buffer, offset) && notionalLimitService.processBinaryOrder(buffer))
+                    acceptedOrders.incrementAndGet();
+                else
+                    rejectedMessages.incrementAndGet();
+                buffer.position(offset + length);
+            }
+            buffer.compact();
+            if (!buffer.hasRemaining())
+            {
+                log.error("ERR-922: Binary order gateway message exceeds buffer size: {}, closing connection", bufferSize);
+                close(key);
+            }
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-923: Binary order gateway failed reading from connection, closing it", e);
+            close(key);
+        }
+    }
+
+    private void close(SelectionKey key)
+    {
+        key.cancel();
+        try
+        {
+            key.channel().close();
+        }
+        catch (IOException e)
+        {
+            log.debug("Failed to close binary order gateway connection", e);
+        }
+    }
+
+    private void closeQuietly()
+    {
+        for (SelectionKey key : selector.keys())
+            close(key);
+        try
+        {
+            selector.close();
+        }
+        catch (IOException e)
+        {
+            log.debug("Failed to close binary order gateway selector", e);
+        }
+    }
+}
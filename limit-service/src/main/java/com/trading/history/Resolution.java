@@ -0,0 +1,40 @@
+package com.trading.history;
+
+import java.util.concurrent.TimeUnit;
+
+public enum Resolution
+{
+    SECOND("1s", TimeUnit.SECONDS.toMillis(1)),
+    MINUTE("1m", TimeUnit.MINUTES.toMillis(1)),
+    FIFTEEN_MINUTES("15m", TimeUnit.MINUTES.toMillis(15));
+
+    private static final Resolution[] VALUES = values();
+    private final String label;
+    private final long millis;
+
+    Resolution(String label, long millis)
+    {
+        this.label = label;
+        this.millis = millis;
+    }
+
+    public String getLabel()
+    {
+        return label;
+    }
+
+    public long getMillis()
+    {
+        return millis;
+    }
+
+    public static Resolution fromLabel(String label)
+    {
+        for (Resolution resolution : VALUES)
+        {
+            if (resolution.label.equalsIgnoreCase(label))
+                return resolution;
+        }
+        throw new IllegalArgumentException("Unsupported resolution: " + label);
+    }
+}
@@ -0,0 +1,18 @@
+package com.trading.history;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.UUID;
+
+// Columnar so a chart can plot the arrays directly; times are the epoch millis at the start of each bucket.
+@Data
+@AllArgsConstructor
+public class UtilisationHistory
+{
+    private final UUID id;
+    private final String resolution;
+    private final long[] times;
+    private final float[] buyUtilizationPercentage;
+    private final float[] sellUtilizationPercentage;
+    private final float[] grossUtilizationPercentage;
+}
@@ -0,0 +1,172 @@
+package com.trading.history;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.disruptor.LimitEngineListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.annotation.PostConstruct;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Intraday utilisation history for charts, recorded on the engine thread. Series are allocated on a desk or trader's
+// first order; after that recording is a clock read per batch and a few primitive stores per order. A reset only stamps
+// its time, each series applies it on its next record, so it costs the same however many series there are.
+@Service
+public class UtilisationHistoryService implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(UtilisationHistoryService.class);
+    @Value("${history.second.capacity}")
+    private int secondCapacity;
+    @Value("${history.minute.capacity}")
+    private int minuteCapacity;
+    @Value("${history.fifteen.minute.capacity}")
+    private int fifteenMinuteCapacity;
+    @Value("${history.traders.enabled}")
+    private boolean tradersEnabled;
+    private final Map<UUID, UtilisationSeries> deskSeries = new ConcurrentHashMap<>();
+    private final Map<UUID, UtilisationSeries> traderSeries = new ConcurrentHashMap<>();
+    private int[] capacities;
+    private long batchMillis;
+    private volatile long resetMillis;
+
+    @PostConstruct
+    public void initialize()
+    {
+        capacities = new int[] { secondCapacity, minuteCapacity, fifteenMinuteCapacity };
+        for (int capacity : capacities)
+        {
+            if (capacity <= 0)
+                throw new IllegalArgumentException("History capacities must be positive: " + secondCapacity + ", " + minuteCapacity + ", " + fifteenMinuteCapacity);
+        }
+        log.info("Recording utilisation history for {} seconds, {} minutes and {} quarter hours, traders enabled: {}",
+                secondCapacity, minuteCapacity, fifteenMinuteCapacity, tradersEnabled);
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        long now = batchMillis();
+        recordDesk(now, deskNotionalLimit);
+        if (tradersEnabled)
+            recordTrader(now, deskNotionalLimit, traderNotionalLimit);
+    }
+
+    // A standby's replicated order updates and a restored desk arrive here rather than as applied orders.
+    @Override
+    public void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        long now = batchMillis();
+        recordDesk(now, deskNotionalLimit);
+        if (!tradersEnabled)
+            return;
+
+        for (TraderNotionalLimit traderNotionalLimit : traderNotionalLimits)
+            recordTrader(now, deskNotionalLimit, traderNotionalLimit);
+    }
+
+    @Override
+    public void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        long now = batchMillis();
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
+        {
+            if (deskSeries.containsKey(deskNotionalLimit.getDeskId()))
+                recordDesk(now, deskNotionalLimit);
+        }
+    }
+
+    @Override
+    public void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+        deskSeries.remove(deskId);
+    }
+
+    @Override
+    public void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+        traderSeries.remove(traderId);
+    }
+
+    @Override
+    public void onTraderRemoved(long sequence, UUID traderId)
+    {
+        traderSeries.remove(traderId);
+    }
+
+    @Override
+    public void onReset(long sequence)
+    {
+        // Strictly increasing, so a series that recorded after one reset still sees a second in the same millisecond
+        resetMillis = Math.max(batchMillis(), resetMillis + 1);
+    }
+
+    @Override
+    public void onEndOfBatch(long sequence)
+    {
+        batchMillis = 0;
+    }
+
+    public UtilisationHistory getDeskHistory(UUID deskId, Resolution resolution, long fromMillis, long toMillis)
+    {
+        return read(deskSeries.get(deskId), deskId, resolution, fromMillis, toMillis);
+    }
+
+    public UtilisationHistory getTraderHistory(UUID traderId, Resolution resolution, long fromMillis, long toMillis)
+    {
+        return read(traderSeries.get(traderId), traderId, resolution, fromMillis, toMillis);
+    }
+
+    private UtilisationHistory read(UtilisationSeries series, UUID id, Resolution resolution, long fromMillis, long toMillis)
+    {
+        if (series == null)
+            return null;
+
+        return series.read(id, resolution, fromMillis, toMillis, System.currentTimeMillis(), resetMillis);
+    }
+
+    private void recordDesk(long now, DeskNotionalLimit deskNotionalLimit)
+    {
+        series(deskSeries, deskNotionalLimit.getDeskId()).record(resetMillis, now,
+                percentage(deskNotionalLimit.getCurrentBuyNotionalMicros(), deskNotionalLimit.getBuyNotionalLimitMicros()),
+                percentage(deskNotionalLimit.getCurrentSellNotionalMicros(), deskNotionalLimit.getSellNotionalLimitMicros()),
+                percentage(deskNotionalLimit.getCurrentGrossNotionalMicros(), deskNotionalLimit.getGrossNotionalLimitMicros()));
+    }
+
+    private void recordTrader(long now, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        series(traderSeries, traderNotionalLimit.getTraderId()).record(resetMillis, now,
+                percentage(traderNotionalLimit.getCurrentBuyNotionalMicros(), deskNotionalLimit.getBuyNotionalLimitMicros()),
+                percentage(traderNotionalLimit.getCurrentSellNotionalMicros(), deskNotionalLimit.getSellNotionalLimitMicros()),
+                percentage(traderNotionalLimit.getCurrentGrossNotionalMicros(), deskNotionalLimit.getGrossNotionalLimitMicros()));
+    }
+
+    private UtilisationSeries series(Map<UUID, UtilisationSeries> seriesById, UUID id)
+    {
+        UtilisationSeries series = seriesById.get(id);
+        if (series == null)
+        {
+            series = new UtilisationSeries(capacities, resetMillis);
+            seriesById.put(id, series);
+        }
+        return series;
+    }
+
+    // Orders within a batch are stamped with the time the batch started, one clock read per batch rather than per order.
+    private long batchMillis()
+    {
+        if (batchMillis == 0)
+            batchMillis = System.currentTimeMillis();
+        return batchMillis;
+    }
+
+    private static float percentage(long current, long limit)
+    {
+        return limit > 0 ? (float) (((double) current / limit) * 100) : 0f;
+    }
+}
@@ -0,0 +1,79 @@
+package com.trading.history;
+
+// Fixed-size ring of buy, sell and gross utilisation, one slot per bucket of the resolution, holding the last value
+// recorded in the bucket. Buckets with no activity carry the previous value forward, so a slot's bucket is implied
+// by its distance from the head and no timestamps need storing.
+final class UtilisationRing
+{
+    private final long resolutionMillis;
+    private final int capacity;
+    private final float[] buy;
+    private final float[] sell;
+    private final float[] gross;
+    private long firstBucket = -1;
+    private long headBucket = -1;
+
+    UtilisationRing(Resolution resolution, int capacity)
+    {
+        this.resolutionMillis = resolution.getMillis();
+        this.capacity = capacity;
+        this.buy = new float[capacity];
+        this.sell = new float[capacity];
+        this.gross = new float[capacity];
+    }
+
+    void record(long timeMillis, float buyUtilisation, float sellUtilisation, float grossUtilisation)
+    {
+        long bucket = Math.max(timeMillis / resolutionMillis, headBucket);
+        if (headBucket >= 0 && bucket > headBucket)
+        {
+            int previous = slot(headBucket);
+            for (long carried = Math.max(headBucket + 1, bucket - capacity + 1); carried < bucket; carried++)
+                write(slot(carried), buy[previous], sell[previous], gross[previous]);
+        }
+        if (firstBucket < 0)
+            firstBucket = bucket;
+        headBucket = bucket;
+        write(slot(bucket), buyUtilisation, sellUtilisation, grossUtilisation);
+    }
+
+    // Copies the buckets between the two times that fall within the last capacity buckets before now, extending the
+    // newest recorded value up to the current bucket.
+    int copy(long fromMillis, long toMillis, long nowMillis, long[] times, float[] buyOut, float[] sellOut, float[] grossOut)
+    {
+        long head = headBucket;
+        if (head < 0)
+            return 0;
+
+        long newest = Math.max(nowMillis / resolutionMillis, head);
+        long first = Math.max(Math.max(fromMillis / resolutionMillis, newest - capacity + 1), firstBucket);
+        long last = Math.min(toMillis / resolutionMillis, newest);
+        int count = 0;
+        for (long bucket = first; bucket <= last; bucket++, count++)
+        {
+            int slot = slot(Math.min(bucket, head));
+            times[count] = bucket * resolutionMillis;
+            buyOut[count] = buy[slot];
+            sellOut[count] = sell[slot];
+            grossOut[count] = gross[slot];
+        }
+        return count;
+    }
+
+    int getCapacity()
+    {
+        return capacity;
+    }
+
+    private int slot(long bucket)
+    {
+        return (int) (bucket % capacity);
+    }
+
+    private void write(int slot, float buyUtilisation, float sellUtilisation, float grossUtilisation)
+    {
+        buy[slot] = buyUtilisation;
+        sell[slot] = sellUtilisation;
+        gross[slot] = grossUtilisation;
+    }
+}
@@ -0,0 +1,111 @@
+package com.trading.history;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.locks.StampedLock;
+
+// One ring per resolution for a desk or trader. Written only by the engine thread; readers take an optimistic stamp
+// and retry, falling back to the read lock so a busy series cannot starve a query. A reset is applied lazily: the series
+// remembers the last reset it has seen, writes the zero on its next record, and until then reads show zero from the reset.
+final class UtilisationSeries
+{
+    private static final int OPTIMISTIC_ATTEMPTS = 3;
+    private final UtilisationRing[] rings;
+    private final StampedLock lock = new StampedLock();
+    private long appliedResetMillis;
+
+    UtilisationSeries(int[] capacities, long resetMillis)
+    {
+        Resolution[] resolutions = Resolution.values();
+        rings = new UtilisationRing[resolutions.length];
+        for (int i = 0; i < resolutions.length; i++)
+            rings[i] = new UtilisationRing(resolutions[i], capacities[i]);
+        appliedResetMillis = resetMillis;
+    }
+
+    void record(long resetMillis, long timeMillis, float buyUtilisation, float sellUtilisation, float grossUtilisation)
+    {
+        long stamp = lock.writeLock();
+        try
+        {
+            if (appliedResetMillis != resetMillis)
+            {
+                for (UtilisationRing ring : rings)
+                    ring.record(resetMillis, 0, 0, 0);
+                appliedResetMillis = resetMillis;
+            }
+            for (UtilisationRing ring : rings)
+                ring.record(timeMillis, buyUtilisation, sellUtilisation, grossUtilisation);
+        }
+        finally
+        {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    UtilisationHistory read(UUID id, Resolution resolution, long fromMillis, long toMillis, long nowMillis, long resetMillis)
+    {
+        UtilisationRing ring = rings[resolution.ordinal()];
+        int capacity = ring.getCapacity();
+        long[] times = new long[capacity];
+        float[] buy = new float[capacity];
+        float[] sell = new float[capacity];
+        float[] gross = new float[capacity];
+
+        int count = -1;
+        boolean resetPending = false;
+        for (int attempt = 0; attempt < OPTIMISTIC_ATTEMPTS && count < 0; attempt++)
+        {
+            long stamp = lock.tryOptimisticRead();
+            if (stamp == 0)
+                continue;
+            try
+            {
+                int copied = ring.copy(fromMillis, toMillis, nowMillis, times, buy, sell, gross);
+                boolean pending = appliedResetMillis != resetMillis;
+                if (lock.validate(stamp))
+                {
+                    count = copied;
+                    resetPending = pending;
+                }
+            }
+            catch (RuntimeException e)
+            {
+                // A torn read can index past the arrays; validation fails and the copy is retried
+                if (lock.validate(stamp))
+                    throw e;
+            }
+        }
+
+        if (count < 0)
+        {
+            long stamp = lock.readLock();
+            try
+            {
+                count = ring.copy(fromMillis, toMillis, nowMillis, times, buy, sell, gross);
+                resetPending = appliedResetMillis != resetMillis;
+            }
+            finally
+            {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        if (resetPending)
+        {
+            long resetBucketMillis = resetMillis - resetMillis % resolution.getMillis();
+            for (int i = 0; i < count; i++)
+            {
+                if (times[i] >= resetBucketMillis)
+                {
+                    buy[i] = 0;
+                    sell[i] = 0;
+                    gross[i] = 0;
+                }
+            }
+        }
+
+        return new UtilisationHistory(id, resolution.getLabel(), Arrays.copyOf(times, count),
+                Arrays.copyOf(buy, count), Arrays.copyOf(sell, count), Arrays.copyOf(gross, count));
+    }
+}
@@ -0,0 +1,139 @@
+package com.trading.leaderboard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+public class IndexedMaxHeap
+{
+    private final Map<UUID, Integer> positions = new HashMap<>();
+    private UUID[] keys;
+    private double[] scores;
+    private int size;
+
+    public IndexedMaxHeap(int initialCapacity)
+    {
+        keys = new UUID[Math.max(1, initialCapacity)];
+        scores = new double[keys.length];
+    }
+
+    public void update(UUID key, double score)
+    {
+        Integer position = positions.get(key);
+        if (position == null)
+        {
+            if (size == keys.length)
+            {
+                keys = Arrays.copyOf(keys, size * 2);
+                scores = Arrays.copyOf(scores, size * 2);
+            }
+            keys[size] = key;
+            scores[size] = score;
+            positions.put(key, size);
+            siftUp(size++);
+            return;
+        }
+
+        double previous = scores[position];
+        scores[position] = score;
+        if (score > previous)
+            siftUp(position);
+        else if (score < previous)
+            siftDown(position);
+    }
+
+    public void remove(UUID key)
+    {
+        Integer position = positions.remove(key);
+        if (position == null)
+            return;
+
+        int last = --size;
+        if (position != last)
+        {
+            double removed = scores[position];
+            move(last, position);
+            if (scores[position] > removed)
+                siftUp(position);
+            else
+                siftDown(position);
+        }
+        keys[last] = null;
+    }
+
+    public int size()
+    {
+        return size;
+    }
+
+    public List<UUID> top(int count)
+    {
+        int limit = Math.min(count, size);
+        List<UUID> result = new ArrayList<>(limit);
+        if (limit == 0)
+            return result;
+
+        PriorityQueue<Integer> candidates = new PriorityQueue<>(limit * 2, (left, right) -> Double.compare(scores[right], scores[left]));
+        candidates.add(0);
+        while (result.size() < limit)
+        {
+            int position = candidates.poll();
+            result.add(keys[position]);
+            int child = 2 * position + 1;
+            if (child < size)
+                candidates.add(child);
+            if (child + 1 < size)
+                candidates.add(child + 1);
+        }
+        return result;
+    }
+
+    private void siftUp(int position)
+    {
+        UUID key = keys[position];
+        double score = scores[position];
+        while (position > 0)
+        {
+            int parent = (position - 1) >>> 1;
+            if (scores[parent] >= score)
+                break;
+            move(parent, position);
+            position = parent;
+        }
+        place(key, score, position);
+    }
+
+    private void siftDown(int position)
+    {
+        UUID key = keys[position];
+        double score = scores[position];
+        int half = size >>> 1;
+        while (position < half)
+        {
+            int child = 2 * position + 1;
+            if (child + 1 < size && scores[child + 1] > scores[child])
+                child++;
+            if (score >= scores[child])
+                break;
+            move(child, position);
+            position = child;
+        }
+        place(key, score, position);
+    }
+
+    private void move(int from, int to)
+    {
+        place(keys[from], scores[from], to);
+    }
+
+    private void place(UUID key, double score, int position)
+    {
+        keys[position] = key;
+        scores[position] = score;
+        positions.put(key, position);
+    }
+}
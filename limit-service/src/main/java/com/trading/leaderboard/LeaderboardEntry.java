@@ -0,0 +1,16 @@
+package com.trading.leaderboard;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class LeaderboardEntry
+{
+    private final UUID id;
+    private final UUID deskId;
+    private final double currentNotional;
+    private final double notionalLimit;
+    private final double utilizationPercentage;
+}
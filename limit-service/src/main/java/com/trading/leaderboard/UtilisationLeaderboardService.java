@@ -0,0 +1,297 @@
+package com.trading.leaderboard;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.LimitType;
+import com.trading.model.Notional;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.LimitEngineListener;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class UtilisationLeaderboardService implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(UtilisationLeaderboardService.class);
+    @Value("${leaderboard.size}")
+    private int leaderboardSize;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    private final Map<LimitType, Board> deskBoards = new EnumMap<>(LimitType.class);
+    private final Map<LimitType, Board> traderBoards = new EnumMap<>(LimitType.class);
+    private final Map<UUID, DeskNotionalLimit> desks = new HashMap<>();
+    private final Map<UUID, TraderNotionalLimit> traders = new HashMap<>();
+    private final Map<UUID, DeskNotionalLimit> traderDesks = new HashMap<>();
+
+    @PostConstruct
+    public void initialize()
+    {
+        int deskCount = persistenceService.getAllDeskNotionalLimits().size();
+        int traderCount = persistenceService.getAllTraderNotionalLimits().size();
+        for (LimitType limitType : LimitType.values())
+        {
+            deskBoards.put(limitType, new Board(deskCount));
+            traderBoards.put(limitType, new Board(traderCount));
+        }
+
+        persistenceService.getAllDeskNotionalLimits().forEach(this::updateDesk);
+        for (Desk desk : persistenceService.getAllDesks())
+        {
+            DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(desk.getDeskId());
+            if (deskNotionalLimit == null || desk.getTraders() == null)
+                continue;
+
+            for (UUID traderId : desk.getTraders())
+            {
+                TraderNotionalLimit traderNotionalLimit = persistenceService.getTraderNotionalLimit(traderId);
+                if (traderNotionalLimit != null)
+                    updateTrader(traderNotionalLimit, deskNotionalLimit);
+            }
+        }
+        publishDirtyBoards();
+        log.info("Initialized utilisation leaderboards of size: {} with {} desks and {} traders", leaderboardSize, desks.size(), traders.size());
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        updateDesk(deskNotionalLimit);
+        updateTrader(traderNotionalLimit, deskNotionalLimit);
+    }
+
+    @Override
+    public void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        deskNotionalLimits.forEach(this::updateDesk);
+    }
+
+    @Override
+    public void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+        desks.remove(deskId);
+        for (Board board : deskBoards.values())
+            board.remove(deskId);
+    }
+
+    @Override
+    public void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+        removeTrader(traderId);
+    }
+
+    @Override
+    public void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        updateDesk(deskNotionalLimit);
+        traderNotionalLimits.forEach(trader -> updateTrader(trader, deskNotionalLimit));
+    }
+
+    @Override
+    public void onDesksApplied(long sequence, List<Desk> appliedDesks)
+    {
+        for (Desk desk : appliedDesks)
+        {
+            if (desk.getTraders() == null)
+                continue;
+
+            DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(desk.getDeskId());
+            for (UUID traderId : desk.getTraders())
+            {
+                TraderNotionalLimit traderNotionalLimit = persistenceService.getTraderNotionalLimit(traderId);
+                if (traderNotionalLimit == null)
+                    continue;
+
+                if (deskNotionalLimit == null)
+                    removeTrader(traderId);
+                else
+                    updateTrader(traderNotionalLimit, deskNotionalLimit);
+            }
+        }
+    }
+
+    @Override
+    public void onDeskRemoved(long sequence, UUID deskId)
+    {
+        List<UUID> deskTraders = new ArrayList<>();
+        traderDesks.forEach((traderId, desk) ->
+        {
+            if (desk.getDeskId().equals(deskId))
+                deskTraders.add(traderId);
+        });
+        deskTraders.forEach(this::removeTrader);
+    }
+
+    @Override
+    public void onTraderRemoved(long sequence, UUID traderId)
+    {
+        removeTrader(traderId);
+    }
+
+    @Override
+    public void onReset(long sequence)
+    {
+        new ArrayList<>(desks.values()).forEach(this::updateDesk);
+        new ArrayList<>(traders.values()).forEach(trader -> updateTrader(trader, traderDesks.get(trader.getTraderId())));
+    }
+
+    @Override
+    public void onEndOfBatch(long sequence)
+    {
+        publishDirtyBoards();
+    }
+
+    public List<LeaderboardEntry> getTopDesks(LimitType limitType, int count)
+    {
+        return head(deskBoards.get(limitType).top, count);
+    }
+
+    public List<LeaderboardEntry> getTopTraders(LimitType limitType, int count)
+    {
+        return head(traderBoards.get(limitType).top, count);
+    }
+
+    private void updateDesk(DeskNotionalLimit deskNotionalLimit)
+    {
+        UUID deskId = deskNotionalLimit.getDeskId();
+        desks.put(deskId, deskNotionalLimit);
+        for (LimitType limitType : LimitType.values())
+            deskBoards.get(limitType).update(deskId, current(deskNotionalLimit, limitType), limit(deskNotionalLimit, limitType));
+    }
+
+    private void updateTrader(TraderNotionalLimit traderNotionalLimit, DeskNotionalLimit deskNotionalLimit)
+    {
+        UUID traderId = traderNotionalLimit.getTraderId();
+        traders.put(traderId, traderNotionalLimit);
+        traderDesks.put(traderId, deskNotionalLimit);
+        for (LimitType limitType : LimitType.values())
+            traderBoards.get(limitType).update(traderId, current(traderNotionalLimit, limitType), limit(deskNotionalLimit, limitType));
+    }
+
+    private void removeTrader(UUID traderId)
+    {
+        traders.remove(traderId);
+        traderDesks.remove(traderId);
+        for (Board board : traderBoards.values())
+            board.remove(traderId);
+    }
+
+    private void publishDirtyBoards()
+    {
+        for (Map.Entry<LimitType, Board> board : deskBoards.entrySet())
+        {
+            if (!board.getValue().dirty)
+                continue;
+
+            List<LeaderboardEntry> top = new ArrayList<>(leaderboardSize);
+            for (UUID deskId : board.getValue().heap.top(leaderboardSize))
+            {
+                DeskNotionalLimit desk = desks.get(deskId);
+                top.add(entry(deskId, deskId, current(desk, board.getKey()), limit(desk, board.getKey())));
+            }
+            board.getValue().publish(top);
+        }
+
+        for (Map.Entry<LimitType, Board> board : traderBoards.entrySet())
+        {
+            if (!board.getValue().dirty)
+                continue;
+
+            List<LeaderboardEntry> top = new ArrayList<>(leaderboardSize);
+            for (UUID traderId : board.getValue().heap.top(leaderboardSize))
+            {
+                DeskNotionalLimit desk = traderDesks.get(traderId);
+                top.add(entry(traderId, desk.getDeskId(), current(traders.get(traderId), board.getKey()), limit(desk, board.getKey())));
+            }
+            board.getValue().publish(top);
+        }
+    }
+
+    private static LeaderboardEntry entry(UUID id, UUID deskId, long current, long limit)
+    {
+        return new LeaderboardEntry(id, deskId, Notional.toUsd2dp(current), Notional.toUsd2dp(limit),
+                Notional.round2dp(Notional.utilizationPercentage(current, limit)));
+    }
+
+    private static List<LeaderboardEntry> head(List<LeaderboardEntry> top, int count)
+    {
+        return count >= top.size() ? top : top.subList(0, Math.max(0, count));
+    }
+
+    private static long current(DeskNotionalLimit deskNotionalLimit, LimitType limitType)
+    {
+        switch (limitType)
+        {
+            case BUY: return deskNotionalLimit.getCurrentBuyNotionalMicros();
+            case SELL: return deskNotionalLimit.getCurrentSellNotionalMicros();
+            default: return deskNotionalLimit.getCurrentGrossNotionalMicros();
+        }
+    }
+
+    private static long current(TraderNotionalLimit traderNotionalLimit, LimitType limitType)
+    {
+        switch (limitType)
+        {
+            case BUY: return traderNotionalLimit.getCurrentBuyNotionalMicros();
+            case SELL: return traderNotionalLimit.getCurrentSellNotionalMicros();
+            default: return traderNotionalLimit.getCurrentGrossNotionalMicros();
+        }
+    }
+
+    private static long limit(DeskNotionalLimit deskNotionalLimit, LimitType limitType)
+    {
+        switch (limitType)
+        {
+            case BUY: return deskNotionalLimit.getBuyNotionalLimitMicros();
+            case SELL: return deskNotionalLimit.getSellNotionalLimitMicros();
+            default: return deskNotionalLimit.getGrossNotionalLimitMicros();
+        }
+    }
+
+    private static class Board
+    {
+        private final IndexedMaxHeap heap;
+        private volatile List<LeaderboardEntry> top = Collections.emptyList();
+        private boolean dirty;
+
+        private Board(int initialCapacity)
+        {
+            heap = new IndexedMaxHeap(initialCapacity);
+        }
+
+        private void update(UUID id, long current, long limit)
+        {
+            if (limit > 0)
+                heap.update(id, Notional.utilizationPercentage(current, limit));
+            else
+                heap.remove(id);
+            dirty = true;
+        }
+
+        private void remove(UUID id)
+        {
+            heap.remove(id);
+            dirty = true;
+        }
+
+        private void publish(List<LeaderboardEntry> entries)
+        {
+            top = Collections.unmodifiableList(entries);
+            dirty = false;
+        }
+    }
+}
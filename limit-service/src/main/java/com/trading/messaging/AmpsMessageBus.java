@@ -0,0 +1,117 @@
+package com.trading.messaging;
+
+import com.crankuptheamps.client.Client;
+import com.crankuptheamps.client.CommandId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "messaging.bus", havingValue = "amps", matchIfMissing = true)
+public class AmpsMessageBus implements MessageBus
+{
+    private static final Logger log = LoggerFactory.getLogger(AmpsMessageBus.class);
+    private static final long SUBSCRIBE_TIMEOUT_MS = 5000;
+    @Value("${amps.server.url}")
+    private String ampsServerUrl;
+    @Value("${amps.client.name}")
+    private String ampsClientName;
+    private Client ampsClient;
+    private final Map<String, CommandId> subscriptions = new ConcurrentHashMap<>();
+    private final Map<String, byte[]> topicBytes = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void initialize() throws Exception
+    {
+        try
+        {
+            ampsClient = new Client(ampsClientName + "-bus");
+            ampsClient.connect(ampsServerUrl);
+            ampsClient.logon();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-951: Failed to initialize AMPS client for message bus", e);
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        ampsClient.close();
+    }
+
+    @Override
+    public void publish(String topic, String message)
+    {
+        try
+        {
+            ampsClient.publish(topic, message);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-952: Failed to publish message to topic: {}", topic, e);
+            throw new IllegalStateException("Failed to publish message to topic: " + topic, e);
+        }
+    }
+
+    @Override
+    public void publish(String topic, byte[] message, int offset, int length)
+    {
+        try
+        {
+            byte[] topicName = topicBytes.computeIfAbsent(topic, name -> name.getBytes(StandardCharsets.UTF_8));
+            ampsClient.publish(topicName, 0, topicName.length, message, offset, length);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-952: Failed to publish message to topic: {}", topic, e);
+            throw new IllegalStateException("Failed to publish message to topic: " + topic, e);
+        }
+    }
+
+    @Override
+    public String subscribe(String topic, String filter, Consumer<String> handler)
+    {
+        try
+        {
+            CommandId commandId = ampsClient.subscribe(message -> handler.accept(message.getData()), topic, filter, SUBSCRIBE_TIMEOUT_MS);
+            String subscriptionId = UUID.randomUUID().toString();
+            subscriptions.put(subscriptionId, commandId);
+            log.info("Subscribed to topic: {} with filter: {}", topic, filter);
+            return subscriptionId;
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-953: Failed to subscribe to topic: {} with filter: {}", topic, filter, e);
+            throw new IllegalStateException("Failed to subscribe to topic: " + topic, e);
+        }
+    }
+
+    @Override
+    public void unsubscribe(String subscriptionId)
+    {
+        CommandId commandId = subscriptions.remove(subscriptionId);
+        if (commandId == null)
+            return;
+
+        try
+        {
+            ampsClient.unsubscribe(commandId);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-954: Failed to unsubscribe subscription: {}", subscriptionId, e);
+        }
+    }
+}
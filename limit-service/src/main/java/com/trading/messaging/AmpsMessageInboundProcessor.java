@@ -1,50 +1,44 @@
 package com.trading.messaging;
 
 import com.crankuptheamps.client.Client;
+import com.crankuptheamps.client.Field;
 import com.crankuptheamps.client.Message;
 import com.crankuptheamps.client.MessageHandler;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
-import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
-import com.trading.validation.OrderMessageValidator;
-import com.trading.validation.ValidationResult;
-import com.trading.model.Order;
-import com.trading.service.NotionalLimitService;
+import com.trading.warmup.EngineReadyEvent;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
-import org.slf4j.MDC;
-
-import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
-import java.util.Locale;
-import java.util.UUID;
 import org.springframework.beans.factory.annotation.Autowired;
 import javax.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "false", matchIfMissing = true)
 public class AmpsMessageInboundProcessor implements MessageHandler
 {
     private static final Logger log = LoggerFactory.getLogger(AmpsMessageInboundProcessor.class);
+    public static final String ORDERS_FILTER = "/actionEvent = 'SUBMIT_TO_EXCH' AND /state = 'ACCEPTED_BY_DESK'";
     @Value("${amps.server.url}")
     private String ampsServerUrl;
     @Value("${amps.client.name}")
     private String ampsClientName;
     @Value("${amps.topic.orders}")
     private String ordersTopic;
+    @Value("${amps.subscribe.timeout.ms}")
+    private long subscribeTimeoutMs;
+    @Value("${replication.role:none}")
+    private String replicationRole;
     @Autowired
-    private final NotionalLimitService notionalLimitService;
-
-    private ObjectMapper objectMapper;
-    @Autowired
-    private final OrderMessageValidator messageValidator;
+    private final OrderMessageProcessor orderMessageProcessor;
     private Client ampsClient;
-    
+    private boolean engineReady;
+    private boolean takingOver;
+    private boolean subscribed;
+
     @PostConstruct
     public void initialize() throws Exception
     {
@@ -53,16 +47,7 @@ public class AmpsMessageInboundProcessor implements MessageHandler
             ampsClient = new Client(ampsClientName);
             ampsClient.connect(ampsServerUrl);
             ampsClient.logon();
-            objectMapper = new ObjectMapper();
-            DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm:ss a", Locale.ENGLISH);
-            DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ENGLISH);
-            JavaTimeModule javaTimeModule = new JavaTimeModule();
-            javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(dateFormatter));
-            javaTimeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(timeFormatter));
-            objectMapper.registerModule(javaTimeModule);
-            for(Message message : (ampsClient.subscribe(ordersTopic, "/actionEvent = 'SUBMIT_TO_EXCH' AND /state = 'ACCEPTED_BY_DESK'")))
-                invoke(message);
-
+            log.info("Deferring subscription to: {} until the engine is ready", ordersTopic);
         }
         catch (Exception e)
         {
@@ -70,35 +55,51 @@ public class AmpsMessageInboundProcessor implements MessageHandler
             throw e;
         }
     }
-    
-    @Override
-    public void invoke(Message message)
+
+    @EventListener(EngineReadyEvent.class)
+    public synchronized void onEngineReady()
     {
-        String errorId = UUID.randomUUID().toString();
-        MDC.put("errorId", errorId);
-        
-        try
+        engineReady = true;
+        if ("standby".equals(replicationRole) && !takingOver)
         {
-            ValidationResult validationResult = messageValidator.validateMessage(message.getData());
-            
-            if (!validationResult.isValid())
-            {
-                log.error("ERR-008: Invalid message received: {}", validationResult.getErrorMessage());
-                return;
-            }
-
-            Order order = objectMapper.readValue(message.getData(), Order.class);
-            log.info("Received valid order message: {}", order);
-            notionalLimitService.processOrder(order);
-            
+            log.info("Standby mode, deferring subscription to: {} until promotion", ordersTopic);
+            return;
         }
-        catch (Exception e)
+
+        try
         {
-            log.error("ERR-009: Failed to process message", e);
+            subscribe();
         }
-        finally
+        catch (Exception e)
         {
-            MDC.remove("errorId");
+            log.error("ERR-027: Failed to subscribe to AMPS orders once the engine is ready", e);
         }
     }
-} 
\ No newline at end of file
+
+    // A promoted standby that is still warming up subscribes when the engine is ready.
+    public synchronized void takeOver() throws Exception
+    {
+        takingOver = true;
+        if (engineReady)
+            subscribe();
+        else
+            log.info("Promoted while warming up, deferring subscription to: {} until the engine is ready", ordersTopic);
+    }
+
+    private void subscribe() throws Exception
+    {
+        if (subscribed)
+            return;
+
+        log.info("Subscribing to orders topic: {}", ordersTopic);
+        ampsClient.subscribe(this, ordersTopic, ORDERS_FILTER, subscribeTimeoutMs);
+        subscribed = true;
+    }
+
+    @Override
+    public void invoke(Message message)
+    {
+        Field data = message.getDataRaw();
+        orderMessageProcessor.process(data.buffer, data.position, data.length);
+    }
+}
@@ -1,72 +1,121 @@
 package com.trading.messaging;
 
-import com.crankuptheamps.client.Client;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import javax.annotation.PostConstruct;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Component
+@RequiredArgsConstructor
 public class AmpsMessageOutboundProcessor
 {
     private static final Logger log = LoggerFactory.getLogger(AmpsMessageOutboundProcessor.class);
-    private Client ampsClient;
-    @Value("${amps.server.url}")
-    private String ampsServerUrl;
-    @Value("${amps.client.name}")
-    private String ampsClientName;
+    private static final int BUFFER_POOL_SIZE = 16;
+    private static final int BUFFER_INITIAL_CAPACITY = 1024;
+    private static final int BUFFER_MAX_RETAINED_CAPACITY = 64 * 1024;
+    @Autowired
+    private final MessageBus messageBus;
     @Value("${amps.topic.limit.breach}")
     private String limitBreachTopic;
     @Value("${amps.topic.desk.notional.update}")
     private String deskNotionalUpdateTopic;
     @Value("${amps.topic.trader.notional.update}")
     private String traderNotionalUpdateTopic;
+    @Value("${amps.topic.order.rejection}")
+    private String orderRejectionTopic;
+    @Value("${outbound.log.sample.interval}")
+    private long logSampleInterval;
+    private final MessageBufferPool bufferPool = new MessageBufferPool(BUFFER_POOL_SIZE, BUFFER_INITIAL_CAPACITY, BUFFER_MAX_RETAINED_CAPACITY);
+    private final PublishStats limitBreachStats = new PublishStats("limit breach");
+    private final PublishStats deskNotionalUpdateStats = new PublishStats("desk notional update");
+    private final PublishStats traderNotionalUpdateStats = new PublishStats("trader notional update");
+    private final PublishStats orderRejectionStats = new PublishStats("order rejection");
 
-    @PostConstruct
-    public void initialize() throws Exception
+    // Callers serialize into the buffer and hand it to one of the publish methods, which return it to the pool.
+    public MessageBuffer acquireBuffer()
     {
-        try
-        {
-            ampsClient = new Client(ampsClientName);
-            ampsClient.connect(ampsServerUrl);
-            ampsClient.logon();
-        }
-        catch (Exception e)
-        {
-            log.error("ERR-901: Failed to initialize AMPS client for AmpsOutboundProcessor", e);
-            throw e;
-        }
+        return bufferPool.acquire();
     }
-    public void publishLimitBreach(String breachMessage)
+
+    public void releaseBuffer(MessageBuffer message)
+    {
+        bufferPool.release(message);
+    }
+
+    public void publishLimitBreach(MessageBuffer breachMessage)
     {
         try
         {
-            ampsClient.publish(limitBreachTopic, breachMessage);
-            log.info("Published limit breach message: {}", breachMessage);
+            messageBus.publish(limitBreachTopic, breachMessage.bytes(), 0, breachMessage.length());
+            published(limitBreachStats, breachMessage);
         }
         catch (Exception e)
         {
             log.error("ERR-902: Failed to publish limit breach message: {}", breachMessage, e);
         }
+        finally
+        {
+            bufferPool.release(breachMessage);
+        }
     }
 
-    public void publishDeskNotionalUpdate(String notionalUpdateMessage)
+    public void publishDeskNotionalUpdate(MessageBuffer notionalUpdateMessage)
     {
         try {
-            ampsClient.publish(deskNotionalUpdateTopic, notionalUpdateMessage);
-            log.info("Published desk notional update message: {}", notionalUpdateMessage);
+            messageBus.publish(deskNotionalUpdateTopic, notionalUpdateMessage.bytes(), 0, notionalUpdateMessage.length());
+            published(deskNotionalUpdateStats, notionalUpdateMessage);
         } catch (Exception e) {
             log.error("ERR-903: Failed to publish desk notional update message: {}", notionalUpdateMessage, e);
+        } finally {
+            bufferPool.release(notionalUpdateMessage);
         }
     }
 
-    public void publishTraderNotionalUpdate(String notionalUpdateMessage) {
+    public void publishTraderNotionalUpdate(MessageBuffer notionalUpdateMessage) {
         try {
-            ampsClient.publish(traderNotionalUpdateTopic, notionalUpdateMessage);
-            log.info("Published trader notional update message: {}", notionalUpdateMessage);
+            messageBus.publish(traderNotionalUpdateTopic, notionalUpdateMessage.bytes(), 0, notionalUpdateMessage.length());
+            published(traderNotionalUpdateStats, notionalUpdateMessage);
         } catch (Exception e) {
             log.error("ERR-904: Failed to publish trader notional update message: {}", notionalUpdateMessage, e);
+        } finally {
+            bufferPool.release(notionalUpdateMessage);
+        }
+    }
+
+    public void publishOrderRejection(MessageBuffer rejectionMessage) {
+        try {
+            messageBus.publish(orderRejectionTopic, rejectionMessage.bytes(), 0, rejectionMessage.length());
+            published(orderRejectionStats, rejectionMessage);
+        } catch (Exception e) {
+            log.error("ERR-905: Failed to publish order rejection message: {}", rejectionMessage, e);
+        } finally {
+            bufferPool.release(rejectionMessage);
+        }
+    }
+
+    // Full payloads only at DEBUG; at INFO the first message and every sample interval after it log a running summary.
+    private void published(PublishStats stats, MessageBuffer message)
+    {
+        long messages = stats.messages.incrementAndGet();
+        long bytes = stats.bytes.addAndGet(message.length());
+        if (log.isDebugEnabled())
+            log.debug("Published {} message: {}", stats.description, message);
+        else if (messages == 1 || messages % logSampleInterval == 0)
+            log.info("Published {} {} messages totalling {} bytes, latest {} bytes", messages, stats.description, bytes, message.length());
+    }
+
+    private static class PublishStats
+    {
+        private final String description;
+        private final AtomicLong messages = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+
+        private PublishStats(String description)
+        {
+            this.description = description;
         }
     }
 }
@@ -0,0 +1,155 @@
+package com.trading.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// In-process stand-in for AMPS. Topics are shared JVM-wide so several application contexts can run as separate nodes in one process.
+@Component
+@ConditionalOnProperty(name = "messaging.bus", havingValue = "local")
+public class LocalMessageBus implements MessageBus
+{
+    private static final Logger log = LoggerFactory.getLogger(LocalMessageBus.class);
+    private static final Map<String, List<Subscriber>> TOPICS = new ConcurrentHashMap<>();
+    private static final Pattern EQUALS_CLAUSE = Pattern.compile("^(/[\\w/]+)\\s*=\\s*'([^']*)'$");
+    private static final Pattern IN_CLAUSE = Pattern.compile("^(/[\\w/]+)\\s+IN\\s*\\((.*)\\)$", Pattern.CASE_INSENSITIVE);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, Subscriber> subscriptions = new ConcurrentHashMap<>();
+
+    @Override
+    public void publish(String topic, String message)
+    {
+        for (Subscriber subscriber : TOPICS.getOrDefault(topic, List.of()))
+            subscriber.offer(message);
+    }
+
+    @Override
+    public String subscribe(String topic, String filter, Consumer<String> handler)
+    {
+        Subscriber subscriber = new Subscriber(UUID.randomUUID().toString(), compileFilter(filter), handler);
+        TOPICS.computeIfAbsent(topic, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        subscriptions.put(subscriber.id, subscriber);
+        log.info("Subscribed to local topic: {} with filter: {}", topic, filter);
+        return subscriber.id;
+    }
+
+    @Override
+    public void unsubscribe(String subscriptionId)
+    {
+        Subscriber subscriber = subscriptions.remove(subscriptionId);
+        if (subscriber == null)
+            return;
+
+        TOPICS.values().forEach(subscribers -> subscribers.remove(subscriber));
+        subscriber.executor.shutdown();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        new ArrayList<>(subscriptions.keySet()).forEach(this::unsubscribe);
+    }
+
+    private Predicate<String> compileFilter(String filter)
+    {
+        if (filter == null || filter.isBlank())
+            return message -> true;
+
+        List<Predicate<JsonNode>> clauses = new ArrayList<>();
+        for (String clause : filter.split("(?i)\\s+AND\\s+"))
+            clauses.add(compileClause(clause.trim()));
+
+        return message ->
+        {
+            try
+            {
+                JsonNode node = objectMapper.readTree(message);
+                return clauses.stream().allMatch(clause -> clause.test(node));
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-961: Failed to evaluate filter on local message", e);
+                return false;
+            }
+        };
+    }
+
+    private Predicate<JsonNode> compileClause(String clause)
+    {
+        Matcher equals = EQUALS_CLAUSE.matcher(clause);
+        if (equals.matches())
+        {
+            String path = equals.group(1);
+            String value = equals.group(2);
+            return node -> value.equals(node.at(path).asText());
+        }
+
+        Matcher in = IN_CLAUSE.matcher(clause);
+        if (in.matches())
+        {
+            String path = in.group(1);
+            Set<String> values = new HashSet<>();
+            Arrays.stream(in.group(2).split(",")).map(String::trim).filter(v -> v.length() >= 2).forEach(v -> values.add(v.substring(1, v.length() - 1)));
+            return node -> values.contains(node.at(path).asText());
+        }
+
+        log.error("ERR-962: Unsupported local filter clause: {}", clause);
+        throw new IllegalArgumentException("Unsupported local filter clause: " + clause);
+    }
+
+    private static class Subscriber
+    {
+        private final String id;
+        private final Predicate<String> filter;
+        private final Consumer<String> handler;
+        private final ExecutorService executor;
+
+        Subscriber(String id, Predicate<String> filter, Consumer<String> handler)
+        {
+            this.id = id;
+            this.filter = filter;
+            this.handler = handler;
+            this.executor = Executors.newSingleThreadExecutor(runnable ->
+            {
+                Thread thread = new Thread(runnable, "local-bus-" + id.substring(0, 8));
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        void offer(String message)
+        {
+            if (executor.isShutdown() || !filter.test(message))
+                return;
+
+            try
+            {
+                executor.execute(() -> handler.accept(message));
+            }
+            catch (RejectedExecutionException e)
+            {
+                log.debug("Dropped message for closed local subscription: {}", id);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.trading.messaging;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// Reusable UTF-8 payload that Jackson can serialize straight into, so an outbound message never becomes a String.
+public class MessageBuffer extends OutputStream
+{
+    private byte[] bytes;
+    private int length;
+
+    public MessageBuffer(int initialCapacity)
+    {
+        bytes = new byte[initialCapacity];
+    }
+
+    @Override
+    public void write(int b)
+    {
+        ensure(1);
+        bytes[length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] source, int offset, int count)
+    {
+        ensure(count);
+        System.arraycopy(source, offset, bytes, length, count);
+        length += count;
+    }
+
+    public byte[] bytes()
+    {
+        return bytes;
+    }
+
+    public int length()
+    {
+        return length;
+    }
+
+    public int capacity()
+    {
+        return bytes.length;
+    }
+
+    public void reset()
+    {
+        length = 0;
+    }
+
+    @Override
+    public String toString()
+    {
+        return new String(bytes, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private void ensure(int count)
+    {
+        if (length + count > bytes.length)
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + count));
+    }
+}
@@ -0,0 +1,44 @@
+package com.trading.messaging;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Lock-free pool of message buffers shared by the engine and ingress threads. An empty pool hands out a new buffer and a
+// full one drops the returned buffer, so a buffer lost to an exception is only garbage, never a leak.
+public class MessageBufferPool
+{
+    private final AtomicReferenceArray<MessageBuffer> slots;
+    private final int initialCapacity;
+    private final int maxRetainedCapacity;
+
+    public MessageBufferPool(int size, int initialCapacity, int maxRetainedCapacity)
+    {
+        this.slots = new AtomicReferenceArray<>(size);
+        this.initialCapacity = initialCapacity;
+        this.maxRetainedCapacity = maxRetainedCapacity;
+    }
+
+    public MessageBuffer acquire()
+    {
+        for (int slot = 0; slot < slots.length(); slot++)
+        {
+            MessageBuffer buffer = slots.get(slot);
+            if (buffer != null && slots.compareAndSet(slot, buffer, null))
+                return buffer;
+        }
+        return new MessageBuffer(initialCapacity);
+    }
+
+    // Buffers grown by an unusually large message are not kept, so the pool's footprint stays bounded.
+    public void release(MessageBuffer buffer)
+    {
+        if (buffer.capacity() > maxRetainedCapacity)
+            return;
+
+        buffer.reset();
+        for (int slot = 0; slot < slots.length(); slot++)
+        {
+            if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer))
+                return;
+        }
+    }
+}
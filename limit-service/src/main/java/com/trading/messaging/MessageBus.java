@@ -0,0 +1,18 @@
+package com.trading.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public interface MessageBus
+{
+    void publish(String topic, String message);
+
+    // UTF-8 payload; buses that can send bytes as they are override this to skip the String.
+    default void publish(String topic, byte[] message, int offset, int length)
+    {
+        publish(topic, new String(message, offset, length, StandardCharsets.UTF_8));
+    }
+
+    String subscribe(String topic, String filter, Consumer<String> handler);
+    void unsubscribe(String subscriptionId);
+}
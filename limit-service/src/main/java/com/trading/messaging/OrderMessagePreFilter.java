@@ -0,0 +1,185 @@
+package com.trading.messaging;
+
+import com.trading.model.Currency;
+import com.trading.service.OrderDedupSet;
+import com.trading.service.TradingPersistenceService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class OrderMessagePreFilter
+{
+    private static final Logger log = LoggerFactory.getLogger(OrderMessagePreFilter.class);
+    private static final byte[] OWNER_ID_KEY = key("ownerId");
+    private static final byte[] SETTLEMENT_CURRENCY_KEY = key("settlementCurrency");
+    private static final byte[] ORDER_ID_KEY = key("orderId");
+    private static final byte[] VERSION_KEY = key("version");
+    @Value("${ingress.prefilter.enabled}")
+    private boolean enabled;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final OrderDedupSet dedupSet;
+    private final LongAdder[] counters = new LongAdder[PreFilterVerdict.values().length];
+    private byte[][] supportedCurrencies;
+
+    @PostConstruct
+    public void initialize()
+    {
+        for (int i = 0; i < counters.length; i++)
+            counters[i] = new LongAdder();
+
+        Currency[] currencies = Currency.values();
+        supportedCurrencies = new byte[currencies.length][];
+        for (int i = 0; i < currencies.length; i++)
+            supportedCurrencies[i] = currencies[i].name().getBytes(StandardCharsets.US_ASCII);
+
+        log.info("Order message pre-filter {}", enabled ? "enabled" : "disabled");
+    }
+
+    public PreFilterVerdict filter(byte[] buffer, int offset, int length)
+    {
+        PreFilterVerdict verdict = scan(buffer, offset, offset + length);
+        counters[verdict.ordinal()].increment();
+        return verdict;
+    }
+
+    public Map<PreFilterVerdict, Long> getCounters()
+    {
+        Map<PreFilterVerdict, Long> snapshot = new EnumMap<>(PreFilterVerdict.class);
+        for (PreFilterVerdict verdict : PreFilterVerdict.values())
+            snapshot.put(verdict, counters[verdict.ordinal()].sum());
+        return snapshot;
+    }
+
+    private PreFilterVerdict scan(byte[] buffer, int offset, int end)
+    {
+        // Fields that are absent or not in the expected shape are let through for full validation to report.
+        if (enabled)
+        {
+            PreFilterVerdict verdict = scanRelevance(buffer, offset, end);
+            if (verdict != PreFilterVerdict.PASS)
+                return verdict;
+        }
+
+        int version = valueOf(buffer, offset, end, VERSION_KEY);
+        int orderId = valueOf(buffer, offset, end, ORDER_ID_KEY);
+        if (version >= 0 && orderId >= 0 && buffer[orderId] == '"')
+        {
+            int orderIdEnd = closingQuote(buffer, orderId + 1, end);
+            int versionValue = parseInt(buffer, version, end);
+            if (orderIdEnd > 0 && versionValue >= 0 && dedupSet.contains(buffer, orderId + 1, orderIdEnd - orderId - 1, versionValue))
+            {
+                log.warn("Dropped duplicate delivery of order: {} version: {}", new String(buffer, orderId + 1, orderIdEnd - orderId - 1, StandardCharsets.UTF_8), versionValue);
+                return PreFilterVerdict.DUPLICATE_VERSION;
+            }
+        }
+
+        return PreFilterVerdict.PASS;
+    }
+
+    private PreFilterVerdict scanRelevance(byte[] buffer, int offset, int end)
+    {
+        int owner = valueOf(buffer, offset, end, OWNER_ID_KEY);
+        if (owner >= 0 && buffer[owner] == '"')
+        {
+            int ownerEnd = closingQuote(buffer, owner + 1, end);
+            if (ownerEnd > 0 && !persistenceService.isKnownTraderUserId(new String(buffer, owner + 1, ownerEnd - owner - 1, StandardCharsets.UTF_8)))
+                return PreFilterVerdict.UNKNOWN_OWNER;
+        }
+
+        int currency = valueOf(buffer, offset, end, SETTLEMENT_CURRENCY_KEY);
+        if (currency >= 0 && buffer[currency] == '"')
+        {
+            int currencyEnd = closingQuote(buffer, currency + 1, end);
+            if (currencyEnd > 0 && !isSupportedCurrency(buffer, currency + 1, currencyEnd))
+                return PreFilterVerdict.UNSUPPORTED_CURRENCY;
+        }
+
+        return PreFilterVerdict.PASS;
+    }
+
+    private boolean isSupportedCurrency(byte[] buffer, int start, int end)
+    {
+        for (byte[] candidate : supportedCurrencies)
+        {
+            if (candidate.length == end - start && regionMatches(buffer, start, candidate))
+                return true;
+        }
+        return false;
+    }
+
+    private static int valueOf(byte[] buffer, int offset, int end, byte[] key)
+    {
+        int last = end - key.length;
+        for (int i = offset; i <= last; i++)
+        {
+            if (buffer[i] != '"' || !regionMatches(buffer, i, key))
+                continue;
+
+            int position = skipWhitespace(buffer, i + key.length, end);
+            if (position < end && buffer[position] == ':')
+            {
+                position = skipWhitespace(buffer, position + 1, end);
+                return position < end ? position : -1;
+            }
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(byte[] buffer, int position, int end)
+    {
+        while (position < end && (buffer[position] == ' ' || buffer[position] == '\t' || buffer[position] == '\r' || buffer[position] == '\n'))
+            position++;
+        return position;
+    }
+
+    private static int closingQuote(byte[] buffer, int position, int end)
+    {
+        for (int i = position; i < end; i++)
+        {
+            if (buffer[i] == '\\')
+                return -1;
+            if (buffer[i] == '"')
+                return i;
+        }
+        return -1;
+    }
+
+    private static int parseInt(byte[] buffer, int position, int end)
+    {
+        int value = 0;
+        int digits = 0;
+        while (position < end && buffer[position] >= '0' && buffer[position] <= '9' && digits < 9)
+        {
+            value = value * 10 + (buffer[position++] - '0');
+            digits++;
+        }
+        return digits == 0 ? -1 : value;
+    }
+
+    private static boolean regionMatches(byte[] buffer, int position, byte[] expected)
+    {
+        for (int i = 0; i < expected.length; i++)
+        {
+            if (buffer[position + i] != expected[i])
+                return false;
+        }
+        return true;
+    }
+
+    private static byte[] key(String name)
+    {
+        return ("\"" + name + "\"").getBytes(StandardCharsets.US_ASCII);
+    }
+}
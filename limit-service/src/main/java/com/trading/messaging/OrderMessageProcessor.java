@@ -0,0 +1,107 @@
+package com.trading.messaging;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.trading.model.Order;
+import com.trading.service.NotionalLimitService;
+import com.trading.validation.OrderMessageValidator;
+import com.trading.validation.ValidationResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class OrderMessageProcessor
+{
+    private static final Logger log = LoggerFactory.getLogger(OrderMessageProcessor.class);
+    @Autowired
+    private final NotionalLimitService notionalLimitService;
+    @Autowired
+    private final OrderMessageValidator messageValidator;
+    @Autowired
+    private final OrderMessagePreFilter preFilter;
+    private ObjectMapper objectMapper;
+
+    @PostConstruct
+    public void initialize()
+    {
+        objectMapper = new ObjectMapper();
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("h:mm:ss a", Locale.ENGLISH);
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ENGLISH);
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(dateFormatter));
+        javaTimeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(timeFormatter));
+        objectMapper.registerModule(javaTimeModule);
+    }
+
+    public void process(String messageData)
+    {
+        byte[] bytes = messageData.getBytes(StandardCharsets.UTF_8);
+        if (accept(bytes, 0, bytes.length))
+            parseAndProcess(messageData);
+    }
+
+    public void process(byte[] buffer, int offset, int length)
+    {
+        if (accept(buffer, offset, length))
+            parseAndProcess(new String(buffer, offset, length, StandardCharsets.UTF_8));
+    }
+
+    public Order decode(String messageData) throws IOException
+    {
+        return objectMapper.readValue(messageData, Order.class);
+    }
+
+    private boolean accept(byte[] buffer, int offset, int length)
+    {
+        PreFilterVerdict verdict = preFilter.filter(buffer, offset, length);
+        if (verdict == PreFilterVerdict.PASS)
+            return true;
+
+        log.debug("Dropped order message before parsing: {}", verdict);
+        return false;
+    }
+
+    private void parseAndProcess(String messageData)
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            ValidationResult validationResult = messageValidator.validateMessage(messageData);
+
+            if (!validationResult.isValid())
+            {
+                log.error("ERR-008: Invalid message received: {}", validationResult.getErrorMessage());
+                return;
+            }
+
+            Order order = decode(messageData);
+            log.info("Received valid order message: {}", order);
+            notionalLimitService.processOrder(order);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-009: Failed to process message", e);
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.trading.messaging;
+
+public enum PreFilterVerdict
+{
+    PASS,
+    UNKNOWN_OWNER,
+    UNSUPPORTED_CURRENCY,
+    DUPLICATE_VERSION;
+}
@@ -0,0 +1,13 @@
+package com.trading.model;
+
+public enum DecisionOutcome
+{
+    ACCEPTED,
+    SIDE_LIMIT_BREACH,
+    GROSS_LIMIT_BREACH,
+    SIDE_AND_GROSS_LIMIT_BREACH,
+    UNKNOWN_TRADER,
+    NO_TRADER_LIMIT,
+    UNKNOWN_DESK,
+    NO_DESK_LIMIT
+}
@@ -1,8 +1,11 @@
 package com.trading.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 import javax.validation.constraints.Min;
 import java.util.UUID;
 
@@ -11,58 +14,124 @@ import java.util.UUID;
 public class DeskNotionalLimit {
     @Id
     private UUID deskId;
+    @JsonIgnore
+    @Field("buyNotionalLimit")
+    @ValueConverter(UsdMicrosConverter.class)
     @Min(value = 0, message = "Buy notional limit must be non-negative")
-    private double buyNotionalLimit;
+    private long buyNotionalLimitMicros;
+    @JsonIgnore
+    @Field("sellNotionalLimit")
+    @ValueConverter(UsdMicrosConverter.class)
     @Min(value = 0, message = "Sell notional limit must be non-negative")
-    private double sellNotionalLimit;
+    private long sellNotionalLimitMicros;
+    @JsonIgnore
+    @Field("grossNotionalLimit")
+    @ValueConverter(UsdMicrosConverter.class)
     @Min(value = 0, message = "Gross notional limit must be non-negative")
-    private double grossNotionalLimit;
-    private double currentBuyNotional;
-    private double currentSellNotional;
-    private double currentGrossNotional;
+    private long grossNotionalLimitMicros;
+    @JsonIgnore
+    @Field("currentBuyNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentBuyNotionalMicros;
+    @JsonIgnore
+    @Field("currentSellNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentSellNotionalMicros;
+    @JsonIgnore
+    @Field("currentGrossNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentGrossNotionalMicros;
 
     public DeskNotionalLimit()
     {
         this.deskId = UUID.randomUUID();
-        this.buyNotionalLimit = 0.0;
-        this.sellNotionalLimit = 0.0;
-        this.grossNotionalLimit = 0.0;
-        this.currentBuyNotional = 0.0;
-        this.currentSellNotional = 0.0;
-        this.currentGrossNotional = 0.0;
     }
 
     public DeskNotionalLimit(UUID deskId)
     {
         this.deskId = deskId;
-        this.buyNotionalLimit = 0.0;
-        this.sellNotionalLimit = 0.0;
-        this.grossNotionalLimit = 0.0;
-        this.currentBuyNotional = 0.0;
-        this.currentSellNotional = 0.0;
-        this.currentGrossNotional = 0.0;
     }
 
     public DeskNotionalLimit(UUID deskId, double buyNotionalLimit, double sellNotionalLimit, double grossNotionalLimit)
     {
         this.deskId = deskId;
-        this.buyNotionalLimit = buyNotionalLimit;
-        this.sellNotionalLimit = sellNotionalLimit;
-        this.grossNotionalLimit = grossNotionalLimit;
+        this.buyNotionalLimitMicros = Notional.fromUsd(buyNotionalLimit);
+        this.sellNotionalLimitMicros = Notional.fromUsd(sellNotionalLimit);
+        this.grossNotionalLimitMicros = Notional.fromUsd(grossNotionalLimit);
     }
-    
+
+    public double getBuyNotionalLimit()
+    {
+        return Notional.toUsd(buyNotionalLimitMicros);
+    }
+
+    public void setBuyNotionalLimit(double buyNotionalLimit)
+    {
+        this.buyNotionalLimitMicros = Notional.fromUsd(buyNotionalLimit);
+    }
+
+    public double getSellNotionalLimit()
+    {
+        return Notional.toUsd(sellNotionalLimitMicros);
+    }
+
+    public void setSellNotionalLimit(double sellNotionalLimit)
+    {
+        this.sellNotionalLimitMicros = Notional.fromUsd(sellNotionalLimit);
+    }
+
+    public double getGrossNotionalLimit()
+    {
+        return Notional.toUsd(grossNotionalLimitMicros);
+    }
+
+    public void setGrossNotionalLimit(double grossNotionalLimit)
+    {
+        this.grossNotionalLimitMicros = Notional.fromUsd(grossNotionalLimit);
+    }
+
+    public double getCurrentBuyNotional()
+    {
+        return Notional.toUsd(currentBuyNotionalMicros);
+    }
+
+    public void setCurrentBuyNotional(double currentBuyNotional)
+    {
+        this.currentBuyNotionalMicros = Notional.fromUsd(currentBuyNotional);
+    }
+
+    public double getCurrentSellNotional()
+    {
+        return Notional.toUsd(currentSellNotionalMicros);
+    }
+
+    public void setCurrentSellNotional(double currentSellNotional)
+    {
+        this.currentSellNotionalMicros = Notional.fromUsd(currentSellNotional);
+    }
+
+    public double getCurrentGrossNotional()
+    {
+        return Notional.toUsd(currentGrossNotionalMicros);
+    }
+
+    public void setCurrentGrossNotional(double currentGrossNotional)
+    {
+        this.currentGrossNotionalMicros = Notional.fromUsd(currentGrossNotional);
+    }
+
     public double getBuyUtilizationPercentage()
     {
-        return (currentBuyNotional / buyNotionalLimit) * 100;
+        return Notional.utilizationPercentage(currentBuyNotionalMicros, buyNotionalLimitMicros);
     }
-    
+
     public double getSellUtilizationPercentage()
     {
-        return (currentSellNotional / sellNotionalLimit) * 100;
+        return Notional.utilizationPercentage(currentSellNotionalMicros, sellNotionalLimitMicros);
     }
-    
+
     public double getGrossUtilizationPercentage()
     {
-        return (currentGrossNotional / grossNotionalLimit) * 100;
+        return Notional.utilizationPercentage(currentGrossNotionalMicros, grossNotionalLimitMicros);
     }
-} 
\ No newline at end of file
+}
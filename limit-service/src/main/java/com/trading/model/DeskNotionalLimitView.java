@@ -0,0 +1,119 @@
+package com.trading.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+
+public final class DeskNotionalLimitView
+{
+    private final UUID deskId;
+    private final long version;
+    private final long buyNotionalLimitMicros;
+    private final long sellNotionalLimitMicros;
+    private final long grossNotionalLimitMicros;
+    private final long currentBuyNotionalMicros;
+    private final long currentSellNotionalMicros;
+    private final long currentGrossNotionalMicros;
+
+    public DeskNotionalLimitView(DeskNotionalLimit deskNotionalLimit, long version)
+    {
+        this.deskId = deskNotionalLimit.getDeskId();
+        this.version = version;
+        this.buyNotionalLimitMicros = deskNotionalLimit.getBuyNotionalLimitMicros();
+        this.sellNotionalLimitMicros = deskNotionalLimit.getSellNotionalLimitMicros();
+        this.grossNotionalLimitMicros = deskNotionalLimit.getGrossNotionalLimitMicros();
+        this.currentBuyNotionalMicros = deskNotionalLimit.getCurrentBuyNotionalMicros();
+        this.currentSellNotionalMicros = deskNotionalLimit.getCurrentSellNotionalMicros();
+        this.currentGrossNotionalMicros = deskNotionalLimit.getCurrentGrossNotionalMicros();
+    }
+
+    public UUID getDeskId()
+    {
+        return deskId;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public double getBuyNotionalLimit()
+    {
+        return Notional.toUsd(buyNotionalLimitMicros);
+    }
+
+    public double getSellNotionalLimit()
+    {
+        return Notional.toUsd(sellNotionalLimitMicros);
+    }
+
+    public double getGrossNotionalLimit()
+    {
+        return Notional.toUsd(grossNotionalLimitMicros);
+    }
+
+    public double getCurrentBuyNotional()
+    {
+        return Notional.toUsd(currentBuyNotionalMicros);
+    }
+
+    public double getCurrentSellNotional()
+    {
+        return Notional.toUsd(currentSellNotionalMicros);
+    }
+
+    public double getCurrentGrossNotional()
+    {
+        return Notional.toUsd(currentGrossNotionalMicros);
+    }
+
+    public double getBuyUtilizationPercentage()
+    {
+        return Notional.utilizationPercentage(currentBuyNotionalMicros, buyNotionalLimitMicros);
+    }
+
+    public double getSellUtilizationPercentage()
+    {
+        return Notional.utilizationPercentage(currentSellNotionalMicros, sellNotionalLimitMicros);
+    }
+
+    public double getGrossUtilizationPercentage()
+    {
+        return Notional.utilizationPercentage(currentGrossNotionalMicros, grossNotionalLimitMicros);
+    }
+
+    @JsonIgnore
+    public long getBuyNotionalLimitMicros()
+    {
+        return buyNotionalLimitMicros;
+    }
+
+    @JsonIgnore
+    public long getSellNotionalLimitMicros()
+    {
+        return sellNotionalLimitMicros;
+    }
+
+    @JsonIgnore
+    public long getGrossNotionalLimitMicros()
+    {
+        return grossNotionalLimitMicros;
+    }
+
+    @JsonIgnore
+    public long getCurrentBuyNotionalMicros()
+    {
+        return currentBuyNotionalMicros;
+    }
+
+    @JsonIgnore
+    public long getCurrentSellNotionalMicros()
+    {
+        return currentSellNotionalMicros;
+    }
+
+    @JsonIgnore
+    public long getCurrentGrossNotionalMicros()
+    {
+        return currentGrossNotionalMicros;
+    }
+}
@@ -0,0 +1,50 @@
+package com.trading.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Current notionals of one desk and its traders, captured on the engine thread by a desk snapshot command so it sits
+// between the orders already in the ring and those behind it.
+@Data
+@NoArgsConstructor
+public class DeskSnapshot
+{
+    private UUID deskId;
+    private long sequence;
+    private long currentBuyNotionalMicros;
+    private long currentSellNotionalMicros;
+    private long currentGrossNotionalMicros;
+    private List<TraderSnapshot> traders = new ArrayList<>();
+
+    public DeskSnapshot(UUID deskId)
+    {
+        this.deskId = deskId;
+    }
+
+    public void capture(long sequence, DeskNotionalLimit deskNotionalLimit, Collection<TraderNotionalLimit> traderNotionalLimits)
+    {
+        this.sequence = sequence;
+        currentBuyNotionalMicros = deskNotionalLimit.getCurrentBuyNotionalMicros();
+        currentSellNotionalMicros = deskNotionalLimit.getCurrentSellNotionalMicros();
+        currentGrossNotionalMicros = deskNotionalLimit.getCurrentGrossNotionalMicros();
+        traders.clear();
+        traderNotionalLimits.forEach(trader -> traders.add(new TraderSnapshot(trader.getTraderId(), trader.getCurrentBuyNotionalMicros(),
+                trader.getCurrentSellNotionalMicros(), trader.getCurrentGrossNotionalMicros())));
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TraderSnapshot
+    {
+        private UUID traderId;
+        private long currentBuyNotionalMicros;
+        private long currentSellNotionalMicros;
+        private long currentGrossNotionalMicros;
+    }
+}
@@ -0,0 +1,20 @@
+package com.trading.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+// The engine's verdict on one order. A single instance is refilled for every order, so listeners copy what they keep.
+@Data
+public class LimitDecision
+{
+    private Order order;
+    private UUID traderId;
+    private UUID deskId;
+    private long notionalUsdMicros;
+    private double sideUtilisationBefore;
+    private double sideUtilisationAfter;
+    private double grossUtilisationBefore;
+    private double grossUtilisationAfter;
+    private DecisionOutcome outcome;
+    private long latencyNanos;
+}
@@ -0,0 +1,8 @@
+package com.trading.model;
+
+public enum LimitType
+{
+    BUY,
+    SELL,
+    GROSS;
+}
@@ -0,0 +1,46 @@
+package com.trading.model;
+
+public final class Notional
+{
+    public static final long SCALE = 1_000_000L;
+    private static final long CENTS_DIVISOR = SCALE / 100;
+
+    private Notional()
+    {
+    }
+
+    public static long fromUsd(double usd)
+    {
+        return Math.round(usd * SCALE);
+    }
+
+    public static double toUsd(long micros)
+    {
+        return (double) micros / SCALE;
+    }
+
+    public static double toUsd2dp(long micros)
+    {
+        return Math.round((double) micros / CENTS_DIVISOR) / 100.0;
+    }
+
+    public static double round2dp(double value)
+    {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    public static double utilizationPercentage(long current, long limit)
+    {
+        return ((double) current / limit) * 100;
+    }
+
+    // Compares the 128-bit products, current * 100 overflows a long above about $92bn in micros.
+    public static boolean exceedsPercentage(long current, long limit, int percentage)
+    {
+        long currentHigh = Math.multiplyHigh(current, 100);
+        long limitHigh = Math.multiplyHigh(limit, percentage);
+        if (currentHigh != limitHigh)
+            return currentHigh > limitHigh;
+        return Long.compareUnsigned(current * 100, limit * percentage) > 0;
+    }
+}
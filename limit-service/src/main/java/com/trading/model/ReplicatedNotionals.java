@@ -0,0 +1,19 @@
+package com.trading.model;
+
+import lombok.Data;
+import java.util.UUID;
+
+// Current notionals of a desk and one of its traders as the primary replicated them, applied by the standby's engine.
+// Either id may be null when the frame carries only the other.
+@Data
+public class ReplicatedNotionals
+{
+    private UUID deskId;
+    private long deskBuyNotionalMicros;
+    private long deskSellNotionalMicros;
+    private long deskGrossNotionalMicros;
+    private UUID traderId;
+    private long traderBuyNotionalMicros;
+    private long traderSellNotionalMicros;
+    private long traderGrossNotionalMicros;
+}
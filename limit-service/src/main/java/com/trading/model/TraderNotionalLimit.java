@@ -1,9 +1,12 @@
 package com.trading.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.convert.ValueConverter;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
 import java.util.UUID;
 
 @Data
@@ -12,23 +15,56 @@ import java.util.UUID;
 public class TraderNotionalLimit {
     @Id
     private UUID traderId;
-    private double currentBuyNotional;
-    private double currentSellNotional;
-    private double currentGrossNotional;
+    @JsonIgnore
+    @Field("currentBuyNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentBuyNotionalMicros;
+    @JsonIgnore
+    @Field("currentSellNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentSellNotionalMicros;
+    @JsonIgnore
+    @Field("currentGrossNotional")
+    @ValueConverter(UsdMicrosConverter.class)
+    private long currentGrossNotionalMicros;
 
     public TraderNotionalLimit(UUID traderId)
     {
         this.traderId = traderId;
-        this.currentBuyNotional = 0.0;
-        this.currentSellNotional = 0.0;
-        this.currentGrossNotional = 0.0;
     }
 
     public TraderNotionalLimit(String name, UUID deskId)
     {
         this.traderId = UUID.randomUUID();
-        this.currentBuyNotional = 0.0;
-        this.currentSellNotional = 0.0;
-        this.currentGrossNotional = 0.0;
     }
-}
\ No newline at end of file
+
+    public double getCurrentBuyNotional()
+    {
+        return Notional.toUsd(currentBuyNotionalMicros);
+    }
+
+    public void setCurrentBuyNotional(double currentBuyNotional)
+    {
+        this.currentBuyNotionalMicros = Notional.fromUsd(currentBuyNotional);
+    }
+
+    public double getCurrentSellNotional()
+    {
+        return Notional.toUsd(currentSellNotionalMicros);
+    }
+
+    public void setCurrentSellNotional(double currentSellNotional)
+    {
+        this.currentSellNotionalMicros = Notional.fromUsd(currentSellNotional);
+    }
+
+    public double getCurrentGrossNotional()
+    {
+        return Notional.toUsd(currentGrossNotionalMicros);
+    }
+
+    public void setCurrentGrossNotional(double currentGrossNotional)
+    {
+        this.currentGrossNotionalMicros = Notional.fromUsd(currentGrossNotional);
+    }
+}
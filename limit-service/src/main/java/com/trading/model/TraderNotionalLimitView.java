@@ -0,0 +1,65 @@
+package com.trading.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.util.UUID;
+
+public final class TraderNotionalLimitView
+{
+    private final UUID traderId;
+    private final long version;
+    private final long currentBuyNotionalMicros;
+    private final long currentSellNotionalMicros;
+    private final long currentGrossNotionalMicros;
+
+    public TraderNotionalLimitView(TraderNotionalLimit traderNotionalLimit, long version)
+    {
+        this.traderId = traderNotionalLimit.getTraderId();
+        this.version = version;
+        this.currentBuyNotionalMicros = traderNotionalLimit.getCurrentBuyNotionalMicros();
+        this.currentSellNotionalMicros = traderNotionalLimit.getCurrentSellNotionalMicros();
+        this.currentGrossNotionalMicros = traderNotionalLimit.getCurrentGrossNotionalMicros();
+    }
+
+    public UUID getTraderId()
+    {
+        return traderId;
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public double getCurrentBuyNotional()
+    {
+        return Notional.toUsd(currentBuyNotionalMicros);
+    }
+
+    public double getCurrentSellNotional()
+    {
+        return Notional.toUsd(currentSellNotionalMicros);
+    }
+
+    public double getCurrentGrossNotional()
+    {
+        return Notional.toUsd(currentGrossNotionalMicros);
+    }
+
+    @JsonIgnore
+    public long getCurrentBuyNotionalMicros()
+    {
+        return currentBuyNotionalMicros;
+    }
+
+    @JsonIgnore
+    public long getCurrentSellNotionalMicros()
+    {
+        return currentSellNotionalMicros;
+    }
+
+    @JsonIgnore
+    public long getCurrentGrossNotionalMicros()
+    {
+        return currentGrossNotionalMicros;
+    }
+}
@@ -0,0 +1,19 @@
+package com.trading.model;
+
+import org.springframework.data.mongodb.core.convert.MongoConversionContext;
+import org.springframework.data.mongodb.core.convert.MongoValueConverter;
+
+public class UsdMicrosConverter implements MongoValueConverter<Long, Number>
+{
+    @Override
+    public Long read(Number value, MongoConversionContext context)
+    {
+        return Notional.fromUsd(value.doubleValue());
+    }
+
+    @Override
+    public Number write(Long value, MongoConversionContext context)
+    {
+        return Notional.toUsd(value);
+    }
+}
@@ -0,0 +1,48 @@
+package com.trading.model;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Filled in on the engine thread by a rollover command, immediately before the current notionals are zeroed, or by a
+// book snapshot command between two orders.
+public final class UtilisationSnapshot
+{
+    private final LocalDate tradeDate;
+    private final List<DeskNotionalLimitView> desks = new ArrayList<>();
+    private final List<TraderNotionalLimitView> traders = new ArrayList<>();
+    private long sequence;
+
+    public UtilisationSnapshot(LocalDate tradeDate)
+    {
+        this.tradeDate = tradeDate;
+    }
+
+    public void capture(long sequence, Collection<DeskNotionalLimit> deskNotionalLimits, Collection<TraderNotionalLimit> traderNotionalLimits)
+    {
+        this.sequence = sequence;
+        deskNotionalLimits.forEach(desk -> desks.add(new DeskNotionalLimitView(desk, sequence)));
+        traderNotionalLimits.forEach(trader -> traders.add(new TraderNotionalLimitView(trader, sequence)));
+    }
+
+    public LocalDate getTradeDate()
+    {
+        return tradeDate;
+    }
+
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    public List<DeskNotionalLimitView> getDesks()
+    {
+        return desks;
+    }
+
+    public List<TraderNotionalLimitView> getTraders()
+    {
+        return traders;
+    }
+}
@@ -0,0 +1,117 @@
+package com.trading.replication;
+
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.trading.model.ReplicatedNotionals;
+import com.trading.service.disruptor.CommandEvent;
+import com.trading.service.disruptor.CommandType;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Every frame has the same length: type, engine sequence, a desk slot and a trader slot of an id and three longs each.
+// Update frames carry current notionals, desk limit frames carry the three limits in the desk slot.
+public final class ReplicationFrame
+{
+    public static final byte TYPE_UPDATE = 1;
+    public static final byte TYPE_HEARTBEAT = 2;
+    public static final byte TYPE_DESK_LIMIT = 3;
+    public static final byte TYPE_DESK_LIMIT_REMOVED = 4;
+    public static final byte TYPE_TRADER_LIMIT = 5;
+    public static final byte TYPE_TRADER_LIMIT_REMOVED = 6;
+    public static final byte TYPE_RESET = 7;
+    public static final int LENGTH = 1 + Long.BYTES + 16 + 3 * Long.BYTES + 16 + 3 * Long.BYTES;
+    // Decodes the desk and trader slots of an update frame, the buffer positioned just after its sequence, into the event.
+    public static final EventTranslatorOneArg<CommandEvent, ByteBuffer> UPDATE_TRANSLATOR = (event, sequence, buffer) ->
+    {
+        event.clear();
+        event.setType(CommandType.REPLICATED_UPDATE);
+        ReplicatedNotionals notionals = event.getReplicatedNotionals();
+        notionals.setDeskId(getUuid(buffer));
+        notionals.setDeskBuyNotionalMicros(buffer.getLong());
+        notionals.setDeskSellNotionalMicros(buffer.getLong());
+        notionals.setDeskGrossNotionalMicros(buffer.getLong());
+        notionals.setTraderId(getUuid(buffer));
+        notionals.setTraderBuyNotionalMicros(buffer.getLong());
+        notionals.setTraderSellNotionalMicros(buffer.getLong());
+        notionals.setTraderGrossNotionalMicros(buffer.getLong());
+    };
+
+    private ReplicationFrame()
+    {
+    }
+
+    public static void encodeHeartbeat(ByteBuffer buffer, long sequence)
+    {
+        encodeControl(buffer, TYPE_HEARTBEAT, sequence);
+    }
+
+    public static void encodeReset(ByteBuffer buffer, long sequence)
+    {
+        encodeControl(buffer, TYPE_RESET, sequence);
+    }
+
+    public static void encodeUpdate(ByteBuffer buffer, long sequence, UUID deskId, long deskBuy, long deskSell, long deskGross,
+                                    UUID traderId, long traderBuy, long traderSell, long traderGross)
+    {
+        encode(buffer, TYPE_UPDATE, sequence, deskId, deskBuy, deskSell, deskGross, traderId, traderBuy, traderSell, traderGross);
+    }
+
+    public static void encodeDeskLimit(ByteBuffer buffer, long sequence, UUID deskId, long buyLimit, long sellLimit, long grossLimit)
+    {
+        encode(buffer, TYPE_DESK_LIMIT, sequence, deskId, buyLimit, sellLimit, grossLimit, null, 0, 0, 0);
+    }
+
+    public static void encodeDeskLimitRemoved(ByteBuffer buffer, long sequence, UUID deskId)
+    {
+        encode(buffer, TYPE_DESK_LIMIT_REMOVED, sequence, deskId, 0, 0, 0, null, 0, 0, 0);
+    }
+
+    public static void encodeTraderLimit(ByteBuffer buffer, long sequence, UUID traderId, long traderBuy, long traderSell, long traderGross)
+    {
+        encode(buffer, TYPE_TRADER_LIMIT, sequence, null, 0, 0, 0, traderId, traderBuy, traderSell, traderGross);
+    }
+
+    public static void encodeTraderLimitRemoved(ByteBuffer buffer, long sequence, UUID traderId)
+    {
+        encode(buffer, TYPE_TRADER_LIMIT_REMOVED, sequence, null, 0, 0, 0, traderId, 0, 0, 0);
+    }
+
+    public static UUID getUuid(ByteBuffer buffer)
+    {
+        long mostSignificantBits = buffer.getLong();
+        long leastSignificantBits = buffer.getLong();
+        return (mostSignificantBits == 0 && leastSignificantBits == 0) ? null : new UUID(mostSignificantBits, leastSignificantBits);
+    }
+
+    private static void encodeControl(ByteBuffer buffer, byte type, long sequence)
+    {
+        buffer.clear();
+        buffer.put(type);
+        buffer.putLong(sequence);
+        while (buffer.position() < LENGTH)
+            buffer.put((byte) 0);
+        buffer.flip();
+    }
+
+    private static void encode(ByteBuffer buffer, byte type, long sequence, UUID deskId, long desk1, long desk2, long desk3,
+                               UUID traderId, long trader1, long trader2, long trader3)
+    {
+        buffer.clear();
+        buffer.put(type);
+        buffer.putLong(sequence);
+        putUuid(buffer, deskId);
+        buffer.putLong(desk1);
+        buffer.putLong(desk2);
+        buffer.putLong(desk3);
+        putUuid(buffer, traderId);
+        buffer.putLong(trader1);
+        buffer.putLong(trader2);
+        buffer.putLong(trader3);
+        buffer.flip();
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid)
+    {
+        buffer.putLong(uuid == null ? 0 : uuid.getMostSignificantBits());
+        buffer.putLong(uuid == null ? 0 : uuid.getLeastSignificantBits());
+    }
+}
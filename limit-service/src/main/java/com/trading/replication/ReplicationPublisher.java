@@ -0,0 +1,461 @@
+package com.trading.replication;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.InsufficientCapacityException;
+import com.lmax.disruptor.RingBuffer;
+import com.lmax.disruptor.TimeoutBlockingWaitStrategy;
+import com.lmax.disruptor.TimeoutHandler;
+import com.lmax.disruptor.dsl.Disruptor;
+import com.lmax.disruptor.dsl.ProducerType;
+import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.TraderNotionalLimitView;
+import com.trading.model.UtilisationSnapshot;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.DisruptorService;
+import com.trading.service.disruptor.LimitEngineListener;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Frames are stamped with the engine sequence that produced them. A standby is sent a book snapshot captured by an engine
+// command, queued in the frame ring as a marker, so it receives exactly the frames that follow the snapshot. The engine thread
+// never waits on the frame ring: a frame or marker that does not fit is dropped and the standbys are resynced from a fresh
+// snapshot once there is room, at most once per resync interval. Standby sockets are non-blocking and a standby whose writes
+// make no progress for the stall timeout is disconnected rather than waited on.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "replication.role", havingValue = "primary")
+public class ReplicationPublisher implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(ReplicationPublisher.class);
+    private static final long STALL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    @Value("${replication.port}")
+    private int port;
+    @Value("${replication.heartbeat.interval.ms}")
+    private long heartbeatIntervalMs;
+    @Value("${replication.buffer.size}")
+    private int bufferSize;
+    @Value("${replication.write.stall.timeout.ms}")
+    private long writeStallTimeoutMs;
+    @Value("${replication.resync.min.interval.ms}")
+    private long resyncMinIntervalMs;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final DisruptorService disruptorService;
+    private final List<SocketChannel> standbys = new CopyOnWriteArrayList<>();
+    private final Queue<SocketChannel> pendingStandbys = new ConcurrentLinkedQueue<>();
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final AtomicBoolean snapshotRequested = new AtomicBoolean();
+    private boolean resyncRequired;
+    private long lastResyncNanos;
+    private volatile long writtenSequence;
+    private volatile long appliedSequence;
+    private ServerSocketChannel serverChannel;
+    private Disruptor<FrameEvent> disruptor;
+    private RingBuffer<FrameEvent> ringBuffer;
+    private Thread acceptorThread;
+
+    @PostConstruct
+    public void initialize() throws IOException
+    {
+        disruptor = new Disruptor<>(FrameEvent::new, bufferSize, DaemonThreadFactory.INSTANCE, ProducerType.SINGLE,
+                new TimeoutBlockingWaitStrategy(heartbeatIntervalMs, TimeUnit.MILLISECONDS));
+        disruptor.handleEventsWith(new FrameWriter());
+        ringBuffer = disruptor.start();
+
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        acceptorThread = new Thread(this::acceptStandbys, "replication-acceptor");
+        acceptorThread.setDaemon(true);
+        acceptorThread.start();
+        log.info("Replication primary listening for standbys on port: {}", port);
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException
+    {
+        serverChannel.close();
+        disruptor.shutdown();
+        for (SocketChannel standby : standbys)
+            standby.close();
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeUpdate(ringBuffer.get(slot).buffer, sequence,
+                deskNotionalLimit.getDeskId(), deskNotionalLimit.getCurrentBuyNotionalMicros(), deskNotionalLimit.getCurrentSellNotionalMicros(), deskNotionalLimit.getCurrentGrossNotionalMicros(),
+                traderNotionalLimit.getTraderId(), traderNotionalLimit.getCurrentBuyNotionalMicros(), traderNotionalLimit.getCurrentSellNotionalMicros(), traderNotionalLimit.getCurrentGrossNotionalMicros());
+        ringBuffer.publish(slot);
+    }
+
+    @Override
+    public void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
+        {
+            long slot = claim(sequence);
+            if (slot < 0)
+                return;
+
+            ReplicationFrame.encodeDeskLimit(ringBuffer.get(slot).buffer, sequence, deskNotionalLimit.getDeskId(),
+                    deskNotionalLimit.getBuyNotionalLimitMicros(), deskNotionalLimit.getSellNotionalLimitMicros(), deskNotionalLimit.getGrossNotionalLimitMicros());
+            ringBuffer.publish(slot);
+        }
+    }
+
+    @Override
+    public void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeDeskLimitRemoved(ringBuffer.get(slot).buffer, sequence, deskId);
+        ringBuffer.publish(slot);
+    }
+
+    @Override
+    public void onTraderLimitApplied(long sequence, TraderNotionalLimit traderNotionalLimit)
+    {
+        publishTraderLimit(sequence, traderNotionalLimit);
+    }
+
+    @Override
+    public void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeTraderLimitRemoved(ringBuffer.get(slot).buffer, sequence, traderId);
+        ringBuffer.publish(slot);
+    }
+
+    @Override
+    public void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeUpdate(ringBuffer.get(slot).buffer, sequence,
+                deskNotionalLimit.getDeskId(), deskNotionalLimit.getCurrentBuyNotionalMicros(), deskNotionalLimit.getCurrentSellNotionalMicros(), deskNotionalLimit.getCurrentGrossNotionalMicros(),
+                null, 0, 0, 0);
+        ringBuffer.publish(slot);
+        for (TraderNotionalLimit traderNotionalLimit : traderNotionalLimits)
+            publishTraderLimit(sequence, traderNotionalLimit);
+    }
+
+    @Override
+    public void onReset(long sequence)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeReset(ringBuffer.get(slot).buffer, sequence);
+        ringBuffer.publish(slot);
+    }
+
+    @Override
+    public void onBookSnapshot(long sequence, UtilisationSnapshot snapshot)
+    {
+        // Only the snapshot this publisher asked for. A marker that does not fit turns into a resync, which admits the
+        // pending standbys along with the rest.
+        if (!snapshotRequested.compareAndSet(true, false))
+            return;
+
+        try
+        {
+            long slot = ringBuffer.tryNext();
+            ringBuffer.get(slot).snapshot = snapshot;
+            ringBuffer.publish(slot);
+        }
+        catch (InsufficientCapacityException e)
+        {
+            resyncRequired = true;
+        }
+    }
+
+    // After an overflow the engine queues a fresh snapshot of its own, at the end of a batch so it falls between two orders.
+    // The whole book is captured on the engine thread, so a ring that stays full is retried at the resync interval rather
+    // than on every batch.
+    @Override
+    public void onEndOfBatch(long sequence)
+    {
+        if (!resyncRequired)
+            return;
+
+        long now = System.nanoTime();
+        if (lastResyncNanos != 0 && now - lastResyncNanos < TimeUnit.MILLISECONDS.toNanos(resyncMinIntervalMs))
+            return;
+
+        long slot;
+        try
+        {
+            slot = ringBuffer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            lastResyncNanos = now;
+            return;
+        }
+
+        UtilisationSnapshot snapshot = new UtilisationSnapshot(LocalDate.now());
+        snapshot.capture(sequence, persistenceService.getAllDeskNotionalLimits(), persistenceService.getAllTraderNotionalLimits());
+        FrameEvent event = ringBuffer.get(slot);
+        event.snapshot = snapshot;
+        event.resync = true;
+        ringBuffer.publish(slot);
+        resyncRequired = false;
+        lastResyncNanos = now;
+    }
+
+    private void publishTraderLimit(long sequence, TraderNotionalLimit traderNotionalLimit)
+    {
+        long slot = claim(sequence);
+        if (slot < 0)
+            return;
+
+        ReplicationFrame.encodeTraderLimit(ringBuffer.get(slot).buffer, sequence, traderNotionalLimit.getTraderId(),
+                traderNotionalLimit.getCurrentBuyNotionalMicros(), traderNotionalLimit.getCurrentSellNotionalMicros(), traderNotionalLimit.getCurrentGrossNotionalMicros());
+        ringBuffer.publish(slot);
+    }
+
+    private long claim(long sequence)
+    {
+        appliedSequence = sequence;
+        if (resyncRequired)
+        {
+            droppedFrames.incrementAndGet();
+            return -1;
+        }
+
+        try
+        {
+            return ringBuffer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            droppedFrames.incrementAndGet();
+            resyncRequired = true;
+            return -1;
+        }
+    }
+
+    public int getStandbyCount()
+    {
+        return standbys.size();
+    }
+
+    public long getAppliedSequence()
+    {
+        return appliedSequence;
+    }
+
+    public long getWrittenSequence()
+    {
+        return writtenSequence;
+    }
+
+    public long getDroppedFrames()
+    {
+        return droppedFrames.get();
+    }
+
+    private void acceptStandbys()
+    {
+        while (serverChannel.isOpen())
+        {
+            try
+            {
+                SocketChannel standby = serverChannel.accept();
+                standby.configureBlocking(false);
+                standby.socket().setTcpNoDelay(true);
+                pendingStandbys.add(standby);
+                log.info("Standby connected from: {}", standby.getRemoteAddress());
+                requestSnapshot();
+            }
+            catch (IOException e)
+            {
+                if (serverChannel.isOpen())
+                    log.error("ERR-981: Failed to accept standby connection", e);
+            }
+        }
+    }
+
+    private void requestSnapshot()
+    {
+        if (!snapshotRequested.compareAndSet(false, true))
+            return;
+
+        disruptorService.pushBookSnapshot(new UtilisationSnapshot(LocalDate.now())).whenComplete((ignored, e) ->
+        {
+            if (e != null)
+            {
+                snapshotRequested.set(false);
+                log.error("ERR-987: Failed to snapshot the book for {} pending standbys", pendingStandbys.size(), e);
+            }
+        });
+    }
+
+    private void sendSnapshot(SocketChannel standby, ByteBuffer buffer, UtilisationSnapshot snapshot) throws IOException
+    {
+        long sequence = snapshot.getSequence();
+        for (DeskNotionalLimitView desk : snapshot.getDesks())
+        {
+            ReplicationFrame.encodeDeskLimit(buffer, sequence, desk.getDeskId(), desk.getBuyNotionalLimitMicros(), desk.getSellNotionalLimitMicros(), desk.getGrossNotionalLimitMicros());
+            write(standby, buffer);
+            ReplicationFrame.encodeUpdate(buffer, sequence, desk.getDeskId(), desk.getCurrentBuyNotionalMicros(), desk.getCurrentSellNotionalMicros(), desk.getCurrentGrossNotionalMicros(),
+                    null, 0, 0, 0);
+            write(standby, buffer);
+        }
+        for (TraderNotionalLimitView trader : snapshot.getTraders())
+        {
+            ReplicationFrame.encodeTraderLimit(buffer, sequence, trader.getTraderId(), trader.getCurrentBuyNotionalMicros(), trader.getCurrentSellNotionalMicros(), trader.getCurrentGrossNotionalMicros());
+            write(standby, buffer);
+        }
+    }
+
+    // A full socket buffer means the standby is not keeping up; it gets the stall timeout to make progress and is then dropped.
+    private void write(SocketChannel channel, ByteBuffer buffer) throws IOException
+    {
+        buffer.rewind();
+        long stalledSince = 0;
+        while (buffer.hasRemaining())
+        {
+            if (channel.write(buffer) > 0)
+            {
+                stalledSince = 0;
+                continue;
+            }
+
+            long now = System.nanoTime();
+            if (stalledSince == 0)
+                stalledSince = now;
+            else if (now - stalledSince > TimeUnit.MILLISECONDS.toNanos(writeStallTimeoutMs))
+                throw new IOException("Standby made no progress for " + writeStallTimeoutMs + " ms");
+            LockSupport.parkNanos(STALL_PARK_NANOS);
+        }
+    }
+
+    private static class FrameEvent
+    {
+        private final ByteBuffer buffer = ByteBuffer.allocate(ReplicationFrame.LENGTH);
+        private UtilisationSnapshot snapshot;
+        private boolean resync;
+    }
+
+    private class FrameWriter implements EventHandler<FrameEvent>, TimeoutHandler
+    {
+        private final ByteBuffer controlBuffer = ByteBuffer.allocate(ReplicationFrame.LENGTH);
+
+        @Override
+        public void onEvent(FrameEvent event, long sequence, boolean endOfBatch)
+        {
+            if (event.snapshot != null)
+            {
+                admitPendingStandbys(event.snapshot, event.resync);
+                event.snapshot = null;
+                event.resync = false;
+                return;
+            }
+
+            writtenSequence = event.buffer.getLong(1);
+            for (SocketChannel standby : standbys)
+                writeOrDrop(standby, event.buffer);
+        }
+
+        @Override
+        public void onTimeout(long sequence)
+        {
+            // The engine's latest replicated sequence, so a standby's lag includes the frames still queued here.
+            ReplicationFrame.encodeHeartbeat(controlBuffer, appliedSequence);
+            for (SocketChannel standby : standbys)
+                writeOrDrop(standby, controlBuffer);
+        }
+
+        private void admitPendingStandbys(UtilisationSnapshot snapshot, boolean resync)
+        {
+            if (resync)
+            {
+                log.warn("Replication ring overflowed after {} dropped frames, resending snapshot to {} standbys", droppedFrames.get(), standbys.size());
+                pendingStandbys.addAll(standbys);
+                standbys.clear();
+            }
+
+            writtenSequence = snapshot.getSequence();
+            SocketChannel standby;
+            while ((standby = pendingStandbys.poll()) != null)
+            {
+                try
+                {
+                    sendSnapshot(standby, controlBuffer, snapshot);
+                    standbys.add(standby);
+                }
+                catch (IOException e)
+                {
+                    log.error("ERR-982: Failed to send snapshot to standby, closing link", e);
+                    close(standby);
+                }
+            }
+        }
+
+        private void writeOrDrop(SocketChannel standby, ByteBuffer buffer)
+        {
+            try
+            {
+                write(standby, buffer);
+            }
+            catch (IOException e)
+            {
+                log.error("ERR-983: Lost replication link to standby", e);
+                standbys.remove(standby);
+                close(standby);
+            }
+        }
+
+        private void close(SocketChannel standby)
+        {
+            try
+            {
+                standby.close();
+            }
+            catch (IOException e)
+            {
+                log.debug("Failed to close standby channel", e);
+            }
+        }
+    }
+}
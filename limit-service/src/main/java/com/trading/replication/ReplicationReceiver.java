@@ -0,0 +1,286 @@
+package com.trading.replication;
+
+import com.trading.messaging.AmpsMessageInboundProcessor;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.disruptor.DisruptorService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+// Every frame goes through the standby's own engine, in the order it arrived, so the book keeps its single writer and the
+// listeners behind it stay current. Desks, traders and trader moves are not replicated: the standby picks those up from its
+// change feed. The applied sequence is the last frame handed to the engine, the primary sequence the engine's own as its
+// heartbeats report it.
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "replication.role", havingValue = "standby")
+public class ReplicationReceiver
+{
+    private static final Logger log = LoggerFactory.getLogger(ReplicationReceiver.class);
+    private static final long RECONNECT_INTERVAL_MS = 50;
+    @Value("${replication.host}")
+    private String primaryHost;
+    @Value("${replication.port}")
+    private int port;
+    @Value("${replication.failover.timeout.ms}")
+    private long failoverTimeoutMs;
+    @Autowired
+    private final DisruptorService disruptorService;
+    @Autowired
+    private final ObjectProvider<AmpsMessageInboundProcessor> inboundProcessorProvider;
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(ReplicationFrame.LENGTH * 256);
+    private volatile long appliedSequence;
+    private volatile long primarySequence;
+    private volatile long lastFrameNanos;
+    private volatile boolean connected;
+    private volatile boolean linkEstablished;
+    private volatile boolean promoted;
+    private volatile boolean running;
+    private Thread receiverThread;
+
+    @PostConstruct
+    public void initialize()
+    {
+        running = true;
+        lastFrameNanos = System.nanoTime();
+        receiverThread = new Thread(this::receive, "replication-receiver");
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+        log.info("Standby replicating from primary: {}:{} with failover timeout: {} ms", primaryHost, port, failoverTimeoutMs);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        running = false;
+        receiverThread.interrupt();
+    }
+
+    public long getAppliedSequence()
+    {
+        return appliedSequence;
+    }
+
+    public long getPrimarySequence()
+    {
+        return primarySequence;
+    }
+
+    public long getReplicationLag()
+    {
+        return Math.max(0, primarySequence - appliedSequence);
+    }
+
+    public boolean isConnected()
+    {
+        return connected;
+    }
+
+    public boolean isLinkEstablished()
+    {
+        return linkEstablished;
+    }
+
+    public boolean isPromoted()
+    {
+        return promoted;
+    }
+
+    private void receive()
+    {
+        while (running && !promoted)
+        {
+            try (SocketChannel channel = SocketChannel.open(); Selector selector = Selector.open())
+            {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.connect(new InetSocketAddress(primaryHost, port));
+                channel.register(selector, SelectionKey.OP_CONNECT);
+                readBuffer.clear();
+
+                while (running && !promoted)
+                {
+                    selector.select(linkEstablished ? Math.max(1, remainingMillis()) : failoverTimeoutMs);
+                    for (SelectionKey key : selector.selectedKeys())
+                    {
+                        if (key.isConnectable() && channel.finishConnect())
+                        {
+                            connected = true;
+                            lastFrameNanos = System.nanoTime();
+                            key.interestOps(SelectionKey.OP_READ);
+                            log.info("Connected to replication primary: {}:{}", primaryHost, port);
+                        }
+                        else if (key.isReadable() && channel.read(readBuffer) < 0)
+                        {
+                            throw new IOException("Replication primary closed the link");
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                    drainFrames();
+                    checkHeartbeat();
+                }
+            }
+            catch (IOException e)
+            {
+                if (connected)
+                    log.error("ERR-984: Lost replication link to primary at sequence: {}", appliedSequence, e);
+                connected = false;
+                checkHeartbeat();
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void drainFrames()
+    {
+        readBuffer.flip();
+        while (readBuffer.remaining() >= ReplicationFrame.LENGTH)
+        {
+            int frameStart = readBuffer.position();
+            byte type = readBuffer.get();
+            long sequence = readBuffer.getLong();
+            switch (type)
+            {
+                case ReplicationFrame.TYPE_UPDATE:
+                    disruptorService.push(ReplicationFrame.UPDATE_TRANSLATOR, readBuffer);
+                    appliedSequence = Math.max(appliedSequence, sequence);
+                    primarySequence = Math.max(primarySequence, sequence);
+                    break;
+                case ReplicationFrame.TYPE_HEARTBEAT:
+                    primarySequence = Math.max(primarySequence, sequence);
+                    break;
+                default:
+                    applyCommand(type, sequence);
+                    break;
+            }
+            readBuffer.position(frameStart + ReplicationFrame.LENGTH);
+            lastFrameNanos = System.nanoTime();
+            if (!linkEstablished)
+            {
+                linkEstablished = true;
+                log.info("Replication link to primary established at sequence: {}", sequence);
+            }
+        }
+        readBuffer.compact();
+    }
+
+    private void applyCommand(byte type, long sequence)
+    {
+        UUID deskId = ReplicationFrame.getUuid(readBuffer);
+        long desk1 = readBuffer.getLong();
+        long desk2 = readBuffer.getLong();
+        long desk3 = readBuffer.getLong();
+        UUID traderId = ReplicationFrame.getUuid(readBuffer);
+        long traderBuy = readBuffer.getLong();
+        long traderSell = readBuffer.getLong();
+        long traderGross = readBuffer.getLong();
+
+        CompletableFuture<Void> completion;
+        switch (type)
+        {
+            case ReplicationFrame.TYPE_DESK_LIMIT:
+                DeskNotionalLimit deskNotionalLimit = new DeskNotionalLimit(deskId);
+                deskNotionalLimit.setBuyNotionalLimitMicros(desk1);
+                deskNotionalLimit.setSellNotionalLimitMicros(desk2);
+                deskNotionalLimit.setGrossNotionalLimitMicros(desk3);
+                completion = disruptorService.pushDeskLimitUpsert(List.of(deskNotionalLimit));
+                break;
+            case ReplicationFrame.TYPE_DESK_LIMIT_REMOVED:
+                completion = disruptorService.pushDeskLimitDelete(deskId);
+                break;
+            case ReplicationFrame.TYPE_TRADER_LIMIT:
+                TraderNotionalLimit traderNotionalLimit = new TraderNotionalLimit(traderId);
+                traderNotionalLimit.setCurrentBuyNotionalMicros(traderBuy);
+                traderNotionalLimit.setCurrentSellNotionalMicros(traderSell);
+                traderNotionalLimit.setCurrentGrossNotionalMicros(traderGross);
+                completion = disruptorService.pushTraderLimitRestore(traderNotionalLimit);
+                break;
+            case ReplicationFrame.TYPE_TRADER_LIMIT_REMOVED:
+                completion = disruptorService.pushTraderLimitDelete(traderId);
+                break;
+            case ReplicationFrame.TYPE_RESET:
+                completion = disruptorService.pushReset();
+                break;
+            default:
+                completion = CompletableFuture.failedFuture(new IllegalArgumentException("Unknown replication frame type: " + type));
+                break;
+        }
+        completion.whenComplete((ignored, e) ->
+        {
+            if (e != null)
+                log.error("ERR-988: Failed to apply replication frame of type: {} at sequence: {}", type, sequence, e);
+        });
+
+        appliedSequence = Math.max(appliedSequence, sequence);
+        primarySequence = Math.max(primarySequence, sequence);
+    }
+
+    private long remainingMillis()
+    {
+        return failoverTimeoutMs - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - lastFrameNanos);
+    }
+
+    // A standby that never heard from the primary has nothing to take over from, so it keeps trying to connect instead.
+    private void checkHeartbeat()
+    {
+        if (linkEstablished && remainingMillis() <= 0)
+            promote();
+    }
+
+    private void promote()
+    {
+        if (promoted)
+            return;
+
+        promoted = true;
+        connected = false;
+        log.warn("No heartbeat from primary for {} ms, promoting standby at applied sequence: {} with lag: {}", failoverTimeoutMs, appliedSequence, getReplicationLag());
+
+        AmpsMessageInboundProcessor inboundProcessor = inboundProcessorProvider.getIfAvailable();
+        if (inboundProcessor == null)
+        {
+            log.error("ERR-985: No AMPS inbound processor available to take over the order subscription");
+            return;
+        }
+
+        try
+        {
+            inboundProcessor.takeOver();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-986: Failed to take over AMPS order subscription", e);
+        }
+    }
+
+    private void sleepQuietly()
+    {
+        try
+        {
+            Thread.sleep(RECONNECT_INTERVAL_MS);
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.trading.repository;
 
 import com.trading.model.DeskNotionalLimit;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface DeskNotionalLimitRepository extends MongoRepository<DeskNotionalLimit, UUID> {
-} 
\ No newline at end of file
+public interface DeskNotionalLimitRepository extends CrudRepository<DeskNotionalLimit, UUID> {
+    @Meta(cursorBatchSize = 10000)
+    Stream<DeskNotionalLimit> streamAllBy();
+}
@@ -1,12 +1,16 @@
 package com.trading.repository;
 
 import com.trading.model.Desk;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface DeskRepository extends MongoRepository<Desk, UUID>
+public interface DeskRepository extends CrudRepository<Desk, UUID>
 {
+    @Meta(cursorBatchSize = 10000)
+    Stream<Desk> streamAllBy();
 }
@@ -1,11 +1,14 @@
 package com.trading.repository;
 
 import com.trading.model.TraderNotionalLimit;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
-import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TraderNotionalLimitRepository extends MongoRepository<TraderNotionalLimit, UUID> {
-} 
\ No newline at end of file
+public interface TraderNotionalLimitRepository extends CrudRepository<TraderNotionalLimit, UUID> {
+    @Meta(cursorBatchSize = 10000)
+    Stream<TraderNotionalLimit> streamAllBy();
+}
@@ -1,12 +1,16 @@
 package com.trading.repository;
 
 import com.trading.model.Trader;
-import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Meta;
+import org.springframework.data.repository.CrudRepository;
 import org.springframework.stereotype.Repository;
 
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface TraderRepository extends MongoRepository<Trader, UUID>
+public interface TraderRepository extends CrudRepository<Trader, UUID>
 {
+    @Meta(cursorBatchSize = 10000)
+    Stream<Trader> streamAllBy();
 }
@@ -0,0 +1,29 @@
+package com.trading.repository.memory;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.repository.DeskNotionalLimitRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryDeskNotionalLimitRepository extends InMemoryRepository<DeskNotionalLimit, UUID> implements DeskNotionalLimitRepository
+{
+    public InMemoryDeskNotionalLimitRepository()
+    {
+        super(DeskNotionalLimit::getDeskId, InMemoryDeskNotionalLimitRepository::copy);
+    }
+
+    private static DeskNotionalLimit copy(DeskNotionalLimit deskNotionalLimit)
+    {
+        DeskNotionalLimit copy = new DeskNotionalLimit(deskNotionalLimit.getDeskId());
+        copy.setBuyNotionalLimitMicros(deskNotionalLimit.getBuyNotionalLimitMicros());
+        copy.setSellNotionalLimitMicros(deskNotionalLimit.getSellNotionalLimitMicros());
+        copy.setGrossNotionalLimitMicros(deskNotionalLimit.getGrossNotionalLimitMicros());
+        copy.setCurrentBuyNotionalMicros(deskNotionalLimit.getCurrentBuyNotionalMicros());
+        copy.setCurrentSellNotionalMicros(deskNotionalLimit.getCurrentSellNotionalMicros());
+        copy.setCurrentGrossNotionalMicros(deskNotionalLimit.getCurrentGrossNotionalMicros());
+        return copy;
+    }
+}
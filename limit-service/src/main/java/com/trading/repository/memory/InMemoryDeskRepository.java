@@ -0,0 +1,27 @@
+package com.trading.repository.memory;
+
+import com.trading.model.Desk;
+import com.trading.repository.DeskRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.ArrayList;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryDeskRepository extends InMemoryRepository<Desk, UUID> implements DeskRepository
+{
+    public InMemoryDeskRepository()
+    {
+        super(Desk::getDeskId, InMemoryDeskRepository::copy);
+    }
+
+    private static Desk copy(Desk desk)
+    {
+        Desk copy = new Desk();
+        copy.setDeskId(desk.getDeskId());
+        copy.setDeskName(desk.getDeskName());
+        copy.setTraders(desk.getTraders() == null ? null : new ArrayList<>(desk.getTraders()));
+        return copy;
+    }
+}
@@ -0,0 +1,110 @@
+package com.trading.repository.memory;
+
+import org.springframework.data.repository.CrudRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+
+// Holds copies, like a database would: saving and then changing an entity does not change what is stored, and each find
+// returns a fresh instance.
+public abstract class InMemoryRepository<T, ID> implements CrudRepository<T, ID>
+{
+    private final Map<ID, T> documents = new ConcurrentHashMap<>();
+    private final Function<T, ID> idExtractor;
+    private final UnaryOperator<T> copier;
+
+    protected InMemoryRepository(Function<T, ID> idExtractor, UnaryOperator<T> copier)
+    {
+        this.idExtractor = idExtractor;
+        this.copier = copier;
+    }
+
+    @Override
+    public <S extends T> S save(S entity)
+    {
+        documents.put(idExtractor.apply(entity), copier.apply(entity));
+        return entity;
+    }
+
+    @Override
+    public <S extends T> List<S> saveAll(Iterable<S> entities)
+    {
+        List<S> saved = new ArrayList<>();
+        entities.forEach(entity -> saved.add(save(entity)));
+        return saved;
+    }
+
+    @Override
+    public Optional<T> findById(ID id)
+    {
+        return Optional.ofNullable(documents.get(id)).map(copier);
+    }
+
+    @Override
+    public boolean existsById(ID id)
+    {
+        return documents.containsKey(id);
+    }
+
+    public Stream<T> streamAllBy()
+    {
+        return new ArrayList<>(documents.values()).stream().map(copier);
+    }
+
+    @Override
+    public List<T> findAll()
+    {
+        List<T> found = new ArrayList<>(documents.size());
+        documents.values().forEach(document -> found.add(copier.apply(document)));
+        return found;
+    }
+
+    @Override
+    public Iterable<T> findAllById(Iterable<ID> ids)
+    {
+        List<T> found = new ArrayList<>();
+        ids.forEach(id -> findById(id).ifPresent(found::add));
+        return found;
+    }
+
+    @Override
+    public long count()
+    {
+        return documents.size();
+    }
+
+    @Override
+    public void deleteById(ID id)
+    {
+        documents.remove(id);
+    }
+
+    @Override
+    public void delete(T entity)
+    {
+        documents.remove(idExtractor.apply(entity));
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends ID> ids)
+    {
+        ids.forEach(documents::remove);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends T> entities)
+    {
+        entities.forEach(this::delete);
+    }
+
+    @Override
+    public void deleteAll()
+    {
+        documents.clear();
+    }
+}
@@ -0,0 +1,26 @@
+package com.trading.repository.memory;
+
+import com.trading.model.TraderNotionalLimit;
+import com.trading.repository.TraderNotionalLimitRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryTraderNotionalLimitRepository extends InMemoryRepository<TraderNotionalLimit, UUID> implements TraderNotionalLimitRepository
+{
+    public InMemoryTraderNotionalLimitRepository()
+    {
+        super(TraderNotionalLimit::getTraderId, InMemoryTraderNotionalLimitRepository::copy);
+    }
+
+    private static TraderNotionalLimit copy(TraderNotionalLimit traderNotionalLimit)
+    {
+        TraderNotionalLimit copy = new TraderNotionalLimit(traderNotionalLimit.getTraderId());
+        copy.setCurrentBuyNotionalMicros(traderNotionalLimit.getCurrentBuyNotionalMicros());
+        copy.setCurrentSellNotionalMicros(traderNotionalLimit.getCurrentSellNotionalMicros());
+        copy.setCurrentGrossNotionalMicros(traderNotionalLimit.getCurrentGrossNotionalMicros());
+        return copy;
+    }
+}
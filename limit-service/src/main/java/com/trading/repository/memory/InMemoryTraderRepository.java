@@ -0,0 +1,27 @@
+package com.trading.repository.memory;
+
+import com.trading.model.Trader;
+import com.trading.repository.TraderRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Repository;
+import java.util.UUID;
+
+@Repository
+@Profile("memory")
+public class InMemoryTraderRepository extends InMemoryRepository<Trader, UUID> implements TraderRepository
+{
+    public InMemoryTraderRepository()
+    {
+        super(Trader::getTraderId, InMemoryTraderRepository::copy);
+    }
+
+    private static Trader copy(Trader trader)
+    {
+        Trader copy = new Trader();
+        copy.setTraderId(trader.getTraderId());
+        copy.setFirstName(trader.getFirstName());
+        copy.setLastName(trader.getLastName());
+        copy.setUserId(trader.getUserId());
+        return copy;
+    }
+}
@@ -0,0 +1,135 @@
+package com.trading.seed;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Notional;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.repository.DeskNotionalLimitRepository;
+import com.trading.repository.DeskRepository;
+import com.trading.repository.TraderNotionalLimitRepository;
+import com.trading.repository.TraderRepository;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "seeder.enabled", havingValue = "true")
+public class ReferenceDataSeeder
+{
+    private static final Logger log = LoggerFactory.getLogger(ReferenceDataSeeder.class);
+    @Value("${seeder.desks}")
+    private int deskCount;
+    @Value("${seeder.traders}")
+    private int traderCount;
+    @Value("${seeder.seed}")
+    private long seed;
+    @Value("${seeder.batch.size}")
+    private int batchSize;
+    @Value("${seeder.trader.prefix}")
+    private String traderPrefix;
+    @Value("${seeder.desk.limit.min}")
+    private double minDeskLimit;
+    @Value("${seeder.desk.limit.max}")
+    private double maxDeskLimit;
+    @Autowired
+    private final DeskRepository deskRepository;
+    @Autowired
+    private final TraderRepository traderRepository;
+    @Autowired
+    private final DeskNotionalLimitRepository deskNotionalLimitRepository;
+    @Autowired
+    private final TraderNotionalLimitRepository traderNotionalLimitRepository;
+
+    public void seed()
+    {
+        if (deskRepository.count() > 0 || traderRepository.count() > 0)
+        {
+            log.info("Reference data already present, skipping seeding of {} desks and {} traders", deskCount, traderCount);
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Desk> desks = new ArrayList<>(batchSize);
+        List<DeskNotionalLimit> deskNotionalLimits = new ArrayList<>(batchSize);
+        List<Trader> traders = new ArrayList<>(batchSize);
+        List<TraderNotionalLimit> traderNotionalLimits = new ArrayList<>(batchSize);
+
+        // Traders are assigned to desks in contiguous blocks, so the lowest numbered traders share the first desks.
+        int traderNumber = 0;
+        for (int deskIndex = 0; deskIndex < deskCount; deskIndex++)
+        {
+            Desk desk = new Desk();
+            desk.setDeskId(randomUuid(random));
+            desk.setDeskName(String.format("Desk-%05d", deskIndex + 1));
+
+            int lastTrader = (int) ((long) traderCount * (deskIndex + 1) / deskCount);
+            while (traderNumber < lastTrader)
+            {
+                traderNumber++;
+                Trader trader = new Trader();
+                trader.setTraderId(randomUuid(random));
+                trader.setFirstName("Trader");
+                trader.setLastName(String.valueOf(traderNumber));
+                trader.setUserId(traderPrefix + traderNumber);
+                desk.getTraders().add(trader.getTraderId());
+                traders.add(trader);
+                traderNotionalLimits.add(new TraderNotionalLimit(trader.getTraderId()));
+                if (traders.size() >= batchSize)
+                    flushTraders(traders, traderNotionalLimits);
+            }
+
+            desks.add(desk);
+            deskNotionalLimits.add(randomDeskLimit(desk.getDeskId(), random));
+            if (desks.size() >= batchSize)
+                flushDesks(desks, deskNotionalLimits);
+        }
+        flushTraders(traders, traderNotionalLimits);
+        flushDesks(desks, deskNotionalLimits);
+
+        log.info("Seeded {} desks and {} traders in {} ms", deskCount, traderNumber, System.currentTimeMillis() - start);
+    }
+
+    private DeskNotionalLimit randomDeskLimit(UUID deskId, SplittableRandom random)
+    {
+        long grossLimit = Math.round((minDeskLimit + random.nextDouble() * (maxDeskLimit - minDeskLimit)) / 1000) * 1000;
+        DeskNotionalLimit deskNotionalLimit = new DeskNotionalLimit(deskId);
+        deskNotionalLimit.setGrossNotionalLimitMicros(Notional.fromUsd(grossLimit));
+        deskNotionalLimit.setBuyNotionalLimitMicros(Notional.fromUsd(grossLimit * (0.5 + random.nextDouble() * 0.25)));
+        deskNotionalLimit.setSellNotionalLimitMicros(Notional.fromUsd(grossLimit * (0.5 + random.nextDouble() * 0.25)));
+        return deskNotionalLimit;
+    }
+
+    private void flushDesks(List<Desk> desks, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        deskRepository.saveAll(desks);
+        deskNotionalLimitRepository.saveAll(deskNotionalLimits);
+        desks.clear();
+        deskNotionalLimits.clear();
+    }
+
+    private void flushTraders(List<Trader> traders, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        traderRepository.saveAll(traders);
+        traderNotionalLimitRepository.saveAll(traderNotionalLimits);
+        traders.clear();
+        traderNotionalLimits.clear();
+    }
+
+    private static UUID randomUuid(SplittableRandom random)
+    {
+        long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificantBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
@@ -0,0 +1,176 @@
+package com.trading.service;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.TraderNotionalLimitView;
+import com.trading.service.disruptor.LimitEngineListener;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookSnapshotService implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(BookSnapshotService.class);
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    private final Map<UUID, DeskNotionalLimitView> deskViews = new ConcurrentHashMap<>();
+    private final Map<UUID, TraderNotionalLimitView> traderViews = new ConcurrentHashMap<>();
+    private final Map<UUID, List<UUID>> deskTraderIds = new ConcurrentHashMap<>();
+    private final Map<UUID, DeskNotionalLimit> dirtyDesks = new HashMap<>();
+    private final Map<UUID, TraderNotionalLimit> dirtyTraders = new HashMap<>();
+    private volatile long version;
+
+    @PostConstruct
+    public void initialize()
+    {
+        persistenceService.getAllDeskNotionalLimits().forEach(this::publishDesk);
+        persistenceService.getAllTraderNotionalLimits().forEach(this::publishTrader);
+        persistenceService.getAllDesks().forEach(this::publishDeskTraders);
+        log.info("Published initial book snapshot with {} desks and {} traders", deskViews.size(), traderViews.size());
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        dirtyDesks.put(deskNotionalLimit.getDeskId(), deskNotionalLimit);
+        dirtyTraders.put(traderNotionalLimit.getTraderId(), traderNotionalLimit);
+    }
+
+    @Override
+    public void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        deskNotionalLimits.forEach(desk -> dirtyDesks.put(desk.getDeskId(), desk));
+    }
+
+    @Override
+    public void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+        dirtyDesks.remove(deskId);
+        deskViews.remove(deskId);
+    }
+
+    @Override
+    public void onTraderLimitApplied(long sequence, TraderNotionalLimit traderNotionalLimit)
+    {
+        dirtyTraders.put(traderNotionalLimit.getTraderId(), traderNotionalLimit);
+    }
+
+    @Override
+    public void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+        dirtyTraders.remove(traderId);
+        traderViews.remove(traderId);
+    }
+
+    @Override
+    public void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        dirtyDesks.put(deskNotionalLimit.getDeskId(), deskNotionalLimit);
+        traderNotionalLimits.forEach(trader -> dirtyTraders.put(trader.getTraderId(), trader));
+    }
+
+    @Override
+    public void onDesksApplied(long sequence, List<Desk> desks)
+    {
+        desks.forEach(this::publishDeskTraders);
+    }
+
+    @Override
+    public void onDeskRemoved(long sequence, UUID deskId)
+    {
+        deskTraderIds.remove(deskId);
+    }
+
+    @Override
+    public void onTraderRemoved(long sequence, UUID traderId)
+    {
+        dirtyTraders.remove(traderId);
+        traderViews.remove(traderId);
+    }
+
+    @Override
+    public void onReset(long sequence)
+    {
+        persistenceService.getAllDeskNotionalLimits().forEach(desk -> dirtyDesks.put(desk.getDeskId(), desk));
+        persistenceService.getAllTraderNotionalLimits().forEach(trader -> dirtyTraders.put(trader.getTraderId(), trader));
+    }
+
+    @Override
+    public void onEndOfBatch(long sequence)
+    {
+        if (dirtyDesks.isEmpty() && dirtyTraders.isEmpty())
+            return;
+
+        long batchVersion = sequence + 1;
+        dirtyDesks.values().forEach(desk -> deskViews.put(desk.getDeskId(), new DeskNotionalLimitView(desk, batchVersion)));
+        dirtyTraders.values().forEach(trader -> traderViews.put(trader.getTraderId(), new TraderNotionalLimitView(trader, batchVersion)));
+        dirtyDesks.clear();
+        dirtyTraders.clear();
+        version = batchVersion;
+    }
+
+    private void publishDesk(DeskNotionalLimit deskNotionalLimit)
+    {
+        deskViews.put(deskNotionalLimit.getDeskId(), new DeskNotionalLimitView(deskNotionalLimit, version));
+    }
+
+    private void publishTrader(TraderNotionalLimit traderNotionalLimit)
+    {
+        traderViews.put(traderNotionalLimit.getTraderId(), new TraderNotionalLimitView(traderNotionalLimit, version));
+    }
+
+    private void publishDeskTraders(Desk desk)
+    {
+        deskTraderIds.put(desk.getDeskId(), desk.getTraders() == null ? List.of() : List.copyOf(desk.getTraders()));
+    }
+
+    public long getVersion()
+    {
+        return version;
+    }
+
+    public DeskNotionalLimitView getDesk(UUID deskId)
+    {
+        return deskViews.get(deskId);
+    }
+
+    public TraderNotionalLimitView getTrader(UUID traderId)
+    {
+        return traderViews.get(traderId);
+    }
+
+    public List<DeskNotionalLimitView> getAllDesks()
+    {
+        return new ArrayList<>(deskViews.values());
+    }
+
+    public List<TraderNotionalLimitView> getAllTraders()
+    {
+        return new ArrayList<>(traderViews.values());
+    }
+
+    public List<TraderNotionalLimitView> getDeskTraders(UUID deskId)
+    {
+        List<UUID> traderIds = deskTraderIds.get(deskId);
+        if (traderIds == null)
+            return new ArrayList<>();
+
+        return traderIds.stream().map(traderViews::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+}
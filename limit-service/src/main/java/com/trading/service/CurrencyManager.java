@@ -1,45 +1,56 @@
 package com.trading.service;
 
+import com.trading.service.disruptor.DisruptorService;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import com.trading.model.Currency;
+import com.trading.model.Notional;
 
 @Service
 @RequiredArgsConstructor
 public class CurrencyManager {
     private static final Logger log = LoggerFactory.getLogger(CurrencyManager.class);
+    @Autowired
+    private final DisruptorService disruptorService;
     private final Map<Currency, Double> fxRates = new ConcurrentHashMap<>();
 
     @PostConstruct
     public void initialize() {
         log.info("Initializing currency manager and loading FX rates");
-        refreshFxRates();
+        loadFxRates().forEach(this::updateRate);
     }
     
-    @Scheduled(fixedRate = 300000) // 5 minutes
+    @Scheduled(fixedRateString = "${currency.refresh.interval}", initialDelayString = "${currency.refresh.interval}")
     public void refreshFxRates() {
         try {
-            updateRate(Currency.EUR, 1.18);
-            updateRate(Currency.GBP, 1.40);
-            updateRate(Currency.JPY, 0.0091);
-            updateRate(Currency.HKD, 0.13);
-            updateRate(Currency.SGD, 0.74);
-            updateRate(Currency.AUD, 0.73);
-            updateRate(Currency.USD, 1.0);
-            updateRate(Currency.CAD, 0.75);
-            updateRate(Currency.KRW, 0.00068);
-            
-            log.info("Successfully refreshed FX rates for {} currencies", fxRates.size());
+            disruptorService.pushFxUpdate(loadFxRates());
+            log.info("Submitted FX rate refresh for {} currencies", fxRates.size());
         } catch (Exception e) {
             log.error("ERR-301: Failed to refresh FX rates", e);
         }
     }
+
+    private Map<Currency, Double> loadFxRates() {
+        Map<Currency, Double> rates = new EnumMap<>(Currency.class);
+        rates.put(Currency.EUR, 1.18);
+        rates.put(Currency.GBP, 1.40);
+        rates.put(Currency.JPY, 0.0091);
+        rates.put(Currency.HKD, 0.13);
+        rates.put(Currency.SGD, 0.74);
+        rates.put(Currency.AUD, 0.73);
+        rates.put(Currency.USD, 1.0);
+        rates.put(Currency.CAD, 0.75);
+        rates.put(Currency.KRW, 0.00068);
+        return rates;
+    }
     
     public double convertToUSD(double amount, Currency fromCurrency) {
         if (Currency.USD.equals(fromCurrency)) {
@@ -54,7 +65,11 @@ public class CurrencyManager {
         
         return amount * rate;
     }
-    
+
+    public long convertToUSDMicros(double amount, Currency fromCurrency) {
+        return Notional.fromUsd(convertToUSD(amount, fromCurrency));
+    }
+
     public void updateRate(Currency currency, double rateToUSD) {
         if(rateToUSD <= 0) {
             log.error("ERR-303: Invalid FX rate: {} -> {}", currency, rateToUSD);
@@ -0,0 +1,222 @@
+package com.trading.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.Notional;
+import com.trading.model.TraderNotionalLimitView;
+import com.trading.model.UtilisationSnapshot;
+import com.trading.service.disruptor.DisruptorService;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// End-of-day rollover. Orders spilled during the closing day are drained into the ring first, and the rollover is abandoned
+// if they cannot be. The engine then snapshots and zeroes the book and clears the order dedup set in one command, so no
+// order can land between them, and the archive and initial re-publish happen afterwards off the engine thread.
+@Service
+@RequiredArgsConstructor
+public class DayRolloverService
+{
+    private static final Logger log = LoggerFactory.getLogger(DayRolloverService.class);
+    private static final int ARCHIVE_BATCH_SIZE = 10000;
+    public static final String DESK = "DESK";
+    public static final String TRADER = "TRADER";
+    @Value("${rollover.zone}")
+    private String zone;
+    @Value("${rollover.archive.directory}")
+    private String archiveDirectory;
+    @Value("${rollover.archive.collection}")
+    private String archiveCollection;
+    @Value("${engine.command.timeout.ms}")
+    private long commandTimeoutMs;
+    @Autowired
+    private final DisruptorService disruptorService;
+    @Autowired
+    private final OrderSpillJournal spillJournal;
+    @Autowired
+    private final InitializationService initializationService;
+    @Autowired
+    private final ObjectProvider<MongoTemplate> mongoTemplateProvider;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Scheduled(cron = "${rollover.cron}", zone = "${rollover.zone}")
+    public void scheduledRollover()
+    {
+        String errorId = UUID.randomUUID().toString();
+        MDC.put("errorId", errorId);
+
+        try
+        {
+            rollover();
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-018: Scheduled end-of-day rollover failed", e);
+        }
+        finally
+        {
+            MDC.remove("errorId");
+        }
+    }
+
+    public synchronized UtilisationSnapshot rollover() throws Exception
+    {
+        LocalDate tradeDate = LocalDate.now(ZoneId.of(zone));
+        long started = System.nanoTime();
+        log.info("Starting end-of-day rollover for trade date: {}", tradeDate);
+
+        if (!spillJournal.awaitDrained(commandTimeoutMs))
+        {
+            log.error("ERR-017: Spilled orders still pending after {} ms, abandoning rollover for trade date: {}", commandTimeoutMs, tradeDate);
+            throw new IllegalStateException("Spilled orders still pending, rollover for " + tradeDate + " abandoned");
+        }
+
+        UtilisationSnapshot snapshot = new UtilisationSnapshot(tradeDate);
+        awaitRollover(disruptorService.pushRollover(snapshot), tradeDate);
+        log.info("Rolled over {} desks and {} traders at sequence: {}", snapshot.getDesks().size(), snapshot.getTraders().size(), snapshot.getSequence());
+
+        archiveToFile(snapshot);
+        archiveToMongo(snapshot);
+        initializationService.publishInitialUpdates();
+        log.info("Completed end-of-day rollover for trade date: {} in {} ms", tradeDate, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return snapshot;
+    }
+
+    // Once on the ring the rollover will zero the book whatever happens here, so giving up would lose the closing day's
+    // snapshot: keep waiting, warning on every timeout, and archive it when the engine gets to it.
+    private void awaitRollover(CompletableFuture<Void> completion, LocalDate tradeDate) throws Exception
+    {
+        while (true)
+        {
+            try
+            {
+                completion.get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+                return;
+            }
+            catch (TimeoutException e)
+            {
+                log.warn("Rollover for trade date: {} still not applied by the engine after another {} ms, waiting to archive its snapshot", tradeDate, commandTimeoutMs);
+            }
+        }
+    }
+
+    private void archiveToFile(UtilisationSnapshot snapshot) throws IOException
+    {
+        Path directory = Files.createDirectories(Paths.get(archiveDirectory));
+        Path archive = directory.resolve("utilisation-" + snapshot.getTradeDate() + ".jsonl");
+        Path partial = directory.resolve(archive.getFileName() + ".partial");
+        try (BufferedWriter writer = Files.newBufferedWriter(partial, StandardCharsets.UTF_8))
+        {
+            for (DeskNotionalLimitView desk : snapshot.getDesks())
+            {
+                writer.write(objectMapper.writeValueAsString(toDocument(snapshot, desk)));
+                writer.newLine();
+            }
+            for (TraderNotionalLimitView trader : snapshot.getTraders())
+            {
+                writer.write(objectMapper.writeValueAsString(toDocument(snapshot, trader)));
+                writer.newLine();
+            }
+        }
+        Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        log.info("Archived end-of-day utilisation to: {}", archive);
+    }
+
+    private void archiveToMongo(UtilisationSnapshot snapshot)
+    {
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getIfAvailable();
+        if (mongoTemplate == null)
+        {
+            log.info("No MongoDB configured, end-of-day utilisation archived to file only");
+            return;
+        }
+
+        try
+        {
+            List<Document> batch = new ArrayList<>(ARCHIVE_BATCH_SIZE);
+            for (DeskNotionalLimitView desk : snapshot.getDesks())
+                addToBatch(mongoTemplate, batch, new Document(toDocument(snapshot, desk)));
+            for (TraderNotionalLimitView trader : snapshot.getTraders())
+                addToBatch(mongoTemplate, batch, new Document(toDocument(snapshot, trader)));
+            insert(mongoTemplate, batch);
+            log.info("Archived end-of-day utilisation to collection: {}", archiveCollection);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-019: Failed to archive end-of-day utilisation for trade date: {} to MongoDB", snapshot.getTradeDate(), e);
+        }
+    }
+
+    private void addToBatch(MongoTemplate mongoTemplate, List<Document> batch, Document document)
+    {
+        batch.add(document);
+        if (batch.size() >= ARCHIVE_BATCH_SIZE)
+            insert(mongoTemplate, batch);
+    }
+
+    private void insert(MongoTemplate mongoTemplate, List<Document> batch)
+    {
+        if (batch.isEmpty())
+            return;
+
+        mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, archiveCollection).insert(batch).execute();
+        batch.clear();
+    }
+
+    private static Map<String, Object> toDocument(UtilisationSnapshot snapshot, DeskNotionalLimitView desk)
+    {
+        Map<String, Object> document = header(snapshot, DESK, desk.getDeskId());
+        document.put("buyNotionalLimit", Notional.toUsd(desk.getBuyNotionalLimitMicros()));
+        document.put("sellNotionalLimit", Notional.toUsd(desk.getSellNotionalLimitMicros()));
+        document.put("grossNotionalLimit", Notional.toUsd(desk.getGrossNotionalLimitMicros()));
+        document.put("currentBuyNotional", Notional.toUsd(desk.getCurrentBuyNotionalMicros()));
+        document.put("currentSellNotional", Notional.toUsd(desk.getCurrentSellNotionalMicros()));
+        document.put("currentGrossNotional", Notional.toUsd(desk.getCurrentGrossNotionalMicros()));
+        return document;
+    }
+
+    private static Map<String, Object> toDocument(UtilisationSnapshot snapshot, TraderNotionalLimitView trader)
+    {
+        Map<String, Object> document = header(snapshot, TRADER, trader.getTraderId());
+        document.put("currentBuyNotional", Notional.toUsd(trader.getCurrentBuyNotionalMicros()));
+        document.put("currentSellNotional", Notional.toUsd(trader.getCurrentSellNotionalMicros()));
+        document.put("currentGrossNotional", Notional.toUsd(trader.getCurrentGrossNotionalMicros()));
+        return document;
+    }
+
+    private static Map<String, Object> header(UtilisationSnapshot snapshot, String type, UUID id)
+    {
+        Map<String, Object> document = new LinkedHashMap<>();
+        document.put("tradeDate", snapshot.getTradeDate().toString());
+        document.put("sequence", snapshot.getSequence());
+        document.put("type", type);
+        document.put("id", id.toString());
+        return document;
+    }
+}
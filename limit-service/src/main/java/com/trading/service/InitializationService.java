@@ -2,6 +2,7 @@ package com.trading.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.trading.messaging.AmpsMessageOutboundProcessor;
+import com.trading.messaging.MessageBuffer;
 import com.trading.model.Desk;
 import com.trading.model.DeskNotionalLimit;
 import com.trading.model.Trader;
@@ -12,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import javax.annotation.PostConstruct;
 
@@ -30,11 +32,38 @@ public class InitializationService
     @PostConstruct
     public void initialize()
     {
-        persistenceService.getAllDeskNotionalLimits().forEach(desk -> ampsMessageOutboundProcessor.publishDeskNotionalUpdate(createDeskInitialMessage(objectMapper, desk)));
-        persistenceService.getAllTraderNotionalLimits().forEach(trader -> ampsMessageOutboundProcessor.publishTraderNotionalUpdate(createTraderInitialMessage(objectMapper, trader)));
+        publishInitialUpdates();
     }
 
-    private String createDeskInitialMessage(ObjectMapper objectMapper, DeskNotionalLimit deskNotionalLimit)
+    // One publish per desk and trader; the outbound processor's sampled summary stands in for a log line per document.
+    public void publishInitialUpdates()
+    {
+        long started = System.nanoTime();
+        int desks = 0;
+        for (DeskNotionalLimit desk : persistenceService.getAllDeskNotionalLimits())
+        {
+            MessageBuffer message = createDeskInitialMessage(objectMapper, desk);
+            if (message != null)
+            {
+                ampsMessageOutboundProcessor.publishDeskNotionalUpdate(message);
+                desks++;
+            }
+        }
+
+        int traders = 0;
+        for (TraderNotionalLimit trader : persistenceService.getAllTraderNotionalLimits())
+        {
+            MessageBuffer message = createTraderInitialMessage(objectMapper, trader);
+            if (message != null)
+            {
+                ampsMessageOutboundProcessor.publishTraderNotionalUpdate(message);
+                traders++;
+            }
+        }
+        log.info("Finished initial notional updates for {} desks and {} traders in {} ms", desks, traders, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    private MessageBuffer createDeskInitialMessage(ObjectMapper objectMapper, DeskNotionalLimit deskNotionalLimit)
     {
         try
         {
@@ -54,16 +83,16 @@ public class InitializationService
             initialDetails.put("buyNotionalLimit", deskNotionalLimit.getBuyNotionalLimit());
             initialDetails.put("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit());
             initialDetails.put("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit());
-            return objectMapper.writeValueAsString(initialDetails);
+            return write(objectMapper, initialDetails);
         }
         catch (Exception e)
         {
             log.error("Failed to create breach message desk: {}", deskNotionalLimit, e);
-            return "";
+            return null;
         }
     }
 
-    private String createTraderInitialMessage(ObjectMapper objectMapper, TraderNotionalLimit traderNotionalLimit)
+    private MessageBuffer createTraderInitialMessage(ObjectMapper objectMapper, TraderNotionalLimit traderNotionalLimit)
     {
         try
         {
@@ -88,12 +117,27 @@ public class InitializationService
             initialDetails.put("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit());
             initialDetails.put("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit());
 
-            return objectMapper.writeValueAsString(initialDetails);
+            return write(objectMapper, initialDetails);
         }
         catch (Exception e)
         {
             log.error("Failed to create initial message for trader: {}", traderNotionalLimit, e);
-            return "";
+            return null;
+        }
+    }
+
+    private MessageBuffer write(ObjectMapper objectMapper, Map<String, Object> initialDetails) throws Exception
+    {
+        MessageBuffer message = ampsMessageOutboundProcessor.acquireBuffer();
+        try
+        {
+            objectMapper.writeValue(message, initialDetails);
+            return message;
+        }
+        catch (Exception e)
+        {
+            ampsMessageOutboundProcessor.releaseBuffer(message);
+            throw e;
         }
     }
 }
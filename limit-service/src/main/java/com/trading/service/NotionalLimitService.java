@@ -1,36 +1,77 @@
 package com.trading.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.trading.messaging.AmpsMessageOutboundProcessor;
+import com.trading.messaging.MessageBuffer;
 import com.trading.service.disruptor.DisruptorService;
 import com.trading.service.disruptor.OrderEventHandler;
+import com.trading.service.disruptor.RingFullPolicy;
+import com.trading.gateway.BinaryOrderCodec;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
 import com.trading.model.Order;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class NotionalLimitService {
     private static final Logger log = LoggerFactory.getLogger(NotionalLimitService.class);
     private static int countOfOrders = 0;
+    public static final String ENGINE_BUSY = "LIMIT_ENGINE_BUSY";
+    private static final Set<String> CURRENCIES = Arrays.stream(Currency.values()).map(Enum::name).collect(Collectors.toSet());
     @Autowired
     private final OrderEventHandler orderEventHandler;
     @Autowired
     private DisruptorService disruptorService;
     @Autowired
     private final InitializationService initializationService;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final AmpsMessageOutboundProcessor ampsMessageOutboundProcessor;
+    @Autowired
+    private final OrderSpillJournal spillJournal;
+    @Autowired
+    private final OrderDedupSet dedupSet;
+    @Value("${engine.command.timeout.ms}")
+    private long commandTimeoutMs;
+    @Value("${ingress.ring.full.policy}")
+    private RingFullPolicy ringFullPolicy;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong acceptedOrders = new AtomicLong();
+    private final AtomicLong blockedOrders = new AtomicLong();
+    private final AtomicLong shedOrders = new AtomicLong();
+    private final AtomicLong spilledOrders = new AtomicLong();
+    private final AtomicLong spillFailures = new AtomicLong();
     @PostConstruct
     public void initialize() {
         disruptorService.start("NotionalLimitService", orderEventHandler);
+        spillJournal.replayLeftovers();
     }
     @PreDestroy
     public void shutdown() {
-        log.info("Shutting down NotionalLimitService. Total orders processed: {}", countOfOrders);
+        log.info("Shutting down NotionalLimitService. Total orders processed: {}, ingress counters: {}", countOfOrders, getIngressCounters());
         disruptorService.stop();
     }
 
@@ -43,17 +84,161 @@ public class NotionalLimitService {
                 log.error("Invalid order: {}", order);
                 return;
             }
-            disruptorService.push(order);
+            String orderId = order.getOrderId();
+            int version = order.getVersion();
+            if (!spillJournal.isSpilling() && disruptorService.tryPush(order)) {
+                acceptedOrders.incrementAndGet();
+                recordAccepted(orderId, version);
+                return;
+            }
+            if (onRingFull(order, () -> disruptorService.push(order)))
+                recordAccepted(orderId, version);
         } finally {
             MDC.remove("errorId");
         }
     }
     
+    public boolean processBinaryOrder(ByteBuffer buffer) {
+        countOfOrders++;
+        int offset = buffer.position();
+        if (BinaryOrderCodec.quantity(buffer, offset) <= 0 || BinaryOrderCodec.price(buffer, offset) <= 0
+                || !BinaryOrderCodec.hasValidSide(buffer, offset) || !BinaryOrderCodec.hasKnownCurrency(buffer, offset)) {
+            log.error("ERR-024: Invalid binary order with quantity: {}, price: {}, valid side: {} and known currency: {}",
+                    BinaryOrderCodec.quantity(buffer, offset), BinaryOrderCodec.price(buffer, offset),
+                    BinaryOrderCodec.hasValidSide(buffer, offset), BinaryOrderCodec.hasKnownCurrency(buffer, offset));
+            return false;
+        }
+        // An unknown owner would only be rejected on the engine thread, it is not worth a ring slot.
+        String ownerId = BinaryOrderCodec.ownerId(buffer, offset);
+        if (!persistenceService.isKnownTraderUserId(ownerId)) {
+            log.warn("ERR-028: Dropped binary order for unknown owner: {}", ownerId);
+            return false;
+        }
+        int orderIdOffset = BinaryOrderCodec.orderIdOffset(offset);
+        int version = BinaryOrderCodec.orderVersion(buffer, offset);
+        if (dedupSet.contains(buffer, orderIdOffset, BinaryOrderCodec.orderIdLength(), version)) {
+            log.warn("Dropped duplicate binary order at version: {}", version);
+            return false;
+        }
+        if (!spillJournal.isSpilling() && disruptorService.tryPush(BinaryOrderCodec.TRANSLATOR, buffer)) {
+            acceptedOrders.incrementAndGet();
+            dedupSet.add(buffer, orderIdOffset, BinaryOrderCodec.orderIdLength(), version);
+            return true;
+        }
+        Order order = new Order();
+        BinaryOrderCodec.decode(buffer, offset, order);
+        boolean queued = onRingFull(order, () -> disruptorService.push(BinaryOrderCodec.TRANSLATOR, buffer));
+        if (queued)
+            dedupSet.add(buffer, orderIdOffset, BinaryOrderCodec.orderIdLength(), version);
+        return queued;
+    }
+
+    // Only an order the ring or the spill journal has taken is recorded as seen, a shed order may be redelivered.
+    private void recordAccepted(String orderId, int version) {
+        if (orderId != null)
+            dedupSet.add(orderId, version);
+    }
+
+    private boolean onRingFull(Order order, Runnable blockingPush) {
+        switch (ringFullPolicy) {
+            case BLOCK:
+                blockingPush.run();
+                blockedOrders.incrementAndGet();
+                return true;
+            case SHED:
+                shedOrders.incrementAndGet();
+                publishRejection(order);
+                return false;
+            case SPILL:
+                try {
+                    spillJournal.append(order);
+                    spilledOrders.incrementAndGet();
+                    return true;
+                } catch (Exception e) {
+                    spillFailures.incrementAndGet();
+                    log.error("ERR-010: Failed to spill order: {}, shedding it instead", order.getOrderId(), e);
+                    shedOrders.incrementAndGet();
+                    publishRejection(order);
+                    return false;
+                }
+            default:
+                return false;
+        }
+    }
+
+    private void publishRejection(Order order) {
+        try {
+            Map<String, Object> rejection = new HashMap<>();
+            rejection.put("orderId", order.getOrderId());
+            rejection.put("ownerId", order.getOwnerId());
+            rejection.put("reason", ENGINE_BUSY);
+            MessageBuffer message = ampsMessageOutboundProcessor.acquireBuffer();
+            objectMapper.writeValue(message, rejection);
+            ampsMessageOutboundProcessor.publishOrderRejection(message);
+        } catch (Exception e) {
+            log.error("ERR-012: Failed to create rejection message for order: {}", order.getOrderId(), e);
+        }
+    }
+
+    public Map<String, Object> getIngressCounters() {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("policy", ringFullPolicy);
+        counters.put("accepted", acceptedOrders.get());
+        counters.put("blocked", blockedOrders.get());
+        counters.put("shed", shedOrders.get());
+        counters.put("spilled", spilledOrders.get());
+        counters.put("spillFailures", spillFailures.get());
+        counters.put("spillPending", spillJournal.getPendingOrders());
+        counters.put("spillReplayed", spillJournal.getReplayedOrders());
+        counters.put("ringRemainingCapacity", disruptorService.getRemainingCapacity());
+        return counters;
+    }
+
+    // Returns the submitted limits carrying the current notionals they were applied against on the engine thread.
+    public List<DeskNotionalLimit> upsertDeskNotionalLimits(List<DeskNotionalLimit> deskNotionalLimits) throws Exception {
+        persistenceService.bulkSaveDeskNotionalLimits(deskNotionalLimits);
+        await(disruptorService.pushDeskLimitUpsert(deskNotionalLimits));
+        return deskNotionalLimits;
+    }
+
+    public void deleteDeskNotionalLimit(UUID deskId) throws Exception {
+        persistenceService.deleteDeskNotionalLimit(deskId);
+        await(disruptorService.pushDeskLimitDelete(deskId));
+    }
+
+    public void deleteTraderNotionalLimit(UUID traderId) throws Exception {
+        persistenceService.deleteTraderNotionalLimit(traderId);
+        await(disruptorService.pushTraderLimitDelete(traderId));
+    }
+
+    public void moveTrader(UUID traderId, UUID targetDeskId) throws Exception {
+        List<Desk> desks = persistenceService.saveTraderMove(traderId, targetDeskId);
+        await(disruptorService.pushTraderMove(desks));
+    }
+
+    public void updateFxRates(Map<Currency, Double> fxRates) throws Exception {
+        fxRates.forEach((currency, rate) -> {
+            if (rate == null || rate <= 0)
+                throw new IllegalArgumentException("Invalid FX rate: " + currency + " -> " + rate);
+        });
+        await(disruptorService.pushFxUpdate(fxRates));
+    }
+
+    public void resetNotionals() throws Exception {
+        await(disruptorService.pushReset());
+    }
+
+    private void await(CompletableFuture<Void> completion) throws Exception {
+        completion.get(commandTimeoutMs, TimeUnit.MILLISECONDS);
+    }
+
     private static boolean isValidOrder(Order order) {
         if (order.getQuantity() <= 0)
             return false;
         if (order.getPrice() <= 0)
             return false;
+        if (order.getSide() == null || !CURRENCIES.contains(order.getSettlementCurrency()))
+            return false;
         return true;
     }
 } 
\ No newline at end of file
@@ -0,0 +1,168 @@
+package com.trading.service;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import com.trading.service.disruptor.LimitEngineListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Ingress checks an order with contains before parsing it and records it with add only once the ring or the spill journal
+// has taken it, so an order dropped on the way can be redelivered. The set is cleared on the engine thread by the
+// end-of-day ROLLOVER command, so it forgets exactly the orders sequenced into the closing day.
+@Component
+public class OrderDedupSet implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(OrderDedupSet.class);
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final long EMPTY = 0L;
+    @Value("${ingress.dedup.capacity}")
+    private int requestedCapacity;
+    private ByteBuffer slots;
+    private int mask;
+    private int maxEntries;
+    private int size;
+    private long duplicates;
+    private long overflows;
+    private long resets;
+    private boolean overflowLogged;
+
+    @PostConstruct
+    public void initialize()
+    {
+        int capacity = Integer.highestOneBit(Math.max(16, requestedCapacity - 1) << 1);
+        slots = ByteBuffer.allocateDirect(capacity * Long.BYTES);
+        mask = capacity - 1;
+        maxEntries = capacity - (capacity >> 2);
+        log.info("Allocated {} KB off-heap order dedup set with {} slots holding up to {} order versions", (capacity * Long.BYTES) >> 10, capacity, maxEntries);
+    }
+
+    public boolean contains(byte[] orderId, int offset, int length, int version)
+    {
+        return probe(key(hash(orderId, offset, length), version), false);
+    }
+
+    public boolean contains(ByteBuffer orderId, int offset, int maxLength, int version)
+    {
+        return probe(key(hash(orderId, offset, maxLength), version), false);
+    }
+
+    public boolean add(ByteBuffer orderId, int offset, int maxLength, int version)
+    {
+        return !probe(key(hash(orderId, offset, maxLength), version), true);
+    }
+
+    public boolean add(String orderId, int version)
+    {
+        byte[] bytes = orderId.getBytes(StandardCharsets.UTF_8);
+        return !probe(key(hash(bytes, 0, bytes.length), version), true);
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+    }
+
+    @Override
+    public void onRollover(long sequence, UtilisationSnapshot snapshot)
+    {
+        clear();
+        log.info("Cleared order dedup set at rollover sequence: {}", sequence);
+    }
+
+    public synchronized void clear()
+    {
+        for (int i = 0; i <= mask; i++)
+            slots.putLong(i * Long.BYTES, EMPTY);
+        size = 0;
+        resets++;
+        overflowLogged = false;
+    }
+
+    public synchronized Map<String, Object> getCounters()
+    {
+        Map<String, Object> counters = new LinkedHashMap<>();
+        counters.put("size", size);
+        counters.put("capacity", maxEntries);
+        counters.put("duplicates", duplicates);
+        counters.put("overflows", overflows);
+        counters.put("resets", resets);
+        return counters;
+    }
+
+    // Returns true when this orderId and version pair has already been recorded since the last reset, recording it if not
+    // and asked to.
+    private synchronized boolean probe(long key, boolean record)
+    {
+        int index = (int) key & mask;
+        long existing;
+        while ((existing = slots.getLong(index * Long.BYTES)) != EMPTY)
+        {
+            if (existing == key)
+            {
+                duplicates++;
+                return true;
+            }
+            index = (index + 1) & mask;
+        }
+
+        if (!record)
+            return false;
+
+        if (size >= maxEntries)
+        {
+            overflows++;
+            if (!overflowLogged)
+            {
+                overflowLogged = true;
+                log.warn("ERR-013: Order dedup set is full at {} order versions, further orders are not checked for duplicates until the next rollover", size);
+            }
+            return false;
+        }
+
+        slots.putLong(index * Long.BYTES, key);
+        size++;
+        return false;
+    }
+
+    private static long hash(byte[] orderId, int offset, int length)
+    {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = offset; i < offset + length; i++)
+            hash = (hash ^ (orderId[i] & 0xFF)) * FNV_PRIME;
+        return hash;
+    }
+
+    private static long hash(ByteBuffer orderId, int offset, int maxLength)
+    {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = offset; i < offset + maxLength && orderId.get(i) != 0; i++)
+            hash = (hash ^ (orderId.get(i) & 0xFF)) * FNV_PRIME;
+        return hash;
+    }
+
+    private static long key(long hash, int version)
+    {
+        long key = mix(hash ^ (version * 0x9e3779b97f4a7c15L));
+        return key == EMPTY ? 1 : key;
+    }
+
+    private static long mix(long key)
+    {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb93fe1a85d28L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
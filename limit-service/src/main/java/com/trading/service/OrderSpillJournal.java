@@ -0,0 +1,279 @@
+package com.trading.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalTimeDeserializer;
+import com.trading.model.Order;
+import com.trading.service.disruptor.DisruptorService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Component
+@RequiredArgsConstructor
+public class OrderSpillJournal
+{
+    private static final Logger log = LoggerFactory.getLogger(OrderSpillJournal.class);
+    @Value("${ingress.spill.directory}")
+    private String spillDirectory;
+    @Autowired
+    private final DisruptorService disruptorService;
+    private final Object lock = new Object();
+    private final AtomicLong replayedOrders = new AtomicLong();
+    private ObjectMapper objectMapper;
+    private volatile boolean spilling;
+    private volatile boolean running;
+    private long pending;
+    private Path spillFile;
+    private BufferedWriter writer;
+    private BufferedReader reader;
+    private Thread replayThread;
+    private List<Path> leftoverFiles = List.of();
+
+    @PostConstruct
+    public void initialize() throws IOException
+    {
+        objectMapper = new ObjectMapper();
+        JavaTimeModule javaTimeModule = new JavaTimeModule();
+        javaTimeModule.addDeserializer(LocalDate.class, new LocalDateDeserializer(DateTimeFormatter.ofPattern("M/d/yyyy", Locale.ENGLISH)));
+        javaTimeModule.addDeserializer(LocalTime.class, new LocalTimeDeserializer(DateTimeFormatter.ofPattern("h:mm:ss a", Locale.ENGLISH)));
+        objectMapper.registerModule(javaTimeModule);
+
+        Files.createDirectories(Paths.get(spillDirectory));
+        leftoverFiles = findLeftoverFiles();
+        if (!leftoverFiles.isEmpty())
+            log.warn("Found {} spill files left by a previous run in: {}, replaying them once the engine starts: {}", leftoverFiles.size(), spillDirectory, leftoverFiles);
+        running = true;
+        replayThread = new Thread(this::replay, "order-spill-replay");
+        replayThread.setDaemon(true);
+        replayThread.start();
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        running = false;
+        replayThread.interrupt();
+        synchronized (lock)
+        {
+            if (pending > 0)
+                log.warn("Shutting down with {} spilled orders not replayed, left in: {}", pending, spillFile);
+        }
+    }
+
+    // Called once the engine has started and before ingress opens, so orders spilled by a previous run that stopped before
+    // replaying them are sequenced ahead of any new order. A file that cannot be read is left in place for inspection.
+    public void replayLeftovers()
+    {
+        for (Path leftoverFile : leftoverFiles)
+        {
+            long replayed = 0;
+            try (BufferedReader leftoverReader = Files.newBufferedReader(leftoverFile, StandardCharsets.UTF_8))
+            {
+                String line;
+                while ((line = leftoverReader.readLine()) != null)
+                {
+                    if (line.isBlank())
+                        continue;
+                    try
+                    {
+                        disruptorService.push(objectMapper.readValue(line, Order.class));
+                        replayed++;
+                    }
+                    catch (Exception e)
+                    {
+                        log.error("ERR-025: Lost spilled order, failed to replay: {}", line, e);
+                    }
+                }
+            }
+            catch (IOException e)
+            {
+                log.error("ERR-029: Failed to read spill file left by a previous run: {}, leaving it in place after replaying {} orders", leftoverFile, replayed, e);
+                continue;
+            }
+
+            replayedOrders.addAndGet(replayed);
+            try
+            {
+                Files.deleteIfExists(leftoverFile);
+                log.info("Replayed {} orders spilled by a previous run, removed: {}", replayed, leftoverFile);
+            }
+            catch (IOException e)
+            {
+                log.error("ERR-026: Failed to close spill file: {}", leftoverFile, e);
+            }
+        }
+        leftoverFiles = List.of();
+    }
+
+    public boolean isSpilling()
+    {
+        return spilling;
+    }
+
+    public long getPendingOrders()
+    {
+        synchronized (lock)
+        {
+            return pending;
+        }
+    }
+
+    public long getReplayedOrders()
+    {
+        return replayedOrders.get();
+    }
+
+    // Waits until every spilled order has been pushed to the engine and the spill file closed and removed, so a following
+    // command is sequenced after them and nothing spilled before it is left on disk.
+    public boolean awaitDrained(long timeoutMs) throws InterruptedException
+    {
+        long deadline = System.currentTimeMillis() + timeoutMs;
+        synchronized (lock)
+        {
+            while (spilling)
+            {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0)
+                    return false;
+                lock.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    public void append(Order order) throws IOException
+    {
+        String line = order.toJSON();
+        synchronized (lock)
+        {
+            if (writer == null)
+                open();
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+            pending++;
+            spilling = true;
+            lock.notifyAll();
+        }
+    }
+
+    // Oldest first, the file names carry the time each spill started.
+    private List<Path> findLeftoverFiles() throws IOException
+    {
+        try (Stream<Path> files = Files.list(Paths.get(spillDirectory)))
+        {
+            return files.filter(file -> file.getFileName().toString().matches("orders-\\d+\\.jsonl"))
+                    .sorted(Comparator.comparingLong(file -> Long.parseLong(file.getFileName().toString().replaceAll("\\D", ""))))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void open() throws IOException
+    {
+        spillFile = Paths.get(spillDirectory, "orders-" + System.currentTimeMillis() + ".jsonl");
+        writer = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8);
+        reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8);
+        log.warn("Ring buffer full, spilling orders to: {}", spillFile);
+    }
+
+    private void replay()
+    {
+        while (running)
+        {
+            String line;
+            try
+            {
+                synchronized (lock)
+                {
+                    while (pending == 0)
+                        lock.wait();
+                    line = reader.readLine();
+                    pending--;
+                }
+            }
+            catch (InterruptedException e)
+            {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            catch (Exception e)
+            {
+                synchronized (lock)
+                {
+                    log.error("ERR-011: Failed to read spilled orders from: {}, lost {} orders", spillFile, pending, e);
+                    pending = 0;
+                }
+                line = null;
+            }
+
+            try
+            {
+                if (line != null)
+                {
+                    disruptorService.push(objectMapper.readValue(line, Order.class));
+                    replayedOrders.incrementAndGet();
+                }
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-025: Lost spilled order, failed to replay: {}", line, e);
+            }
+            finally
+            {
+                synchronized (lock)
+                {
+                    if (pending == 0)
+                    {
+                        close();
+                        lock.notifyAll();
+                    }
+                }
+            }
+        }
+    }
+
+    // Always leaves the journal ready for the next spill, even if the file could not be closed or removed.
+    private void close()
+    {
+        try
+        {
+            writer.close();
+            reader.close();
+            Files.deleteIfExists(spillFile);
+            log.info("Replayed all spilled orders, removed: {}", spillFile);
+        }
+        catch (IOException e)
+        {
+            log.error("ERR-026: Failed to close spill file: {}", spillFile, e);
+        }
+        finally
+        {
+            writer = null;
+            reader = null;
+            spilling = false;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.trading.service;
 
+import com.mongodb.bulk.BulkWriteResult;
 import com.trading.model.Desk;
 import com.trading.model.DeskNotionalLimit;
 import com.trading.model.Trader;
@@ -8,16 +9,29 @@ import com.trading.repository.DeskNotionalLimitRepository;
 import com.trading.repository.DeskRepository;
 import com.trading.repository.TraderNotionalLimitRepository;
 import com.trading.repository.TraderRepository;
+import com.trading.seed.ReferenceDataSeeder;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import javax.annotation.PostConstruct;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 
 @Service
@@ -33,88 +47,157 @@ public class TradingPersistenceService
     private final TraderRepository traderRepository;
     @Autowired
     private final TraderNotionalLimitRepository traderNotionalLimitRepository;
+    @Autowired
+    private final ObjectProvider<MongoTemplate> mongoTemplateProvider;
+    @Autowired
+    private final ObjectProvider<ReferenceDataSeeder> seederProvider;
     private final Map<UUID, DeskNotionalLimit> deskNotionalLimitCache = new ConcurrentHashMap<>();
     private final Map<UUID, TraderNotionalLimit> traderNotionalLimitCache = new ConcurrentHashMap<>();
     private final Map<UUID, List<TraderNotionalLimit>> deskTradersCache = new ConcurrentHashMap<>();
     private Map<UUID, Desk> desksCache = new ConcurrentHashMap<>();
     private Map<UUID, Trader> tradersCache = new ConcurrentHashMap<>();
+    private final Map<String, Trader> tradersByUserId = new ConcurrentHashMap<>();
+    private final Map<UUID, UUID> traderDeskIds = new ConcurrentHashMap<>();
     
     @PostConstruct
     public void initializeCaches()
     {
         log.info("Initializing trading data caches from MongoDB");
+        AtomicInteger loaderCount = new AtomicInteger();
+        ExecutorService loaders = Executors.newFixedThreadPool(4, runnable ->
+        {
+            Thread thread = new Thread(runnable, "cache-loader-" + loaderCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
         try
         {
-            List<Desk> desks = deskRepository.findAll();
-            desks.forEach(desk -> desksCache.put(desk.getDeskId(), desk));
-            log.info("Loaded {} desks from MongoDB", desks.size());
-
-            List<Trader> traders = traderRepository.findAll();
-            traders.forEach(trader -> tradersCache.put(trader.getTraderId(), trader));
-            log.info("Loaded {} traders from MongoDB", traders.size());
+            seederProvider.ifAvailable(ReferenceDataSeeder::seed);
 
-            List<DeskNotionalLimit> deskNotionalLimits = deskNotionalLimitRepository.findAll();
-            deskNotionalLimits.forEach(deskNotionalLimit -> deskNotionalLimitCache.put(deskNotionalLimit.getDeskId(), deskNotionalLimit));
-            log.info("Loaded {} desk notional limits from MongoDB", deskNotionalLimits.size());
-
-            List<TraderNotionalLimit> tradersNotionalLimits = traderNotionalLimitRepository.findAll();
-            tradersNotionalLimits.forEach(traderNotionalLimit -> traderNotionalLimitCache.put(traderNotionalLimit.getTraderId(), traderNotionalLimit));
-            log.info("Loaded {} trader notional limits from MongoDB", tradersNotionalLimits.size());
-
-            deskTradersCache.putAll(tradersNotionalLimits.stream().collect(Collectors.groupingBy(TraderNotionalLimit::getTraderId)));
-            log.info("Initialized desk traders cache with {} entries", deskTradersCache.size());
+            long started = System.nanoTime();
+            CompletableFuture.allOf(
+                    CompletableFuture.runAsync(() -> load("desks", deskRepository.streamAllBy(), this::cacheDesk), loaders),
+                    CompletableFuture.runAsync(() -> load("traders", traderRepository.streamAllBy(), this::applyTrader), loaders),
+                    CompletableFuture.runAsync(() -> load("desk notional limits", deskNotionalLimitRepository.streamAllBy(),
+                            deskNotionalLimit -> deskNotionalLimitCache.put(deskNotionalLimit.getDeskId(), deskNotionalLimit)), loaders),
+                    CompletableFuture.runAsync(() -> load("trader notional limits", traderNotionalLimitRepository.streamAllBy(), traderNotionalLimit ->
+                    {
+                        traderNotionalLimitCache.put(traderNotionalLimit.getTraderId(), traderNotionalLimit);
+                        deskTradersCache.computeIfAbsent(traderNotionalLimit.getTraderId(), traderId -> new ArrayList<>()).add(traderNotionalLimit);
+                    }), loaders)).join();
+            log.info("Initialized caches in {} ms, desk traders cache has {} entries", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started), deskTradersCache.size());
         }
         catch (Exception e)
         {
             log.error("ERR-201: Failed to initialize caches from MongoDB", e);
             throw new RuntimeException("Failed to initialize trading data", e);
         }
+        finally
+        {
+            loaders.shutdown();
+        }
     }
-    
-    @Transactional
-    public DeskNotionalLimit saveDeskNotionalLimit(DeskNotionalLimit deskNotionalLimit)
+
+    private <T> void load(String name, Stream<T> documents, Consumer<T> cache)
     {
+        long started = System.nanoTime();
+        long count = 0;
+        try (documents)
+        {
+            Iterator<T> iterator = documents.iterator();
+            while (iterator.hasNext())
+            {
+                cache.accept(iterator.next());
+                count++;
+            }
+        }
+        log.info("Loaded {} {} from MongoDB in {} ms", count, name, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+    }
+
+    public void bulkSaveDeskNotionalLimits(List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        MongoTemplate mongoTemplate = mongoTemplateProvider.getIfAvailable();
+        if (mongoTemplate == null)
+        {
+            upsertDeskNotionalLimits(deskNotionalLimits);
+            return;
+        }
+
         try
         {
-            DeskNotionalLimit savedDeskNotionalLimit = deskNotionalLimitRepository.save(deskNotionalLimit);
-            deskNotionalLimitCache.put(savedDeskNotionalLimit.getDeskId(), savedDeskNotionalLimit);
-            log.info("Saved desk notional with ID: {} to MongoDB and cache", savedDeskNotionalLimit.getDeskId());
-            return savedDeskNotionalLimit;
+            BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DeskNotionalLimit.class);
+            for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
+            {
+                Update update = new Update()
+                        .set("buyNotionalLimit", deskNotionalLimit.getBuyNotionalLimit())
+                        .set("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit())
+                        .set("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit())
+                        .setOnInsert("currentBuyNotional", 0.0)
+                        .setOnInsert("currentSellNotional", 0.0)
+                        .setOnInsert("currentGrossNotional", 0.0);
+                bulkOperations.upsert(Query.query(Criteria.where("_id").is(deskNotionalLimit.getDeskId())), update);
+            }
+            BulkWriteResult result = bulkOperations.execute();
+            log.info("Bulk saved {} desk notional limits to MongoDB, {} updated and {} inserted", deskNotionalLimits.size(), result.getMatchedCount(), result.getUpserts().size());
         }
         catch (Exception e)
         {
-            log.error("ERR-202: Failed to save desk: {}", deskNotionalLimit.getDeskId(), e);
+            log.error("ERR-206: Failed to bulk save {} desk notional limits", deskNotionalLimits.size(), e);
             throw e;
         }
     }
-    
-    @Transactional
-    public TraderNotionalLimit saveTraderNotionalLimit(TraderNotionalLimit traderNotionalLimit)
+
+    private void upsertDeskNotionalLimits(List<DeskNotionalLimit> deskNotionalLimits)
     {
-        try
+        List<DeskNotionalLimit> upserts = new ArrayList<>(deskNotionalLimits.size());
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
         {
-            TraderNotionalLimit savedTraderNotionalLimit = traderNotionalLimitRepository.save(traderNotionalLimit);
-            traderNotionalLimitCache.put(savedTraderNotionalLimit.getTraderId(), savedTraderNotionalLimit);
-            deskTradersCache.computeIfAbsent(savedTraderNotionalLimit.getTraderId(), k -> new java.util.ArrayList<>()).add(savedTraderNotionalLimit);
-            log.info("Saved trader notional with ID: {} to MongoDB and cache", savedTraderNotionalLimit.getTraderId());
-            return savedTraderNotionalLimit;
+            DeskNotionalLimit upsert = new DeskNotionalLimit(deskNotionalLimit.getDeskId());
+            upsert.setBuyNotionalLimitMicros(deskNotionalLimit.getBuyNotionalLimitMicros());
+            upsert.setSellNotionalLimitMicros(deskNotionalLimit.getSellNotionalLimitMicros());
+            upsert.setGrossNotionalLimitMicros(deskNotionalLimit.getGrossNotionalLimitMicros());
+            deskNotionalLimitRepository.findById(deskNotionalLimit.getDeskId()).ifPresent(existing ->
+            {
+                upsert.setCurrentBuyNotionalMicros(existing.getCurrentBuyNotionalMicros());
+                upsert.setCurrentSellNotionalMicros(existing.getCurrentSellNotionalMicros());
+                upsert.setCurrentGrossNotionalMicros(existing.getCurrentGrossNotionalMicros());
+            });
+            upserts.add(upsert);
         }
-        catch (Exception e)
+        deskNotionalLimitRepository.saveAll(upserts);
+        log.info("Saved {} desk notional limits through the repository", upserts.size());
+    }
+
+    public List<DeskNotionalLimit> applyDeskNotionalLimits(List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        List<DeskNotionalLimit> applied = new ArrayList<>(deskNotionalLimits.size());
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
         {
-            log.error("ERR-203: Failed to save trader: {}", traderNotionalLimit.getTraderId(), e);
-            throw e;
+            DeskNotionalLimit live = deskNotionalLimitCache.get(deskNotionalLimit.getDeskId());
+            if (live == null)
+            {
+                live = new DeskNotionalLimit(deskNotionalLimit.getDeskId());
+                deskNotionalLimitCache.put(live.getDeskId(), live);
+            }
+            live.setBuyNotionalLimitMicros(deskNotionalLimit.getBuyNotionalLimitMicros());
+            live.setSellNotionalLimitMicros(deskNotionalLimit.getSellNotionalLimitMicros());
+            live.setGrossNotionalLimitMicros(deskNotionalLimit.getGrossNotionalLimitMicros());
+            // Echo the live current notionals back into the submitted limit so callers can return what was applied.
+            deskNotionalLimit.setCurrentBuyNotionalMicros(live.getCurrentBuyNotionalMicros());
+            deskNotionalLimit.setCurrentSellNotionalMicros(live.getCurrentSellNotionalMicros());
+            deskNotionalLimit.setCurrentGrossNotionalMicros(live.getCurrentGrossNotionalMicros());
+            applied.add(live);
         }
+        return applied;
     }
-    
+
     @Transactional
     public void deleteDeskNotionalLimit(UUID deskId)
     {
         try
         {
             deskNotionalLimitRepository.deleteById(deskId);
-            deskNotionalLimitCache.remove(deskId);
-            deskTradersCache.remove(deskId);
-            log.info("Deleted desk and its limits with ID: {} from MongoDB and cache", deskId);
+            log.info("Deleted desk limits with ID: {} from MongoDB", deskId);
         }
         catch (Exception e)
         {
@@ -128,16 +211,8 @@ public class TradingPersistenceService
     {
         try
         {
-            TraderNotionalLimit trader = traderNotionalLimitCache.get(traderId);
-            if (trader != null)
-            {
-                deskTradersCache.getOrDefault(trader.getTraderId(), new java.util.ArrayList<>())
-                    .removeIf(t -> t.getTraderId().equals(traderId));
-            }
-            
             traderNotionalLimitRepository.deleteById(traderId);
-            traderNotionalLimitCache.remove(traderId);
-            log.info("Deleted trader with ID: {} from MongoDB and cache", traderId);
+            log.info("Deleted trader with ID: {} from MongoDB", traderId);
         }
         catch (Exception e)
         {
@@ -146,6 +221,127 @@ public class TradingPersistenceService
         }
     }
     
+    public List<Desk> saveTraderMove(UUID traderId, UUID targetDeskId)
+    {
+        try
+        {
+            List<Desk> changed = new ArrayList<>();
+            for (Desk desk : desksCache.values())
+            {
+                boolean target = desk.getDeskId().equals(targetDeskId);
+                if (!target && !desk.getTraders().contains(traderId))
+                    continue;
+
+                Desk copy = new Desk();
+                copy.setDeskId(desk.getDeskId());
+                copy.setDeskName(desk.getDeskName());
+                copy.setTraders(new ArrayList<>(desk.getTraders()));
+                copy.getTraders().remove(traderId);
+                if (target)
+                    copy.getTraders().add(traderId);
+                changed.add(copy);
+            }
+            deskRepository.saveAll(changed);
+            log.info("Saved move of trader: {} to desk: {} to MongoDB", traderId, targetDeskId);
+            return changed;
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-207: Failed to move trader: {} to desk: {}", traderId, targetDeskId, e);
+            throw e;
+        }
+    }
+
+    public void evictDeskNotionalLimit(UUID deskId)
+    {
+        deskNotionalLimitCache.remove(deskId);
+        deskTradersCache.remove(deskId);
+    }
+
+    public void evictTraderNotionalLimit(UUID traderId)
+    {
+        TraderNotionalLimit trader = traderNotionalLimitCache.remove(traderId);
+        if (trader != null)
+            deskTradersCache.getOrDefault(trader.getTraderId(), new ArrayList<>()).removeIf(t -> t.getTraderId().equals(traderId));
+    }
+
+    // Change-feed upserts only add traders the book does not know yet: the live currents are ahead of whatever Mongo holds.
+    public TraderNotionalLimit applyTraderNotionalLimit(TraderNotionalLimit traderNotionalLimit)
+    {
+        TraderNotionalLimit live = traderNotionalLimitCache.putIfAbsent(traderNotionalLimit.getTraderId(), traderNotionalLimit);
+        return live == null ? traderNotionalLimit : live;
+    }
+
+    // Replication only: the primary's currents are authoritative. Updates the live instance in place, the desk trader lists
+    // hold references to it.
+    public TraderNotionalLimit restoreTraderNotionalLimit(TraderNotionalLimit traderNotionalLimit)
+    {
+        TraderNotionalLimit live = traderNotionalLimitCache.putIfAbsent(traderNotionalLimit.getTraderId(), traderNotionalLimit);
+        if (live == null)
+            return traderNotionalLimit;
+
+        live.setCurrentBuyNotionalMicros(traderNotionalLimit.getCurrentBuyNotionalMicros());
+        live.setCurrentSellNotionalMicros(traderNotionalLimit.getCurrentSellNotionalMicros());
+        live.setCurrentGrossNotionalMicros(traderNotionalLimit.getCurrentGrossNotionalMicros());
+        return live;
+    }
+
+    public void applyDesks(List<Desk> desks)
+    {
+        desks.forEach(this::cacheDesk);
+    }
+
+    public void evictDesk(UUID deskId)
+    {
+        Desk removed = desksCache.remove(deskId);
+        if (removed != null)
+            unmapTraders(removed);
+    }
+
+    private void cacheDesk(Desk desk)
+    {
+        Desk previous = desksCache.put(desk.getDeskId(), desk);
+        if (previous != null)
+            unmapTraders(previous);
+        desk.getTraders().forEach(traderId -> traderDeskIds.put(traderId, desk.getDeskId()));
+    }
+
+    private void unmapTraders(Desk desk)
+    {
+        desk.getTraders().forEach(traderId -> traderDeskIds.remove(traderId, desk.getDeskId()));
+    }
+
+    public void applyTrader(Trader trader)
+    {
+        Trader previous = tradersCache.put(trader.getTraderId(), trader);
+        if (previous != null)
+            tradersByUserId.remove(previous.getUserId(), previous);
+        tradersByUserId.put(trader.getUserId(), trader);
+    }
+
+    public void evictTrader(UUID traderId)
+    {
+        Trader removed = tradersCache.remove(traderId);
+        if (removed != null)
+            tradersByUserId.remove(removed.getUserId(), removed);
+    }
+
+    public void resetCurrentNotionals()
+    {
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimitCache.values())
+        {
+            deskNotionalLimit.setCurrentBuyNotionalMicros(0);
+            deskNotionalLimit.setCurrentSellNotionalMicros(0);
+            deskNotionalLimit.setCurrentGrossNotionalMicros(0);
+        }
+        for (TraderNotionalLimit traderNotionalLimit : traderNotionalLimitCache.values())
+        {
+            traderNotionalLimit.setCurrentBuyNotionalMicros(0);
+            traderNotionalLimit.setCurrentSellNotionalMicros(0);
+            traderNotionalLimit.setCurrentGrossNotionalMicros(0);
+        }
+    }
+
     public DeskNotionalLimit getDeskNotionalLimit(UUID deskId)
     {
         return deskNotionalLimitCache.get(deskId);
@@ -201,25 +397,31 @@ public class TradingPersistenceService
         return desksCache.get(deskId);
     }
 
+    public List<Desk> getAllDesks()
+    {
+        return new ArrayList<>(desksCache.values());
+    }
+
     public Optional<Desk> findDeskByTraderId(UUID traderId)
     {
-        return desksCache.values().stream().filter(desk -> desk.getTraders().contains(traderId)).findFirst();
+        UUID deskId = traderDeskIds.get(traderId);
+        return deskId == null ? Optional.empty() : Optional.ofNullable(desksCache.get(deskId));
     }
 
     public String findTraderFullNameByUserId(String userId)
     {
-        for (Trader trader : tradersCache.values())
-        {
-            if (trader.getUserId().equals(userId))
-                return trader.getFirstName() + " " + trader.getLastName();
-        }
+        Trader trader = tradersByUserId.get(userId);
+        return trader == null ? userId : trader.getFirstName() + " " + trader.getLastName();
+    }
 
-        return userId;
+    public boolean isKnownTraderUserId(String userId)
+    {
+        return tradersByUserId.containsKey(userId);
     }
 
     public Optional<Trader> findTraderByUserId(String userId)
     {
-        return tradersCache.values().stream().filter(trader -> trader.getUserId().equals(userId)).findFirst();
+        return Optional.ofNullable(tradersByUserId.get(userId));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,174 @@
+package com.trading.service.disruptor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Token buckets per desk, breach type and threshold, capping how fast a runaway desk can publish breaches. Suppressed
+// breaches are counted and reported on the next message that gets through, or flushed at the end of a batch once the
+// bucket has refilled so a desk that goes quiet still reports them. Engine thread only.
+@Component
+public class BreachThrottle
+{
+    private static final Logger log = LoggerFactory.getLogger(BreachThrottle.class);
+    private static final int PERCENTAGE_SLOTS = 6;
+    private static final BreachType[] BREACH_TYPES = BreachType.values();
+    private static final int SLOTS = BREACH_TYPES.length * PERCENTAGE_SLOTS;
+    private final LongSupplier nanoClock;
+    private final double tokensPerNano;
+    private final double burst;
+    private final Map<UUID, Buckets> desks = new HashMap<>();
+    private final Map<UUID, Buckets> pendingDesks = new LinkedHashMap<>();
+
+    public interface SuppressedSink
+    {
+        void onSuppressed(UUID deskId, BreachType breachType, int limitPercentage, long suppressedCount);
+    }
+
+    @Autowired
+    public BreachThrottle(@Value("${breach.rate.per.second}") double ratePerSecond, @Value("${breach.burst}") int burst)
+    {
+        this(System::nanoTime, ratePerSecond, burst);
+    }
+
+    public BreachThrottle(LongSupplier nanoClock, double ratePerSecond, int burst)
+    {
+        this.nanoClock = nanoClock;
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, burst);
+    }
+
+    // Returns the number of breaches suppressed since the last one published for this key, or -1 to suppress this one.
+    // A rate of zero or less disables throttling.
+    public long tryAcquire(UUID deskId, BreachType breachType, int limitPercentage)
+    {
+        int slot = slot(breachType, limitPercentage);
+        if (slot < 0 || tokensPerNano <= 0)
+            return 0;
+
+        Buckets buckets = desks.get(deskId);
+        long now = nanoClock.getAsLong();
+        if (buckets == null)
+        {
+            buckets = new Buckets(deskId, now);
+            desks.put(deskId, buckets);
+        }
+
+        if (buckets.acquire(slot, now))
+            return buckets.takeSuppressed(slot);
+
+        if (buckets.suppressed[slot]++ == 0)
+        {
+            buckets.pendingSlots++;
+            pendingDesks.put(deskId, buckets);
+            log.warn("Throttling {} {}% breaches for desk: {}, suppressed counts follow once the bucket refills", breachType.getLabel(), limitPercentage, deskId);
+        }
+        return -1;
+    }
+
+    // Reports the suppressed counts whose bucket has a token again, each one spending that token like a published breach.
+    public void flushRefilled(SuppressedSink sink)
+    {
+        if (pendingDesks.isEmpty())
+            return;
+
+        long now = nanoClock.getAsLong();
+        Iterator<Buckets> pending = pendingDesks.values().iterator();
+        while (pending.hasNext())
+        {
+            Buckets buckets = pending.next();
+            for (int slot = 0; slot < SLOTS && buckets.pendingSlots > 0; slot++)
+            {
+                if (buckets.suppressed[slot] > 0 && buckets.acquire(slot, now))
+                    report(buckets, slot, sink);
+            }
+            if (buckets.pendingSlots == 0)
+                pending.remove();
+        }
+    }
+
+    // Reports every outstanding suppressed count regardless of the buckets, then starts every desk from a full burst.
+    public void flushAll(SuppressedSink sink)
+    {
+        for (Buckets buckets : pendingDesks.values())
+        {
+            for (int slot = 0; slot < SLOTS && buckets.pendingSlots > 0; slot++)
+            {
+                if (buckets.suppressed[slot] > 0)
+                    report(buckets, slot, sink);
+            }
+        }
+        pendingDesks.clear();
+        desks.clear();
+    }
+
+    public void remove(UUID deskId)
+    {
+        desks.remove(deskId);
+        pendingDesks.remove(deskId);
+    }
+
+    private static void report(Buckets buckets, int slot, SuppressedSink sink)
+    {
+        sink.onSuppressed(buckets.deskId, BREACH_TYPES[slot / PERCENTAGE_SLOTS], slot % PERCENTAGE_SLOTS * 20, buckets.takeSuppressed(slot));
+    }
+
+    private static int slot(BreachType breachType, int limitPercentage)
+    {
+        int percentageSlot = limitPercentage / 20;
+        if (percentageSlot < 0 || percentageSlot >= PERCENTAGE_SLOTS)
+            return -1;
+
+        return breachType.ordinal() * PERCENTAGE_SLOTS + percentageSlot;
+    }
+
+    private class Buckets
+    {
+        private final UUID deskId;
+        private final double[] tokens = new double[SLOTS];
+        private final long[] refilledNanos = new long[SLOTS];
+        private final long[] suppressed = new long[SLOTS];
+        private int pendingSlots;
+
+        private Buckets(UUID deskId, long now)
+        {
+            this.deskId = deskId;
+            Arrays.fill(tokens, burst);
+            Arrays.fill(refilledNanos, now);
+        }
+
+        private boolean acquire(int slot, long now)
+        {
+            double refilled = Math.min(burst, tokens[slot] + (now - refilledNanos[slot]) * tokensPerNano);
+            refilledNanos[slot] = now;
+            if (refilled < 1)
+            {
+                tokens[slot] = refilled;
+                return false;
+            }
+            tokens[slot] = refilled - 1;
+            return true;
+        }
+
+        private long takeSuppressed(int slot)
+        {
+            long count = suppressed[slot];
+            if (count > 0)
+            {
+                suppressed[slot] = 0;
+                pendingSlots--;
+            }
+            return count;
+        }
+    }
+}
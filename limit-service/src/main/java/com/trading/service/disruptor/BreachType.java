@@ -0,0 +1,32 @@
+package com.trading.service.disruptor;
+
+import com.trading.model.Side;
+
+public enum BreachType
+{
+    FULL_BUY("Full BUY limit"),
+    FULL_SELL("Full SELL limit"),
+    FULL_SHORT_SELL("Full SHORT_SELL limit"),
+    FULL_GROSS("Full Gross limit"),
+    BUY_WARNING("Buy limit"),
+    SELL_WARNING("Sell limit"),
+    GROSS_WARNING("Gross limit");
+
+    private static final BreachType[] FULL_SIDE = { FULL_BUY, FULL_SELL, FULL_SHORT_SELL };
+    private final String label;
+
+    BreachType(String label)
+    {
+        this.label = label;
+    }
+
+    public static BreachType fullSide(Side side)
+    {
+        return FULL_SIDE[side.ordinal()];
+    }
+
+    public String getLabel()
+    {
+        return label;
+    }
+}
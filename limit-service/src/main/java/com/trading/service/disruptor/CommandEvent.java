@@ -0,0 +1,53 @@
+package com.trading.service.disruptor;
+
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskSnapshot;
+import com.trading.model.Order;
+import com.trading.model.ReplicatedNotionals;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import lombok.Data;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+@Component
+@Data
+public class CommandEvent {
+    private final Order reusableOrder = new Order();
+    private final ReplicatedNotionals replicatedNotionals = new ReplicatedNotionals();
+    private CommandType type = CommandType.ORDER;
+    private Order order;
+    private List<DeskNotionalLimit> deskNotionalLimits;
+    private TraderNotionalLimit traderNotionalLimit;
+    private List<Desk> desks;
+    private Trader trader;
+    private UUID entityId;
+    private Map<Currency, Double> fxRates;
+    private UtilisationSnapshot snapshot;
+    private DeskSnapshot deskSnapshot;
+    private CompletableFuture<Void> completion;
+    private String errorId;
+    private long publishNanos;
+
+    public void clear()
+    {
+        type = CommandType.ORDER;
+        order = null;
+        deskNotionalLimits = null;
+        traderNotionalLimit = null;
+        desks = null;
+        trader = null;
+        entityId = null;
+        fxRates = null;
+        snapshot = null;
+        deskSnapshot = null;
+        completion = null;
+        errorId = null;
+    }
+} 
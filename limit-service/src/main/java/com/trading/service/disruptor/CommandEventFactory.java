@@ -4,9 +4,9 @@ import com.lmax.disruptor.EventFactory;
 import org.springframework.stereotype.Component;
 
 @Component
-public class OrderEventFactory implements EventFactory<OrderEvent> {
+public class CommandEventFactory implements EventFactory<CommandEvent> {
     @Override
-    public OrderEvent newInstance() {
-        return new OrderEvent();
+    public CommandEvent newInstance() {
+        return new CommandEvent();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.trading.service.disruptor;
+
+public enum CommandType
+{
+    ORDER,
+    DESK_LIMIT_UPSERT,
+    DESK_LIMIT_DELETE,
+    TRADER_LIMIT_UPSERT,
+    TRADER_LIMIT_DELETE,
+    TRADER_LIMIT_RESTORE,
+    TRADER_MOVE,
+    DESK_UPSERT,
+    DESK_DELETE,
+    TRADER_UPSERT,
+    TRADER_DELETE,
+    FX_UPDATE,
+    RESET,
+    DESK_SNAPSHOT,
+    DESK_RESTORE,
+    BOOK_SNAPSHOT,
+    ROLLOVER,
+    REPLICATED_UPDATE;
+}
@@ -1,15 +1,19 @@
 package com.trading.service.disruptor;
 
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.InsufficientCapacityException;
 import com.lmax.disruptor.RingBuffer;
 import com.trading.model.Order;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 public class DisruptorEventProducer
 {
     private static final Logger logger = LoggerFactory.getLogger(DisruptorEventProducer.class);
-    private final RingBuffer<OrderEvent> ringBuffer;
-    public DisruptorEventProducer(RingBuffer<OrderEvent> ringBuffer)
+    private final RingBuffer<CommandEvent> ringBuffer;
+    public DisruptorEventProducer(RingBuffer<CommandEvent> ringBuffer)
     {
         this.ringBuffer = ringBuffer;
     }
@@ -18,8 +22,10 @@ public class DisruptorEventProducer
         long sequence  = ringBuffer.next();
         try
         {
-            OrderEvent event = ringBuffer.get(sequence);
+            CommandEvent event = ringBuffer.get(sequence);
+            event.clear();
             event.setOrder(order);
+            event.setPublishNanos(System.nanoTime());
         }
         finally
         {
@@ -27,4 +33,78 @@ public class DisruptorEventProducer
         }
 
     }
+    public boolean tryData(Order order)
+    {
+        long sequence;
+        try
+        {
+            sequence = ringBuffer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+        try
+        {
+            CommandEvent event = ringBuffer.get(sequence);
+            event.clear();
+            event.setOrder(order);
+            event.setPublishNanos(System.nanoTime());
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+        return true;
+    }
+    public <A> void onData(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        long sequence  = ringBuffer.next();
+        translateAndPublish(sequence, translator, argument);
+    }
+    public <A> boolean tryData(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        long sequence;
+        try
+        {
+            sequence = ringBuffer.tryNext();
+        }
+        catch (InsufficientCapacityException e)
+        {
+            return false;
+        }
+        translateAndPublish(sequence, translator, argument);
+        return true;
+    }
+    private <A> void translateAndPublish(long sequence, EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        try
+        {
+            CommandEvent event = ringBuffer.get(sequence);
+            translator.translateTo(event, sequence, argument);
+            event.setPublishNanos(System.nanoTime());
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+    }
+    public CompletableFuture<Void> onCommand(CommandType type, Consumer<CommandEvent> payload)
+    {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        long sequence  = ringBuffer.next();
+        try
+        {
+            CommandEvent event = ringBuffer.get(sequence);
+            event.clear();
+            event.setType(type);
+            event.setCompletion(completion);
+            payload.accept(event);
+        }
+        finally
+        {
+            ringBuffer.publish(sequence);
+        }
+        return completion;
+    }
 }
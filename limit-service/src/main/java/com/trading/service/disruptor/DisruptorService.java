@@ -1,11 +1,43 @@
 package com.trading.service.disruptor;
 
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskSnapshot;
 import com.trading.model.Order;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 public interface DisruptorService
 {
-    void start(String name, EventHandler<OrderEvent> actionEventHandler);
+    void start(String name, EventHandler<CommandEvent> actionEventHandler);
     void stop();
     void push(Order order);
+    boolean tryPush(Order order);
+    <A> void push(EventTranslatorOneArg<CommandEvent, A> translator, A argument);
+    <A> boolean tryPush(EventTranslatorOneArg<CommandEvent, A> translator, A argument);
+    CompletableFuture<Void> pushDeskLimitUpsert(List<DeskNotionalLimit> deskNotionalLimits);
+    CompletableFuture<Void> pushDeskLimitDelete(UUID deskId);
+    CompletableFuture<Void> pushTraderLimitUpsert(TraderNotionalLimit traderNotionalLimit);
+    CompletableFuture<Void> pushTraderLimitDelete(UUID traderId);
+    CompletableFuture<Void> pushTraderLimitRestore(TraderNotionalLimit traderNotionalLimit);
+    CompletableFuture<Void> pushTraderMove(List<Desk> desks);
+    CompletableFuture<Void> pushDeskUpsert(List<Desk> desks);
+    CompletableFuture<Void> pushDeskDelete(UUID deskId);
+    CompletableFuture<Void> pushTraderUpsert(Trader trader);
+    CompletableFuture<Void> pushTraderDelete(UUID traderId);
+    CompletableFuture<Void> pushFxUpdate(Map<Currency, Double> fxRates);
+    CompletableFuture<Void> pushReset();
+    CompletableFuture<Void> pushRollover(UtilisationSnapshot snapshot);
+    CompletableFuture<Void> pushDeskSnapshot(DeskSnapshot snapshot);
+    CompletableFuture<Void> pushDeskRestore(DeskSnapshot snapshot);
+    CompletableFuture<Void> pushBookSnapshot(UtilisationSnapshot snapshot);
+    long getRemainingCapacity();
 }
\ No newline at end of file
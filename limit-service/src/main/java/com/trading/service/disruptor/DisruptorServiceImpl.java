@@ -1,40 +1,82 @@
 package com.trading.service.disruptor;
 
-import com.lmax.disruptor.BusySpinWaitStrategy;
 import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.lmax.disruptor.ExceptionHandler;
 import com.lmax.disruptor.RingBuffer;
 import com.lmax.disruptor.dsl.Disruptor;
 import com.lmax.disruptor.dsl.ProducerType;
-import com.lmax.disruptor.util.DaemonThreadFactory;
+import com.trading.affinity.PlacedThreadFactory;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskSnapshot;
 import com.trading.model.Order;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 public class DisruptorServiceImpl implements DisruptorService
 {
     private static final Logger logger = LoggerFactory.getLogger(DisruptorServiceImpl.class);
-    private int counter;
+    private final AtomicLong counter = new AtomicLong();
     private String name;
     private long timeTaken = 0;
-    private Disruptor<OrderEvent> disruptor;
+    private Disruptor<CommandEvent> disruptor;
     private DisruptorEventProducer producer;
     @Value("${buffer.size}")
     private int bufferSize;
+    @Value("${engine.thread.name}")
+    private String threadName;
+    @Value("${engine.cpus:}")
+    private String cpus;
+    @Value("${engine.wait.strategy}")
+    private EngineWaitStrategy waitStrategy;
 
     @Override
-    public void start(String name, EventHandler<OrderEvent> actionEventHandler)
+    public void start(String name, EventHandler<CommandEvent> actionEventHandler)
     {
         this.name = name;
-        counter = 0;
-        OrderEventFactory factory = new OrderEventFactory();
-        disruptor = new Disruptor<>(factory, bufferSize, DaemonThreadFactory.INSTANCE, ProducerType.SINGLE, new BusySpinWaitStrategy());
+        counter.set(0);
+        CommandEventFactory factory = new CommandEventFactory();
+        disruptor = new Disruptor<>(factory, bufferSize, new PlacedThreadFactory(threadName, cpus), ProducerType.MULTI, waitStrategy.create());
+        // The disruptor's default handler rethrows, which stops the engine thread for good on the first escaped exception.
+        disruptor.setDefaultExceptionHandler(new ExceptionHandler<CommandEvent>()
+        {
+            @Override
+            public void handleEventException(Throwable ex, long sequence, CommandEvent event)
+            {
+                logger.error("ERR-892: Engine failed to handle " + event.getType() + " event at sequence: " + sequence + ", continuing", ex);
+                if (event.getCompletion() != null)
+                    event.getCompletion().completeExceptionally(ex);
+            }
+
+            @Override
+            public void handleOnStartException(Throwable ex)
+            {
+                logger.error("ERR-892: Engine failed to start", ex);
+            }
+
+            @Override
+            public void handleOnShutdownException(Throwable ex)
+            {
+                logger.error("ERR-892: Engine failed to shut down", ex);
+            }
+        });
         disruptor.handleEventsWith(actionEventHandler);
         disruptor.start();
-        logger.info("Started " + name + " disruptor.");
-        RingBuffer<OrderEvent> ringBuffer = disruptor.getRingBuffer();
+        logger.info("Started " + name + " disruptor on thread: " + threadName + " with " + waitStrategy + " wait strategy and requested CPUs: " + (cpus.isBlank() ? "any" : cpus));
+        RingBuffer<CommandEvent> ringBuffer = disruptor.getRingBuffer();
         producer = new DisruptorEventProducer(ringBuffer);
         logger.info("Instantiated producer for " + name + " disruptor.");
     }
@@ -42,7 +84,7 @@ public class DisruptorServiceImpl implements DisruptorService
     @Override
     public void stop()
     {
-        logger.info(counter + " events were processed by " + name + " disruptor");
+        logger.info(counter.get() + " events were processed by " + name + " disruptor");
         disruptor.halt();
         logger.info("Halted " + name + " disruptor");
         disruptor.shutdown();
@@ -53,6 +95,133 @@ public class DisruptorServiceImpl implements DisruptorService
     public void push(Order order)
     {
         producer.onData(order);
-        counter++;
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public boolean tryPush(Order order)
+    {
+        if (!producer.tryData(order))
+            return false;
+        counter.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public <A> void push(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        producer.onData(translator, argument);
+        counter.incrementAndGet();
+    }
+
+    @Override
+    public <A> boolean tryPush(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        if (!producer.tryData(translator, argument))
+            return false;
+        counter.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskLimitUpsert(List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        return producer.onCommand(CommandType.DESK_LIMIT_UPSERT, event -> event.setDeskNotionalLimits(deskNotionalLimits));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskLimitDelete(UUID deskId)
+    {
+        return producer.onCommand(CommandType.DESK_LIMIT_DELETE, event -> event.setEntityId(deskId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitUpsert(TraderNotionalLimit traderNotionalLimit)
+    {
+        return producer.onCommand(CommandType.TRADER_LIMIT_UPSERT, event -> event.setTraderNotionalLimit(traderNotionalLimit));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitDelete(UUID traderId)
+    {
+        return producer.onCommand(CommandType.TRADER_LIMIT_DELETE, event -> event.setEntityId(traderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitRestore(TraderNotionalLimit traderNotionalLimit)
+    {
+        return producer.onCommand(CommandType.TRADER_LIMIT_RESTORE, event -> event.setTraderNotionalLimit(traderNotionalLimit));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderMove(List<Desk> desks)
+    {
+        return producer.onCommand(CommandType.TRADER_MOVE, event -> event.setDesks(desks));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskUpsert(List<Desk> desks)
+    {
+        return producer.onCommand(CommandType.DESK_UPSERT, event -> event.setDesks(desks));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskDelete(UUID deskId)
+    {
+        return producer.onCommand(CommandType.DESK_DELETE, event -> event.setEntityId(deskId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderUpsert(Trader trader)
+    {
+        return producer.onCommand(CommandType.TRADER_UPSERT, event -> event.setTrader(trader));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderDelete(UUID traderId)
+    {
+        return producer.onCommand(CommandType.TRADER_DELETE, event -> event.setEntityId(traderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushFxUpdate(Map<Currency, Double> fxRates)
+    {
+        return producer.onCommand(CommandType.FX_UPDATE, event -> event.setFxRates(fxRates));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushReset()
+    {
+        return producer.onCommand(CommandType.RESET, event -> { });
+    }
+
+    @Override
+    public CompletableFuture<Void> pushRollover(UtilisationSnapshot snapshot)
+    {
+        return producer.onCommand(CommandType.ROLLOVER, event -> event.setSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskSnapshot(DeskSnapshot snapshot)
+    {
+        return producer.onCommand(CommandType.DESK_SNAPSHOT, event -> event.setDeskSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskRestore(DeskSnapshot snapshot)
+    {
+        return producer.onCommand(CommandType.DESK_RESTORE, event -> event.setDeskSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushBookSnapshot(UtilisationSnapshot snapshot)
+    {
+        return producer.onCommand(CommandType.BOOK_SNAPSHOT, event -> event.setSnapshot(snapshot));
+    }
+
+    @Override
+    public long getRemainingCapacity()
+    {
+        return disruptor.getRingBuffer().remainingCapacity();
     }
 }
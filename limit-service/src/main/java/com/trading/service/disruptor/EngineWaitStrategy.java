@@ -0,0 +1,30 @@
+package com.trading.service.disruptor;
+
+import com.lmax.disruptor.BlockingWaitStrategy;
+import com.lmax.disruptor.BusySpinWaitStrategy;
+import com.lmax.disruptor.SleepingWaitStrategy;
+import com.lmax.disruptor.WaitStrategy;
+import com.lmax.disruptor.YieldingWaitStrategy;
+
+public enum EngineWaitStrategy
+{
+    BUSY_SPIN,
+    YIELDING,
+    SLEEPING,
+    BLOCKING;
+
+    public WaitStrategy create()
+    {
+        switch (this)
+        {
+            case YIELDING:
+                return new YieldingWaitStrategy();
+            case SLEEPING:
+                return new SleepingWaitStrategy();
+            case BLOCKING:
+                return new BlockingWaitStrategy();
+            default:
+                return new BusySpinWaitStrategy();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.trading.service.disruptor;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Notional;
+import com.trading.model.Side;
+import com.trading.model.TraderNotionalLimit;
+
+// The limit rules applied to each order, shared by the engine and the what-if evaluator so the two cannot drift apart.
+public final class LimitCheck
+{
+    public interface WarningSink
+    {
+        void onWarning(BreachType breachType, int limitPercentage);
+    }
+
+    private LimitCheck()
+    {
+    }
+
+    public static long currentSideNotional(DeskNotionalLimit desk, Side side)
+    {
+        return side == Side.BUY ? desk.getCurrentBuyNotionalMicros() : desk.getCurrentSellNotionalMicros();
+    }
+
+    public static long sideLimit(DeskNotionalLimit desk, Side side)
+    {
+        return side == Side.BUY ? desk.getBuyNotionalLimitMicros() : desk.getSellNotionalLimitMicros();
+    }
+
+    public static boolean breachesSideLimit(DeskNotionalLimit desk, Side side, long notional)
+    {
+        return currentSideNotional(desk, side) + notional > sideLimit(desk, side);
+    }
+
+    public static void applySide(DeskNotionalLimit desk, TraderNotionalLimit trader, Side side, long notional)
+    {
+        if (side == Side.BUY)
+        {
+            desk.setCurrentBuyNotionalMicros(desk.getCurrentBuyNotionalMicros() + notional);
+            trader.setCurrentBuyNotionalMicros(trader.getCurrentBuyNotionalMicros() + notional);
+        }
+        else
+        {
+            desk.setCurrentSellNotionalMicros(desk.getCurrentSellNotionalMicros() + notional);
+            trader.setCurrentSellNotionalMicros(trader.getCurrentSellNotionalMicros() + notional);
+        }
+    }
+
+    public static boolean breachesGrossLimit(DeskNotionalLimit desk, long notional)
+    {
+        return desk.getCurrentGrossNotionalMicros() + notional > desk.getGrossNotionalLimitMicros();
+    }
+
+    public static void applyGross(DeskNotionalLimit desk, TraderNotionalLimit trader, long notional)
+    {
+        desk.setCurrentGrossNotionalMicros(desk.getCurrentGrossNotionalMicros() + notional);
+        trader.setCurrentGrossNotionalMicros(trader.getCurrentGrossNotionalMicros() + notional);
+    }
+
+    // Gross warnings are raised at every threshold down to the first one the order's side also exceeds.
+    public static void forEachWarning(DeskNotionalLimit desk, Side side, WarningSink sink)
+    {
+        for (int limitPercentage = 80; limitPercentage >= 20; limitPercentage -= 20)
+        {
+            if (Notional.exceedsPercentage(desk.getCurrentGrossNotionalMicros(), desk.getGrossNotionalLimitMicros(), limitPercentage))
+                sink.onWarning(BreachType.GROSS_WARNING, limitPercentage);
+            if (side == Side.BUY && Notional.exceedsPercentage(desk.getCurrentBuyNotionalMicros(), desk.getBuyNotionalLimitMicros(), limitPercentage))
+            {
+                sink.onWarning(BreachType.BUY_WARNING, limitPercentage);
+                break;
+            }
+            if (side != Side.BUY && Notional.exceedsPercentage(desk.getCurrentSellNotionalMicros(), desk.getSellNotionalLimitMicros(), limitPercentage))
+            {
+                sink.onWarning(BreachType.SELL_WARNING, limitPercentage);
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.trading.service.disruptor;
+
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.LimitDecision;
+import com.trading.model.Order;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import java.util.List;
+import java.util.UUID;
+
+public interface LimitEngineListener
+{
+    void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit);
+
+    default void onOrderDecided(long sequence, LimitDecision decision)
+    {
+    }
+
+    default void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+    }
+
+    default void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+    }
+
+    default void onTraderLimitApplied(long sequence, TraderNotionalLimit traderNotionalLimit)
+    {
+    }
+
+    default void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+    }
+
+    default void onDesksApplied(long sequence, List<Desk> desks)
+    {
+    }
+
+    default void onDeskRemoved(long sequence, UUID deskId)
+    {
+    }
+
+    default void onTraderApplied(long sequence, Trader trader)
+    {
+    }
+
+    default void onTraderRemoved(long sequence, UUID traderId)
+    {
+    }
+
+    default void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+    }
+
+    default void onBookSnapshot(long sequence, UtilisationSnapshot snapshot)
+    {
+    }
+
+    default void onReset(long sequence)
+    {
+    }
+
+    // Follows onReset in the same ROLLOVER command; a manual RESET is not a new trading day and does not call it.
+    default void onRollover(long sequence, UtilisationSnapshot snapshot)
+    {
+    }
+
+    default void onEndOfBatch(long sequence)
+    {
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.lmax.disruptor.EventHandler;
 import com.trading.messaging.AmpsMessageOutboundProcessor;
+import com.trading.messaging.MessageBuffer;
 import com.trading.model.*;
 import com.trading.service.CurrencyManager;
 import com.trading.service.TradingPersistenceService;
@@ -11,17 +12,21 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.function.Function;
+import java.util.function.Consumer;
 
 @Component
 @RequiredArgsConstructor
-public class OrderEventHandler implements EventHandler<OrderEvent>
+public class OrderEventHandler implements EventHandler<CommandEvent>
 {
     private static final Logger log = LoggerFactory.getLogger(OrderEventHandler.class);
     @Autowired
@@ -30,144 +35,412 @@ public class OrderEventHandler implements EventHandler<OrderEvent>
     private final CurrencyManager currencyManager;
     @Autowired
     private final AmpsMessageOutboundProcessor ampsMessageOutboundProcessor;
+    @Autowired
+    private final BreachThrottle breachThrottle;
+    @Autowired
+    private final ObjectProvider<LimitEngineListener> listenerProvider;
     private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
-    private static final double ROUNDING_FACTOR = Math.pow(10, 2);
-    private static final Function<Double, Double> round2dp = (value) -> Math.round(value * ROUNDING_FACTOR) / ROUNDING_FACTOR;
+    private final LimitDecision decision = new LimitDecision();
+    private final BreachThrottle.SuppressedSink suppressedSink = this::publishSuppressedBreaches;
+    private LimitEngineListener[] listeners;
+
+    @PostConstruct
+    public void initialize()
+    {
+        listeners = listenerProvider.orderedStream().toArray(LimitEngineListener[]::new);
+        log.info("Registered {} limit engine listeners", listeners.length);
+    }
 
     @Override
-    public void onEvent(OrderEvent event, long sequence, boolean endOfBatch)
+    public void onEvent(CommandEvent event, long sequence, boolean endOfBatch)
     {
         try
         {
             MDC.put("errorId", event.getErrorId());
-            processOrder(event.getOrder());
+            if (event.getType() == CommandType.ORDER)
+                processOrder(sequence, event.getOrder(), event.getPublishNanos());
+            else if (event.getType() == CommandType.REPLICATED_UPDATE)
+                applyReplicatedUpdate(sequence, event.getReplicatedNotionals());
+            else
+                applyCommand(sequence, event);
         }
         finally
         {
             MDC.remove("errorId");
+            if (endOfBatch)
+            {
+                breachThrottle.flushRefilled(suppressedSink);
+                notifyEndOfBatch(sequence);
+            }
         }
     }
 
-    private void processOrder(Order order)
+    private void processOrder(long sequence, Order order, long publishNanos)
     {
         Optional<Trader> trader = persistenceService.findTraderByUserId(order.getOwnerId());
         if (!trader.isPresent())
         {
             log.error("ERR-883: Trader not found with ID: {}", order.getOwnerId());
-            throw new IllegalArgumentException("Trader not found with id: " + order.getOwnerId());
+            decideRejected(sequence, order, null, null, DecisionOutcome.UNKNOWN_TRADER, publishNanos);
+            return;
         }
 
         TraderNotionalLimit traderNotionalLimit = persistenceService.getTraderNotionalLimit(trader.get().getTraderId());
         if (traderNotionalLimit == null)
         {
             log.error("ERR-884: Trader notional limit not found with ID: {}", order.getOwnerId());
-            throw new IllegalArgumentException("Trader notional limit not found with trader Id: " + trader.get().getTraderId());
+            decideRejected(sequence, order, trader.get().getTraderId(), null, DecisionOutcome.NO_TRADER_LIMIT, publishNanos);
+            return;
         }
 
         Optional<Desk> desk = persistenceService.findDeskByTraderId(traderNotionalLimit.getTraderId());
         if (!desk.isPresent())
         {
             log.error("ERR-886: Desk not found for trader ID: {}", traderNotionalLimit.getTraderId());
-            throw new IllegalArgumentException("Desk not found for trader Id: " + traderNotionalLimit.getTraderId());
+            decideRejected(sequence, order, traderNotionalLimit.getTraderId(), null, DecisionOutcome.UNKNOWN_DESK, publishNanos);
+            return;
         }
 
         DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(desk.get().getDeskId());
         if (deskNotionalLimit == null)
         {
             log.error("ERR-885: Desk notional limit not found with ID: {}", desk.get().getDeskId());
-            throw new IllegalArgumentException("Desk notional limit not found with Id: " + desk.get().getDeskId());
+            decideRejected(sequence, order, traderNotionalLimit.getTraderId(), desk.get().getDeskId(), DecisionOutcome.NO_DESK_LIMIT, publishNanos);
+            return;
         }
 
-        double notionalValueUSD = calculateUSDNotional(order);
-        checkSideNotionalLimit(traderNotionalLimit, deskNotionalLimit, order, notionalValueUSD);
-        checkGrossNotionalLimit(traderNotionalLimit, deskNotionalLimit, order, notionalValueUSD);
-        publishTraderNotionalUpdate(traderNotionalLimit, order.getSide(), notionalValueUSD);
-        publishDeskNotionalUpdate(deskNotionalLimit, order.getSide(), notionalValueUSD);
+        long notionalValueUSD = calculateUSDNotional(order);
+        Side side = order.getSide();
+        double sideUtilisationBefore = Notional.utilizationPercentage(LimitCheck.currentSideNotional(deskNotionalLimit, side), LimitCheck.sideLimit(deskNotionalLimit, side));
+        double grossUtilisationBefore = deskNotionalLimit.getGrossUtilizationPercentage();
+        boolean sideAccepted = checkSideNotionalLimit(traderNotionalLimit, deskNotionalLimit, order, notionalValueUSD);
+        boolean grossAccepted = checkGrossNotionalLimit(traderNotionalLimit, deskNotionalLimit, order, notionalValueUSD);
+        publishTraderNotionalUpdate(traderNotionalLimit, order, notionalValueUSD);
+        publishDeskNotionalUpdate(deskNotionalLimit, order, notionalValueUSD);
+
+        decision.setOrder(order);
+        decision.setTraderId(traderNotionalLimit.getTraderId());
+        decision.setDeskId(deskNotionalLimit.getDeskId());
+        decision.setNotionalUsdMicros(notionalValueUSD);
+        decision.setSideUtilisationBefore(sideUtilisationBefore);
+        decision.setSideUtilisationAfter(Notional.utilizationPercentage(LimitCheck.currentSideNotional(deskNotionalLimit, side), LimitCheck.sideLimit(deskNotionalLimit, side)));
+        decision.setGrossUtilisationBefore(grossUtilisationBefore);
+        decision.setGrossUtilisationAfter(deskNotionalLimit.getGrossUtilizationPercentage());
+        decision.setOutcome(outcome(sideAccepted, grossAccepted));
+        decision.setLatencyNanos(publishNanos == 0 ? -1 : System.nanoTime() - publishNanos);
+        notifyOrderApplied(sequence, order, deskNotionalLimit, traderNotionalLimit);
+        notifyOrderDecided(sequence, order);
+    }
+
+    // An order the book cannot place is still decided, with no notional or utilisation, so the export sees every order.
+    private void decideRejected(long sequence, Order order, UUID traderId, UUID deskId, DecisionOutcome outcome, long publishNanos)
+    {
+        decision.setOrder(order);
+        decision.setTraderId(traderId);
+        decision.setDeskId(deskId);
+        decision.setNotionalUsdMicros(0);
+        decision.setSideUtilisationBefore(Double.NaN);
+        decision.setSideUtilisationAfter(Double.NaN);
+        decision.setGrossUtilisationBefore(Double.NaN);
+        decision.setGrossUtilisationAfter(Double.NaN);
+        decision.setOutcome(outcome);
+        decision.setLatencyNanos(publishNanos == 0 ? -1 : System.nanoTime() - publishNanos);
+        notifyOrderDecided(sequence, order);
     }
 
-    private double calculateUSDNotional(Order order)
+    private void applyCommand(long sequence, CommandEvent event)
+    {
+        try
+        {
+            switch (event.getType())
+            {
+                case DESK_LIMIT_UPSERT:
+                    List<DeskNotionalLimit> applied = persistenceService.applyDeskNotionalLimits(event.getDeskNotionalLimits());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onDeskLimitsApplied(sequence, applied));
+                    break;
+                case DESK_LIMIT_DELETE:
+                    persistenceService.evictDeskNotionalLimit(event.getEntityId());
+                    breachThrottle.remove(event.getEntityId());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onDeskLimitRemoved(sequence, event.getEntityId()));
+                    break;
+                case TRADER_LIMIT_UPSERT:
+                    TraderNotionalLimit traderNotionalLimit = persistenceService.applyTraderNotionalLimit(event.getTraderNotionalLimit());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onTraderLimitApplied(sequence, traderNotionalLimit));
+                    break;
+                case TRADER_LIMIT_DELETE:
+                    persistenceService.evictTraderNotionalLimit(event.getEntityId());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onTraderLimitRemoved(sequence, event.getEntityId()));
+                    break;
+                case TRADER_LIMIT_RESTORE:
+                    TraderNotionalLimit restored = persistenceService.restoreTraderNotionalLimit(event.getTraderNotionalLimit());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onTraderLimitApplied(sequence, restored));
+                    break;
+                case TRADER_MOVE:
+                case DESK_UPSERT:
+                    persistenceService.applyDesks(event.getDesks());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onDesksApplied(sequence, event.getDesks()));
+                    break;
+                case DESK_DELETE:
+                    persistenceService.evictDesk(event.getEntityId());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onDeskRemoved(sequence, event.getEntityId()));
+                    break;
+                case TRADER_UPSERT:
+                    persistenceService.applyTrader(event.getTrader());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onTraderApplied(sequence, event.getTrader()));
+                    break;
+                case TRADER_DELETE:
+                    persistenceService.evictTrader(event.getEntityId());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onTraderRemoved(sequence, event.getEntityId()));
+                    break;
+                case FX_UPDATE:
+                    event.getFxRates().forEach(currencyManager::updateRate);
+                    break;
+                case ROLLOVER:
+                    breachThrottle.flushAll(suppressedSink);
+                    event.getSnapshot().capture(sequence, persistenceService.getAllDeskNotionalLimits(), persistenceService.getAllTraderNotionalLimits());
+                    persistenceService.resetCurrentNotionals();
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onReset(sequence));
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onRollover(sequence, event.getSnapshot()));
+                    break;
+                case RESET:
+                    breachThrottle.flushAll(suppressedSink);
+                    persistenceService.resetCurrentNotionals();
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onReset(sequence));
+                    break;
+                case DESK_SNAPSHOT:
+                    captureDesk(sequence, event.getDeskSnapshot());
+                    break;
+                case DESK_RESTORE:
+                    restoreDesk(sequence, event.getDeskSnapshot());
+                    break;
+                case BOOK_SNAPSHOT:
+                    event.getSnapshot().capture(sequence, persistenceService.getAllDeskNotionalLimits(), persistenceService.getAllTraderNotionalLimits());
+                    notifyCommandApplied(sequence, event.getType(), listener -> listener.onBookSnapshot(sequence, event.getSnapshot()));
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported command type: " + event.getType());
+            }
+            log.info("Applied {} command at sequence: {}", event.getType(), sequence);
+            event.getCompletion().complete(null);
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-890: Failed to apply {} command at sequence: {}", event.getType(), sequence, e);
+            event.getCompletion().completeExceptionally(e);
+        }
+    }
+
+    // A standby applies the primary's notionals here rather than on its receiver thread, so the book keeps a single writer
+    // and the listeners see the change as they would a desk restore.
+    private void applyReplicatedUpdate(long sequence, ReplicatedNotionals notionals)
+    {
+        DeskNotionalLimit deskNotionalLimit = notionals.getDeskId() == null ? null : persistenceService.getDeskNotionalLimit(notionals.getDeskId());
+        if (deskNotionalLimit != null)
+        {
+            deskNotionalLimit.setCurrentBuyNotionalMicros(notionals.getDeskBuyNotionalMicros());
+            deskNotionalLimit.setCurrentSellNotionalMicros(notionals.getDeskSellNotionalMicros());
+            deskNotionalLimit.setCurrentGrossNotionalMicros(notionals.getDeskGrossNotionalMicros());
+        }
+
+        TraderNotionalLimit traderNotionalLimit = notionals.getTraderId() == null ? null : persistenceService.getTraderNotionalLimit(notionals.getTraderId());
+        if (traderNotionalLimit != null)
+        {
+            traderNotionalLimit.setCurrentBuyNotionalMicros(notionals.getTraderBuyNotionalMicros());
+            traderNotionalLimit.setCurrentSellNotionalMicros(notionals.getTraderSellNotionalMicros());
+            traderNotionalLimit.setCurrentGrossNotionalMicros(notionals.getTraderGrossNotionalMicros());
+        }
+
+        if (deskNotionalLimit != null)
+        {
+            List<TraderNotionalLimit> traderNotionalLimits = traderNotionalLimit == null ? List.of() : List.of(traderNotionalLimit);
+            notifyCommandApplied(sequence, CommandType.REPLICATED_UPDATE, listener -> listener.onDeskRestored(sequence, deskNotionalLimit, traderNotionalLimits));
+        }
+        else if (traderNotionalLimit != null)
+        {
+            notifyCommandApplied(sequence, CommandType.REPLICATED_UPDATE, listener -> listener.onTraderLimitApplied(sequence, traderNotionalLimit));
+        }
+    }
+
+    private void captureDesk(long sequence, DeskSnapshot snapshot)
+    {
+        DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(snapshot.getDeskId());
+        Desk desk = persistenceService.getDeskById(snapshot.getDeskId());
+        if (deskNotionalLimit == null || desk == null)
+            throw new IllegalArgumentException("Desk or desk notional limit not found with Id: " + snapshot.getDeskId());
+
+        List<TraderNotionalLimit> traderNotionalLimits = new ArrayList<>();
+        for (UUID traderId : desk.getTraders())
+        {
+            TraderNotionalLimit traderNotionalLimit = persistenceService.getTraderNotionalLimit(traderId);
+            if (traderNotionalLimit != null)
+                traderNotionalLimits.add(traderNotionalLimit);
+        }
+        snapshot.capture(sequence, deskNotionalLimit, traderNotionalLimits);
+    }
+
+    private void restoreDesk(long sequence, DeskSnapshot snapshot)
+    {
+        DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(snapshot.getDeskId());
+        if (deskNotionalLimit == null)
+            throw new IllegalArgumentException("Desk notional limit not found with Id: " + snapshot.getDeskId());
+
+        deskNotionalLimit.setCurrentBuyNotionalMicros(snapshot.getCurrentBuyNotionalMicros());
+        deskNotionalLimit.setCurrentSellNotionalMicros(snapshot.getCurrentSellNotionalMicros());
+        deskNotionalLimit.setCurrentGrossNotionalMicros(snapshot.getCurrentGrossNotionalMicros());
+
+        List<TraderNotionalLimit> traderNotionalLimits = new ArrayList<>();
+        for (DeskSnapshot.TraderSnapshot traderSnapshot : snapshot.getTraders())
+        {
+            TraderNotionalLimit traderNotionalLimit = persistenceService.getTraderNotionalLimit(traderSnapshot.getTraderId());
+            if (traderNotionalLimit == null)
+                continue;
+
+            traderNotionalLimit.setCurrentBuyNotionalMicros(traderSnapshot.getCurrentBuyNotionalMicros());
+            traderNotionalLimit.setCurrentSellNotionalMicros(traderSnapshot.getCurrentSellNotionalMicros());
+            traderNotionalLimit.setCurrentGrossNotionalMicros(traderSnapshot.getCurrentGrossNotionalMicros());
+            traderNotionalLimits.add(traderNotionalLimit);
+        }
+        notifyCommandApplied(sequence, CommandType.DESK_RESTORE, listener -> listener.onDeskRestored(sequence, deskNotionalLimit, traderNotionalLimits));
+    }
+
+    private void notifyCommandApplied(long sequence, CommandType type, Consumer<LimitEngineListener> notification)
+    {
+        for (LimitEngineListener listener : listeners)
+        {
+            try
+            {
+                notification.accept(listener);
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-889: Limit engine listener failed for {} command at sequence: {}", type, sequence, e);
+            }
+        }
+    }
+
+    private void notifyOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        for (LimitEngineListener listener : listeners)
+        {
+            try
+            {
+                listener.onOrderApplied(sequence, order, deskNotionalLimit, traderNotionalLimit);
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-887: Limit engine listener failed for order: {}", order.getOrderId(), e);
+            }
+        }
+    }
+
+    private void notifyOrderDecided(long sequence, Order order)
+    {
+        for (LimitEngineListener listener : listeners)
+        {
+            try
+            {
+                listener.onOrderDecided(sequence, decision);
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-891: Limit engine listener failed on the decision for order: {}", order.getOrderId(), e);
+            }
+        }
+    }
+
+    private void notifyEndOfBatch(long sequence)
+    {
+        for (LimitEngineListener listener : listeners)
+        {
+            try
+            {
+                listener.onEndOfBatch(sequence);
+            }
+            catch (Exception e)
+            {
+                log.error("ERR-888: Limit engine listener failed at end of batch: {}", sequence, e);
+            }
+        }
+    }
+
+    private long calculateUSDNotional(Order order)
     {
         double localNotional = order.getOrderNotionalValueInLocal();
-        return currencyManager.convertToUSD(localNotional, Enum.valueOf(Currency.class, order.getSettlementCurrency()));
+        return currencyManager.convertToUSDMicros(localNotional, Enum.valueOf(Currency.class, order.getSettlementCurrency()));
+    }
+
+    private static DecisionOutcome outcome(boolean sideAccepted, boolean grossAccepted)
+    {
+        if (sideAccepted)
+            return grossAccepted ? DecisionOutcome.ACCEPTED : DecisionOutcome.GROSS_LIMIT_BREACH;
+        return grossAccepted ? DecisionOutcome.SIDE_LIMIT_BREACH : DecisionOutcome.SIDE_AND_GROSS_LIMIT_BREACH;
     }
 
-    private void checkSideNotionalLimit(TraderNotionalLimit trader, DeskNotionalLimit deskNotionalLimit, Order order, double notionalValueUSD)
+    private boolean checkSideNotionalLimit(TraderNotionalLimit trader, DeskNotionalLimit deskNotionalLimit, Order order, long notionalValueUSD)
     {
         Side side = order.getSide();
         String sideStr = side.toString();
-        double currentNotional = (side == Side.BUY) ? deskNotionalLimit.getCurrentBuyNotional() : deskNotionalLimit.getCurrentSellNotional();
-        double limit = (side == Side.BUY) ? deskNotionalLimit.getBuyNotionalLimit() : deskNotionalLimit.getSellNotionalLimit();
-        double updatedNotional = currentNotional + notionalValueUSD;
+        long currentNotional = LimitCheck.currentSideNotional(deskNotionalLimit, side);
+        long limit = LimitCheck.sideLimit(deskNotionalLimit, side);
 
         String deskName = persistenceService.getDeskById(deskNotionalLimit.getDeskId()).getDeskName();
-        if (updatedNotional > limit)
+        if (LimitCheck.breachesSideLimit(deskNotionalLimit, side, notionalValueUSD))
         {
             log.info("REJECTION => Order notional: {} causes a {} {} notional limit breach for desk: {} with a current {} notional: {}",
-                    round2dp.apply(notionalValueUSD), limit, sideStr, deskName, sideStr, round2dp.apply(currentNotional));
+                    Notional.toUsd2dp(notionalValueUSD), Notional.toUsd2dp(limit), sideStr, deskName, sideStr, Notional.toUsd2dp(currentNotional));
 
-            String message = createBreachMessage("Full " + sideStr + " limit", deskNotionalLimit, order, 100);
-            if (!message.isEmpty()) ampsMessageOutboundProcessor.publishLimitBreach(message);
-            return;
+            publishBreach(BreachType.fullSide(side), deskNotionalLimit, order, 100);
+            return false;
         }
 
+        LimitCheck.applySide(deskNotionalLimit, trader, side, notionalValueUSD);
         log.debug("ACCEPTED => Updated current {} notional for desk: {} from: {} to: {} using new {} order's notional: {}",
-                sideStr, deskName, round2dp.apply(currentNotional), round2dp.apply(updatedNotional), sideStr, round2dp.apply(notionalValueUSD));
-
-        if (side == Side.BUY)
-        {
-            deskNotionalLimit.setCurrentBuyNotional(updatedNotional);
-            trader.setCurrentBuyNotional(updatedNotional);
-        }
-        else
-        {
-            deskNotionalLimit.setCurrentSellNotional(updatedNotional);
-            trader.setCurrentSellNotional(updatedNotional);
-        }
+                sideStr, deskName, Notional.toUsd2dp(currentNotional), Notional.toUsd2dp(currentNotional + notionalValueUSD), sideStr, Notional.toUsd2dp(notionalValueUSD));
 
         checkLimitBreaches(deskNotionalLimit, order);
+        return true;
     }
 
-    private void checkGrossNotionalLimit(TraderNotionalLimit trader, DeskNotionalLimit deskNotionalLimit, Order order, double notionalValueUSD)
+    private boolean checkGrossNotionalLimit(TraderNotionalLimit trader, DeskNotionalLimit deskNotionalLimit, Order order, long notionalValueUSD)
     {
-        double deskGrossTotal = deskNotionalLimit.getCurrentGrossNotional() + notionalValueUSD;
-        double traderGrossTotal = trader.getCurrentGrossNotional() + notionalValueUSD;
-        if(deskGrossTotal > deskNotionalLimit.getGrossNotionalLimit())
+        if (LimitCheck.breachesGrossLimit(deskNotionalLimit, notionalValueUSD))
         {
             String deskName = persistenceService.getDeskById(deskNotionalLimit.getDeskId()).getDeskName();
             log.info("REJECTION => Order notional: {} causes a {} gross notional limit 100% breach for desk: {} with a current gross notional: {}",
-                round2dp.apply(notionalValueUSD), deskNotionalLimit.getGrossNotionalLimit(), deskName, round2dp.apply(deskNotionalLimit.getCurrentGrossNotional()));
-            String message = createBreachMessage( "Full Gross limit", deskNotionalLimit, order, 100);
-            if(!message.isEmpty()) ampsMessageOutboundProcessor.publishLimitBreach(message);
-            return;
+                Notional.toUsd2dp(notionalValueUSD), Notional.toUsd2dp(deskNotionalLimit.getGrossNotionalLimitMicros()), deskName, Notional.toUsd2dp(deskNotionalLimit.getCurrentGrossNotionalMicros()));
+            publishBreach(BreachType.FULL_GROSS, deskNotionalLimit, order, 100);
+            return false;
         }
-        deskNotionalLimit.setCurrentGrossNotional(deskGrossTotal);
-        trader.setCurrentGrossNotional(traderGrossTotal);
+        LimitCheck.applyGross(deskNotionalLimit, trader, notionalValueUSD);
+        return true;
     }
 
-    private void publishDeskNotionalUpdate(DeskNotionalLimit deskNotionalLimit, Side side, double notionalValueUSD)
+    private void publishDeskNotionalUpdate(DeskNotionalLimit deskNotionalLimit, Order order, long notionalValueUSD)
     {
         try
         {
             Map<String, Object> updateDetails = new HashMap<>();
+            updateDetails.put("orderId", order.getOrderId());
             updateDetails.put("deskId", deskNotionalLimit.getDeskId());
             String deskName = persistenceService.getDeskById(deskNotionalLimit.getDeskId()).getDeskName();
             updateDetails.put("deskName", deskName);
-            updateDetails.put("side", side);
-            updateDetails.put("notionalValueUSD", round2dp.apply(notionalValueUSD));
+            updateDetails.put("side", order.getSide());
+            updateDetails.put("notionalValueUSD", Notional.toUsd2dp(notionalValueUSD));
 
-            updateDetails.put("currentBuyNotional", round2dp.apply(deskNotionalLimit.getCurrentBuyNotional()));
-            updateDetails.put("buyUtilizationPercentage", round2dp.apply(deskNotionalLimit.getBuyUtilizationPercentage()));
+            updateDetails.put("currentBuyNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentBuyNotionalMicros()));
+            updateDetails.put("buyUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getBuyUtilizationPercentage()));
             updateDetails.put("buyNotionalLimit", deskNotionalLimit.getBuyNotionalLimit());
 
-            updateDetails.put("currentSellNotional", round2dp.apply(deskNotionalLimit.getCurrentSellNotional()));
-            updateDetails.put("sellUtilizationPercentage", round2dp.apply(deskNotionalLimit.getSellUtilizationPercentage()));
+            updateDetails.put("currentSellNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentSellNotionalMicros()));
+            updateDetails.put("sellUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getSellUtilizationPercentage()));
             updateDetails.put("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit());
 
-            updateDetails.put("grossUtilizationPercentage", round2dp.apply(deskNotionalLimit.getGrossUtilizationPercentage()));
-            updateDetails.put("currentGrossNotional", round2dp.apply(deskNotionalLimit.getCurrentGrossNotional()));
+            updateDetails.put("grossUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getGrossUtilizationPercentage()));
+            updateDetails.put("currentGrossNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentGrossNotionalMicros()));
             updateDetails.put("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit());
 
-            String message = objectMapper.writeValueAsString(updateDetails);
+            MessageBuffer message = ampsMessageOutboundProcessor.acquireBuffer();
+            objectMapper.writeValue(message, updateDetails);
             ampsMessageOutboundProcessor.publishDeskNotionalUpdate(message);
         }
         catch (Exception e)
@@ -176,11 +449,12 @@ public class OrderEventHandler implements EventHandler<OrderEvent>
         }
     }
 
-    private void publishTraderNotionalUpdate(TraderNotionalLimit traderNotionalLimit, Side side, double notionalValueUSD)
+    private void publishTraderNotionalUpdate(TraderNotionalLimit traderNotionalLimit, Order order, long notionalValueUSD)
     {
         try
         {
             Map<String, Object> updateDetails = new HashMap<>();
+            updateDetails.put("orderId", order.getOrderId());
             Trader trader = persistenceService.getTraderById(traderNotionalLimit.getTraderId());
             updateDetails.put("traderId", trader.getTraderId());
             updateDetails.put("traderName", trader.getFirstName() + " " + trader.getLastName());
@@ -188,23 +462,24 @@ public class OrderEventHandler implements EventHandler<OrderEvent>
 
             updateDetails.put("deskId", desk.getDeskId());
             updateDetails.put("deskName", desk.getDeskName());
-            updateDetails.put("side", side);
-            updateDetails.put("notionalValueUSD", round2dp.apply(notionalValueUSD));
+            updateDetails.put("side", order.getSide());
+            updateDetails.put("notionalValueUSD", Notional.toUsd2dp(notionalValueUSD));
 
             DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(desk.getDeskId());
-            updateDetails.put("currentBuyNotional", round2dp.apply(traderNotionalLimit.getCurrentBuyNotional()));
-            updateDetails.put("buyUtilizationPercentage", round2dp.apply(100 * traderNotionalLimit.getCurrentBuyNotional()/ deskNotionalLimit.getBuyNotionalLimit()));
+            updateDetails.put("currentBuyNotional", Notional.toUsd2dp(traderNotionalLimit.getCurrentBuyNotionalMicros()));
+            updateDetails.put("buyUtilizationPercentage", Notional.round2dp(Notional.utilizationPercentage(traderNotionalLimit.getCurrentBuyNotionalMicros(), deskNotionalLimit.getBuyNotionalLimitMicros())));
             updateDetails.put("buyNotionalLimit", deskNotionalLimit.getBuyNotionalLimit());
 
-            updateDetails.put("currentSellNotional", round2dp.apply(traderNotionalLimit.getCurrentSellNotional()));
-            updateDetails.put("sellUtilizationPercentage", round2dp.apply(100 * traderNotionalLimit.getCurrentSellNotional()/ deskNotionalLimit.getSellNotionalLimit()));
+            updateDetails.put("currentSellNotional", Notional.toUsd2dp(traderNotionalLimit.getCurrentSellNotionalMicros()));
+            updateDetails.put("sellUtilizationPercentage", Notional.round2dp(Notional.utilizationPercentage(traderNotionalLimit.getCurrentSellNotionalMicros(), deskNotionalLimit.getSellNotionalLimitMicros())));
             updateDetails.put("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit());
 
-            updateDetails.put("grossUtilizationPercentage", round2dp.apply(100 * traderNotionalLimit.getCurrentGrossNotional()/ deskNotionalLimit.getGrossNotionalLimit()));
-            updateDetails.put("currentGrossNotional", round2dp.apply(traderNotionalLimit.getCurrentGrossNotional()));
+            updateDetails.put("grossUtilizationPercentage", Notional.round2dp(Notional.utilizationPercentage(traderNotionalLimit.getCurrentGrossNotionalMicros(), deskNotionalLimit.getGrossNotionalLimitMicros())));
+            updateDetails.put("currentGrossNotional", Notional.toUsd2dp(traderNotionalLimit.getCurrentGrossNotionalMicros()));
             updateDetails.put("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit());
 
-            String message = objectMapper.writeValueAsString(updateDetails);
+            MessageBuffer message = ampsMessageOutboundProcessor.acquireBuffer();
+            objectMapper.writeValue(message, updateDetails);
             ampsMessageOutboundProcessor.publishTraderNotionalUpdate(message);
         }
         catch (Exception e)
@@ -215,68 +490,77 @@ public class OrderEventHandler implements EventHandler<OrderEvent>
 
     private void checkLimitBreaches(DeskNotionalLimit deskNotionalLimit, Order order)
     {
-        String message = "";
-        for(int limitPercentage = 80; limitPercentage >= 20; limitPercentage -= 20)
-        {
-            if (deskNotionalLimit.getGrossUtilizationPercentage() > limitPercentage)
-            {
-                message = createBreachMessage( "Gross limit", deskNotionalLimit, order, limitPercentage);
-                if(!message.isEmpty()) ampsMessageOutboundProcessor.publishLimitBreach(message);
-            }
-            if (order.getSide().equals(Side.BUY) && deskNotionalLimit.getBuyUtilizationPercentage() > limitPercentage)
-            {
-                message = createBreachMessage( "Buy limit", deskNotionalLimit, order, limitPercentage);
-                if(!message.isEmpty()) ampsMessageOutboundProcessor.publishLimitBreach(message);
-                break;
-            }
-            if (!order.getSide().equals(Side.BUY) && deskNotionalLimit.getSellUtilizationPercentage() > limitPercentage)
-            {
-                message = createBreachMessage( "Sell limit", deskNotionalLimit, order, limitPercentage);
-                if(!message.isEmpty()) ampsMessageOutboundProcessor.publishLimitBreach(message);
-                break;
-            }
-        }
+        LimitCheck.forEachWarning(deskNotionalLimit, order.getSide(), (breachType, limitPercentage) -> publishBreach(breachType, deskNotionalLimit, order, limitPercentage));
+    }
+
+    // Throttled breaches are dropped before the message is built, so a runaway desk costs little more than its rejections.
+    private void publishBreach(BreachType breachType, DeskNotionalLimit deskNotionalLimit, Order order, int limitPercentage)
+    {
+        long suppressed = breachThrottle.tryAcquire(deskNotionalLimit.getDeskId(), breachType, limitPercentage);
+        if (suppressed < 0)
+            return;
+
+        MessageBuffer message = createBreachMessage(breachType, deskNotionalLimit, order, limitPercentage, suppressed);
+        if (message != null) ampsMessageOutboundProcessor.publishLimitBreach(message);
     }
 
-    private String createBreachMessage(String breachType, DeskNotionalLimit deskNotionalLimit, Order order, int limitPercentage)
+    // A breach type and threshold that went quiet while throttled: the counts go out without an order attached.
+    private void publishSuppressedBreaches(UUID deskId, BreachType breachType, int limitPercentage, long suppressedCount)
+    {
+        DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(deskId);
+        if (deskNotionalLimit == null)
+            return;
+
+        MessageBuffer message = createBreachMessage(breachType, deskNotionalLimit, null, limitPercentage, suppressedCount);
+        if (message != null) ampsMessageOutboundProcessor.publishLimitBreach(message);
+    }
+
+    private MessageBuffer createBreachMessage(BreachType breachType, DeskNotionalLimit deskNotionalLimit, Order order, int limitPercentage, long suppressedCount)
     {
         try
         {
             Map<String, Object> breachDetails = new HashMap<>();
 
-            breachDetails.put("breachType", breachType);
+            breachDetails.put("breachType", breachType.getLabel());
             breachDetails.put("limitPercentage", limitPercentage);
+            breachDetails.put("suppressedCount", suppressedCount);
             breachDetails.put("deskId", deskNotionalLimit.getDeskId());
             String deskName = persistenceService.getDeskById(deskNotionalLimit.getDeskId()).getDeskName();
             breachDetails.put("deskName", deskName);
-            breachDetails.put("orderId", order.getOrderId());
-            breachDetails.put("traderId", order.getOwnerId());
-            breachDetails.put("traderName", persistenceService.findTraderFullNameByUserId(order.getOwnerId()));
-            breachDetails.put("symbol", order.getInstrumentCode());
-            breachDetails.put("side", order.getSide());
-            breachDetails.put("quantity", order.getQuantity());
-            breachDetails.put("price", round2dp.apply(order.getPrice()));
-            breachDetails.put("currency", order.getSettlementCurrency());
-            breachDetails.put("notionalLocal", round2dp.apply(order.getOrderNotionalValueInLocal()));
-            breachDetails.put("tradeTimestamp", order.getArrivalTime());
-
-            breachDetails.put("currentBuyNotional", round2dp.apply(deskNotionalLimit.getCurrentBuyNotional()));
-            breachDetails.put("currentSellNotional", round2dp.apply(deskNotionalLimit.getCurrentSellNotional()));
-            breachDetails.put("currentGrossNotional", round2dp.apply(deskNotionalLimit.getCurrentGrossNotional()));
-            breachDetails.put("buyUtilizationPercentage", round2dp.apply(deskNotionalLimit.getBuyUtilizationPercentage()));
-            breachDetails.put("sellUtilizationPercentage", round2dp.apply(deskNotionalLimit.getSellUtilizationPercentage()));
-            breachDetails.put("grossUtilizationPercentage", round2dp.apply(deskNotionalLimit.getGrossUtilizationPercentage()));
-            breachDetails.put("notionalUSD", round2dp.apply(calculateUSDNotional(order)));
+            if (order != null)
+            {
+                breachDetails.put("orderId", order.getOrderId());
+                breachDetails.put("traderId", order.getOwnerId());
+                breachDetails.put("traderName", persistenceService.findTraderFullNameByUserId(order.getOwnerId()));
+                breachDetails.put("symbol", order.getInstrumentCode());
+                breachDetails.put("side", order.getSide());
+                breachDetails.put("quantity", order.getQuantity());
+                breachDetails.put("price", Notional.round2dp(order.getPrice()));
+                breachDetails.put("currency", order.getSettlementCurrency());
+                breachDetails.put("notionalLocal", Notional.round2dp(order.getOrderNotionalValueInLocal()));
+                breachDetails.put("tradeTimestamp", order.getArrivalTime());
+            }
+
+            breachDetails.put("currentBuyNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentBuyNotionalMicros()));
+            breachDetails.put("currentSellNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentSellNotionalMicros()));
+            breachDetails.put("currentGrossNotional", Notional.toUsd2dp(deskNotionalLimit.getCurrentGrossNotionalMicros()));
+            breachDetails.put("buyUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getBuyUtilizationPercentage()));
+            breachDetails.put("sellUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getSellUtilizationPercentage()));
+            breachDetails.put("grossUtilizationPercentage", Notional.round2dp(deskNotionalLimit.getGrossUtilizationPercentage()));
+            if (order != null)
+                breachDetails.put("notionalUSD", Notional.toUsd2dp(calculateUSDNotional(order)));
 
             breachDetails.put("buyNotionalLimit", deskNotionalLimit.getBuyNotionalLimit());
             breachDetails.put("sellNotionalLimit", deskNotionalLimit.getSellNotionalLimit());
             breachDetails.put("grossNotionalLimit", deskNotionalLimit.getGrossNotionalLimit());
-            return objectMapper.writeValueAsString(breachDetails);
+            MessageBuffer message = ampsMessageOutboundProcessor.acquireBuffer();
+            objectMapper.writeValue(message, breachDetails);
+            return message;
         }
         catch (Exception e)
         {
             log.error("ERR-882: Failed to create breach message desk: {}", deskNotionalLimit, e);
-            return "";
+            return null;
         }
     }
 } 
\ No newline at end of file
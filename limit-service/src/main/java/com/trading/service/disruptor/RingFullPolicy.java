@@ -0,0 +1,8 @@
+package com.trading.service.disruptor;
+
+public enum RingFullPolicy
+{
+    BLOCK,
+    SHED,
+    SPILL;
+}
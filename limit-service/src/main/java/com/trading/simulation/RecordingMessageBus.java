@@ -0,0 +1,98 @@
+package com.trading.simulation;
+
+import com.trading.messaging.MessageBus;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class RecordingMessageBus implements MessageBus
+{
+    private final MessageDigest digest;
+    private final Map<String, Long> publishedByTopic = new TreeMap<>();
+    private final Writer transcript;
+    private final AtomicLong subscriptions = new AtomicLong();
+
+    public RecordingMessageBus(Writer transcript)
+    {
+        try
+        {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e)
+        {
+            throw new IllegalStateException(e);
+        }
+        this.transcript = transcript;
+    }
+
+    @Override
+    public void publish(String topic, String message)
+    {
+        publishedByTopic.merge(topic, 1L, Long::sum);
+        digest.update(topic.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\t');
+        digest.update(message.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\n');
+        if (transcript == null)
+            return;
+
+        try
+        {
+            transcript.append(topic).append('\t').append(message).append('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void publish(String topic, byte[] message, int offset, int length)
+    {
+        publishedByTopic.merge(topic, 1L, Long::sum);
+        digest.update(topic.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) '\t');
+        digest.update(message, offset, length);
+        digest.update((byte) '\n');
+        if (transcript == null)
+            return;
+
+        try
+        {
+            transcript.append(topic).append('\t').append(new String(message, offset, length, StandardCharsets.UTF_8)).append('\n');
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String subscribe(String topic, String filter, Consumer<String> handler)
+    {
+        // The simulation drives the engine directly, so a subscription never receives anything.
+        return topic + "-" + subscriptions.incrementAndGet();
+    }
+
+    @Override
+    public void unsubscribe(String subscriptionId)
+    {
+    }
+
+    public Map<String, Long> getPublishedByTopic()
+    {
+        return publishedByTopic;
+    }
+
+    public String digest()
+    {
+        return SimulationHarness.hex(digest.digest());
+    }
+}
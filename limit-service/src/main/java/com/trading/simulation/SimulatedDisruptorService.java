@@ -0,0 +1,220 @@
+package com.trading.simulation;
+
+import com.lmax.disruptor.EventHandler;
+import com.lmax.disruptor.EventTranslatorOneArg;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskSnapshot;
+import com.trading.model.Order;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import com.trading.service.disruptor.CommandEvent;
+import com.trading.service.disruptor.CommandType;
+import com.trading.service.disruptor.DisruptorService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+// Runs each pushed event through the handler on the caller's thread, so a scenario has exactly one ordering. Orders are grouped
+// into fixed-size batches to mimic a busy ring; admin commands always end their batch, like a producer waiting on the completion.
+public class SimulatedDisruptorService implements DisruptorService
+{
+    private final CommandEvent event = new CommandEvent();
+    private final int batchSize;
+    private EventHandler<CommandEvent> handler;
+    private long sequence;
+    private int batched;
+
+    public SimulatedDisruptorService(int batchSize)
+    {
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void start(String name, EventHandler<CommandEvent> actionEventHandler)
+    {
+        handler = actionEventHandler;
+    }
+
+    @Override
+    public void stop()
+    {
+        handler = null;
+    }
+
+    @Override
+    public void push(Order order)
+    {
+        dispatch(event -> event.setOrder(order));
+    }
+
+    @Override
+    public boolean tryPush(Order order)
+    {
+        push(order);
+        return true;
+    }
+
+    @Override
+    public <A> void push(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        event.clear();
+        translator.translateTo(event, sequence, argument);
+        onEvent(false);
+    }
+
+    @Override
+    public <A> boolean tryPush(EventTranslatorOneArg<CommandEvent, A> translator, A argument)
+    {
+        push(translator, argument);
+        return true;
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskLimitUpsert(List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        return command(CommandType.DESK_LIMIT_UPSERT, event -> event.setDeskNotionalLimits(deskNotionalLimits));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskLimitDelete(UUID deskId)
+    {
+        return command(CommandType.DESK_LIMIT_DELETE, event -> event.setEntityId(deskId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitUpsert(TraderNotionalLimit traderNotionalLimit)
+    {
+        return command(CommandType.TRADER_LIMIT_UPSERT, event -> event.setTraderNotionalLimit(traderNotionalLimit));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitDelete(UUID traderId)
+    {
+        return command(CommandType.TRADER_LIMIT_DELETE, event -> event.setEntityId(traderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderLimitRestore(TraderNotionalLimit traderNotionalLimit)
+    {
+        return command(CommandType.TRADER_LIMIT_RESTORE, event -> event.setTraderNotionalLimit(traderNotionalLimit));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderMove(List<Desk> desks)
+    {
+        return command(CommandType.TRADER_MOVE, event -> event.setDesks(desks));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskUpsert(List<Desk> desks)
+    {
+        return command(CommandType.DESK_UPSERT, event -> event.setDesks(desks));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskDelete(UUID deskId)
+    {
+        return command(CommandType.DESK_DELETE, event -> event.setEntityId(deskId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderUpsert(Trader trader)
+    {
+        return command(CommandType.TRADER_UPSERT, event -> event.setTrader(trader));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushTraderDelete(UUID traderId)
+    {
+        return command(CommandType.TRADER_DELETE, event -> event.setEntityId(traderId));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushFxUpdate(Map<Currency, Double> fxRates)
+    {
+        return command(CommandType.FX_UPDATE, event -> event.setFxRates(fxRates));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushReset()
+    {
+        return command(CommandType.RESET, event -> { });
+    }
+
+    @Override
+    public CompletableFuture<Void> pushRollover(UtilisationSnapshot snapshot)
+    {
+        return command(CommandType.ROLLOVER, event -> event.setSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskSnapshot(DeskSnapshot snapshot)
+    {
+        return command(CommandType.DESK_SNAPSHOT, event -> event.setDeskSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushDeskRestore(DeskSnapshot snapshot)
+    {
+        return command(CommandType.DESK_RESTORE, event -> event.setDeskSnapshot(snapshot));
+    }
+
+    @Override
+    public CompletableFuture<Void> pushBookSnapshot(UtilisationSnapshot snapshot)
+    {
+        return command(CommandType.BOOK_SNAPSHOT, event -> event.setSnapshot(snapshot));
+    }
+
+    @Override
+    public long getRemainingCapacity()
+    {
+        return Long.MAX_VALUE;
+    }
+
+    public long getSequence()
+    {
+        return sequence;
+    }
+
+    private CompletableFuture<Void> command(CommandType type, Consumer<CommandEvent> payload)
+    {
+        CompletableFuture<Void> completion = new CompletableFuture<>();
+        event.clear();
+        event.setType(type);
+        event.setCompletion(completion);
+        payload.accept(event);
+        onEvent(true);
+        return completion;
+    }
+
+    private void dispatch(Consumer<CommandEvent> payload)
+    {
+        event.clear();
+        payload.accept(event);
+        onEvent(false);
+    }
+
+    private void onEvent(boolean endsBatch)
+    {
+        boolean endOfBatch = endsBatch || ++batched >= batchSize;
+        if (endOfBatch)
+            batched = 0;
+        try
+        {
+            handler.onEvent(event, sequence, endOfBatch);
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Simulated engine failed at sequence: " + sequence, e);
+        }
+        finally
+        {
+            sequence++;
+        }
+    }
+}
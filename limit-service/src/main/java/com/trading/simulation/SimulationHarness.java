@@ -0,0 +1,313 @@
+package com.trading.simulation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import com.trading.leaderboard.UtilisationLeaderboardService;
+import com.trading.messaging.AmpsMessageOutboundProcessor;
+import com.trading.messaging.MessageBus;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Order;
+import com.trading.model.OrderStateEvents;
+import com.trading.model.OrderStates;
+import com.trading.model.Side;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.repository.memory.InMemoryDeskNotionalLimitRepository;
+import com.trading.repository.memory.InMemoryDeskRepository;
+import com.trading.repository.memory.InMemoryTraderNotionalLimitRepository;
+import com.trading.repository.memory.InMemoryTraderRepository;
+import com.trading.seed.ReferenceDataSeeder;
+import com.trading.service.BookSnapshotService;
+import com.trading.service.CurrencyManager;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.BreachThrottle;
+import com.trading.service.disruptor.DisruptorService;
+import com.trading.service.disruptor.OrderEventHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Replays a seeded schedule of orders, FX updates and limit admin commands through the real engine on one thread and a
+// virtual clock. Identical arguments give identical digests, so runs can be diffed between builds.
+// Usage: java -cp limit-service.jar -Dloader.main=com.trading.simulation.SimulationHarness
+//        org.springframework.boot.loader.PropertiesLauncher --events=1000000 --seed=42 --out=transcript.tsv
+public class SimulationHarness
+{
+    private static final Logger log = LoggerFactory.getLogger(SimulationHarness.class);
+    private static final Currency[] ORDER_CURRENCIES = {Currency.USD, Currency.EUR, Currency.GBP, Currency.JPY, Currency.HKD, Currency.KRW};
+    private static final LocalDate TRADE_DATE = LocalDate.of(2024, 1, 2);
+    private final Map<String, String> arguments;
+    private final SplittableRandom random;
+    private final VirtualClock clock = new VirtualClock();
+    private final Map<SimulationEvent, Long> eventCounts = new EnumMap<>(SimulationEvent.class);
+    private final Map<Currency, Double> baseFxRates = new EnumMap<>(Currency.class);
+    private AnnotationConfigApplicationContext context;
+    private RecordingMessageBus messageBus;
+    private SimulatedDisruptorService disruptorService;
+    private TradingPersistenceService persistenceService;
+    private CurrencyManager currencyManager;
+    private List<UUID> deskIds;
+    private List<UUID> traderIds;
+    private double deskLimitMin;
+    private double deskLimitMax;
+    private long failures;
+
+    public enum SimulationEvent
+    {
+        ORDER,
+        FX_UPDATE,
+        DESK_LIMIT_UPSERT,
+        TRADER_MOVE,
+        RESET;
+    }
+
+    public SimulationHarness(Map<String, String> arguments)
+    {
+        this.arguments = arguments;
+        this.random = new SplittableRandom(Long.parseLong(argument("seed", "42")));
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0)
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            arguments.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger("com.trading").setLevel(Level.toLevel(arguments.getOrDefault("log.level", "WARN")));
+        loggerContext.getLogger("com.trading.simulation").setLevel(Level.INFO);
+
+        String out = arguments.get("out");
+        try (Writer transcript = out == null ? null : new BufferedWriter(Files.newBufferedWriter(Paths.get(out), StandardCharsets.UTF_8), 1 << 16))
+        {
+            new SimulationHarness(arguments).run(transcript);
+        }
+    }
+
+    public void run(Writer transcript)
+    {
+        long events = Long.parseLong(argument("events", "1000000"));
+        double eventsPerSecond = Double.parseDouble(argument("rate", "5000"));
+        long sessionNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(argument("session.seconds", "60")));
+        deskLimitMin = Double.parseDouble(argument("desk.limit.min", "1000000"));
+        deskLimitMax = Double.parseDouble(argument("desk.limit.max", "100000000"));
+
+        start(transcript);
+        long started = System.nanoTime();
+        long nextReset = sessionNanos;
+        for (long i = 0; i < events; i++)
+        {
+            long next = clock.nanos() + (long) (-Math.log(1.0 - random.nextDouble()) / eventsPerSecond * 1e9);
+            if (next >= nextReset)
+            {
+                clock.advanceTo(nextReset);
+                nextReset += sessionNanos;
+                apply(SimulationEvent.RESET);
+                continue;
+            }
+            clock.advanceTo(next);
+            apply(nextEvent());
+        }
+        long elapsed = System.nanoTime() - started;
+
+        log.info("Simulated {} events over {} virtual seconds in {} ms with {} failures: {}", events,
+                TimeUnit.NANOSECONDS.toSeconds(clock.nanos()), TimeUnit.NANOSECONDS.toMillis(elapsed), failures, eventCounts);
+        log.info("Published messages by topic: {}", messageBus.getPublishedByTopic());
+        log.info("Output digest: {}", messageBus.digest());
+        log.info("Book digest: {}", bookDigest());
+        context.close();
+    }
+
+    private void start(Writer transcript)
+    {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("seeder.enabled", "true");
+        properties.put("seeder.desks", argument("desks", "100"));
+        properties.put("seeder.traders", argument("traders", "10000"));
+        properties.put("seeder.seed", argument("seed", "42"));
+        properties.put("seeder.batch.size", "10000");
+        properties.put("seeder.trader.prefix", "trader");
+        properties.put("seeder.desk.limit.min", argument("desk.limit.min", "1000000"));
+        properties.put("seeder.desk.limit.max", argument("desk.limit.max", "100000000"));
+        properties.put("amps.topic.limit.breach", "trading.limit.breach");
+        properties.put("amps.topic.desk.notional.update", "desk.notional.update");
+        properties.put("amps.topic.trader.notional.update", "trader.notional.update");
+        properties.put("amps.topic.order.rejection", "trading.order.rejection");
+        properties.put("outbound.log.sample.interval", "1000");
+        properties.put("leaderboard.size", "20");
+        properties.put("currency.refresh.interval", String.valueOf(Long.MAX_VALUE));
+
+        messageBus = new RecordingMessageBus(transcript);
+        disruptorService = new SimulatedDisruptorService(Integer.parseInt(argument("batch", "64")));
+        context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().setActiveProfiles("memory");
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("simulation", properties));
+        context.registerBean(MessageBus.class, () -> messageBus);
+        context.registerBean(DisruptorService.class, () -> disruptorService);
+        context.registerBean(BreachThrottle.class, () -> new BreachThrottle(clock::nanos,
+                Double.parseDouble(argument("breach.rate", "5")), Integer.parseInt(argument("breach.burst", "10"))));
+        context.register(InMemoryDeskRepository.class, InMemoryTraderRepository.class, InMemoryDeskNotionalLimitRepository.class,
+                InMemoryTraderNotionalLimitRepository.class, ReferenceDataSeeder.class, TradingPersistenceService.class, CurrencyManager.class,
+                AmpsMessageOutboundProcessor.class, BookSnapshotService.class, UtilisationLeaderboardService.class, OrderEventHandler.class);
+        context.refresh();
+
+        persistenceService = context.getBean(TradingPersistenceService.class);
+        currencyManager = context.getBean(CurrencyManager.class);
+        disruptorService.start("simulation", context.getBean(OrderEventHandler.class));
+        baseFxRates.putAll(currencyManager.getCurrentRates());
+
+        deskIds = new ArrayList<>();
+        persistenceService.getAllDesks().forEach(desk -> deskIds.add(desk.getDeskId()));
+        deskIds.sort(Comparator.naturalOrder());
+        traderIds = new ArrayList<>();
+        persistenceService.getAllTraderNotionalLimits().forEach(trader -> traderIds.add(trader.getTraderId()));
+        traderIds.sort(Comparator.naturalOrder());
+        log.info("Simulation book has {} desks and {} traders", deskIds.size(), traderIds.size());
+    }
+
+    private SimulationEvent nextEvent()
+    {
+        double draw = random.nextDouble();
+        if (draw < 0.005)
+            return SimulationEvent.FX_UPDATE;
+        if (draw < 0.008)
+            return SimulationEvent.DESK_LIMIT_UPSERT;
+        if (draw < 0.010)
+            return SimulationEvent.TRADER_MOVE;
+        return SimulationEvent.ORDER;
+    }
+
+    private void apply(SimulationEvent event)
+    {
+        eventCounts.merge(event, 1L, Long::sum);
+        try
+        {
+            switch (event)
+            {
+                case ORDER:
+                    disruptorService.push(nextOrder());
+                    break;
+                case FX_UPDATE:
+                    Map<Currency, Double> fxRates = new EnumMap<>(Currency.class);
+                    baseFxRates.forEach((currency, rate) -> fxRates.put(currency, currency == Currency.USD ? rate : rate * (0.98 + random.nextDouble() * 0.04)));
+                    disruptorService.pushFxUpdate(fxRates).join();
+                    break;
+                case DESK_LIMIT_UPSERT:
+                    DeskNotionalLimit deskNotionalLimit = new DeskNotionalLimit(deskIds.get(random.nextInt(deskIds.size())));
+                    double grossLimit = Math.round(deskLimitMin + random.nextDouble() * (deskLimitMax - deskLimitMin));
+                    deskNotionalLimit.setGrossNotionalLimit(grossLimit);
+                    deskNotionalLimit.setBuyNotionalLimit(Math.round(grossLimit * (0.5 + random.nextDouble() * 0.25)));
+                    deskNotionalLimit.setSellNotionalLimit(Math.round(grossLimit * (0.5 + random.nextDouble() * 0.25)));
+                    persistenceService.bulkSaveDeskNotionalLimits(List.of(deskNotionalLimit));
+                    disruptorService.pushDeskLimitUpsert(List.of(deskNotionalLimit)).join();
+                    break;
+                case TRADER_MOVE:
+                    UUID traderId = traderIds.get(random.nextInt(traderIds.size()));
+                    List<Desk> desks = persistenceService.saveTraderMove(traderId, deskIds.get(random.nextInt(deskIds.size())));
+                    disruptorService.pushTraderMove(desks).join();
+                    break;
+                case RESET:
+                    disruptorService.pushReset().join();
+                    break;
+            }
+        }
+        catch (RuntimeException e)
+        {
+            failures++;
+            messageBus.publish("simulation.failure", disruptorService.getSequence() + " " + event + " " + rootCause(e));
+        }
+    }
+
+    private Order nextOrder()
+    {
+        Order order = new Order();
+        order.setOrderId("SIM-" + disruptorService.getSequence());
+        order.setOwnerId("trader" + (1 + random.nextInt(traderIds.size())));
+        order.setInstrumentCode("SIM" + random.nextInt(500));
+        order.setSettlementCurrency(ORDER_CURRENCIES[random.nextInt(ORDER_CURRENCIES.length)].name());
+        order.setSide(random.nextBoolean() ? Side.BUY : Side.SELL);
+        order.setQuantity(100 + random.nextInt(9_901));
+        order.setPrice(Math.round((1 + random.nextDouble() * 999) * 100) / 100.0);
+        order.setOrderNotionalValueInLocal(order.getQuantity() * order.getPrice());
+        order.setTradeDate(TRADE_DATE);
+        order.setArrivalTime(clock.timeOfDay());
+        order.setState(OrderStates.ACCEPTED_BY_DESK);
+        order.setActionEvent(OrderStateEvents.SUBMIT_TO_EXCH);
+        order.setVersion(1);
+        return order;
+    }
+
+    private String bookDigest()
+    {
+        try
+        {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            StringBuilder line = new StringBuilder();
+            for (UUID deskId : deskIds)
+            {
+                DeskNotionalLimit desk = persistenceService.getDeskNotionalLimit(deskId);
+                line.setLength(0);
+                line.append(deskId).append(' ').append(desk.getCurrentBuyNotionalMicros()).append(' ').append(desk.getCurrentSellNotionalMicros())
+                        .append(' ').append(desk.getCurrentGrossNotionalMicros()).append('\n');
+                digest.update(line.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            for (UUID traderId : traderIds)
+            {
+                TraderNotionalLimit trader = persistenceService.getTraderNotionalLimit(traderId);
+                line.setLength(0);
+                line.append(traderId).append(' ').append(trader.getCurrentBuyNotionalMicros()).append(' ').append(trader.getCurrentSellNotionalMicros())
+                        .append(' ').append(trader.getCurrentGrossNotionalMicros()).append('\n');
+                digest.update(line.toString().getBytes(StandardCharsets.UTF_8));
+            }
+            return hex(digest.digest());
+        }
+        catch (Exception e)
+        {
+            throw new IllegalStateException("Failed to digest the book", e);
+        }
+    }
+
+    private String argument(String name, String defaultValue)
+    {
+        return arguments.getOrDefault(name, defaultValue);
+    }
+
+    private static String rootCause(Throwable e)
+    {
+        while (e.getCause() != null)
+            e = e.getCause();
+        return e.getClass().getSimpleName() + ": " + e.getMessage();
+    }
+
+    static String hex(byte[] bytes)
+    {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes)
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        return hex.toString();
+    }
+}
@@ -0,0 +1,27 @@
+package com.trading.simulation;
+
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualClock
+{
+    private static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+    private long nanos;
+
+    public long nanos()
+    {
+        return nanos;
+    }
+
+    public void advanceTo(long nanos)
+    {
+        if (nanos < this.nanos)
+            throw new IllegalArgumentException("Virtual clock cannot move backwards from: " + this.nanos + " to: " + nanos);
+        this.nanos = nanos;
+    }
+
+    public LocalTime timeOfDay()
+    {
+        return LocalTime.ofNanoOfDay(nanos % NANOS_PER_DAY);
+    }
+}
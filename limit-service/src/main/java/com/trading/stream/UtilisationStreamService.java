@@ -0,0 +1,283 @@
+package com.trading.stream;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Notional;
+import com.trading.model.Order;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.UtilisationSnapshot;
+import com.trading.service.disruptor.LimitEngineListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class UtilisationStreamService implements LimitEngineListener
+{
+    private static final Logger log = LoggerFactory.getLogger(UtilisationStreamService.class);
+    public static final String DESK = "desk";
+    public static final String TRADER = "trader";
+    @Value("${stream.flush.interval.ms}")
+    private long flushIntervalMs;
+    @Value("${stream.sender.threads}")
+    private int senderThreads;
+    @Value("${stream.emitter.timeout.ms}")
+    private long emitterTimeoutMs;
+    private final Map<UUID, UtilisationUpdate> latest = new ConcurrentHashMap<>();
+    private final Set<UUID> dirty = ConcurrentHashMap.newKeySet();
+    private final List<UtilisationSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private ScheduledExecutorService fanOutExecutor;
+    private ExecutorService senderExecutor;
+
+    @PostConstruct
+    public void initialize()
+    {
+        fanOutExecutor = Executors.newSingleThreadScheduledExecutor(daemon("utilisation-fanout"));
+        senderExecutor = Executors.newFixedThreadPool(senderThreads, daemon("utilisation-sender"));
+        fanOutExecutor.scheduleWithFixedDelay(this::fanOut, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown()
+    {
+        fanOutExecutor.shutdownNow();
+        senderExecutor.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.getEmitter().complete());
+    }
+
+    @Override
+    public void onOrderApplied(long sequence, Order order, DeskNotionalLimit deskNotionalLimit, TraderNotionalLimit traderNotionalLimit)
+    {
+        publish(deskUpdate(sequence, deskNotionalLimit));
+        publish(traderUpdate(sequence, deskNotionalLimit, traderNotionalLimit.getTraderId(), traderNotionalLimit.getCurrentBuyNotionalMicros(),
+                traderNotionalLimit.getCurrentSellNotionalMicros(), traderNotionalLimit.getCurrentGrossNotionalMicros()));
+    }
+
+    // New desk limits move the percentages of the desk and of every trader streamed under it.
+    @Override
+    public void onDeskLimitsApplied(long sequence, List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        Map<UUID, DeskNotionalLimit> appliedDesks = new HashMap<>();
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
+        {
+            if (latest.containsKey(deskNotionalLimit.getDeskId()))
+                appliedDesks.put(deskNotionalLimit.getDeskId(), deskNotionalLimit);
+        }
+        if (appliedDesks.isEmpty())
+            return;
+
+        for (UtilisationUpdate update : List.copyOf(latest.values()))
+        {
+            DeskNotionalLimit deskNotionalLimit = appliedDesks.get(update.getDeskId());
+            if (deskNotionalLimit == null)
+                continue;
+
+            if (DESK.equals(update.getEntityType()))
+                publish(deskUpdate(sequence, deskNotionalLimit));
+            else
+                publish(traderUpdate(sequence, deskNotionalLimit, update.getId(), Notional.fromUsd(update.getCurrentBuyNotional()),
+                        Notional.fromUsd(update.getCurrentSellNotional()), Notional.fromUsd(update.getCurrentGrossNotional())));
+        }
+    }
+
+    @Override
+    public void onDeskLimitRemoved(long sequence, UUID deskId)
+    {
+        evictDesk(deskId);
+    }
+
+    @Override
+    public void onDeskRemoved(long sequence, UUID deskId)
+    {
+        evictDesk(deskId);
+    }
+
+    @Override
+    public void onTraderLimitRemoved(long sequence, UUID traderId)
+    {
+        evict(traderId);
+    }
+
+    @Override
+    public void onTraderRemoved(long sequence, UUID traderId)
+    {
+        evict(traderId);
+    }
+
+    // A restored desk, or on a standby a replicated order update, replaces the desk and its traders' notionals outright.
+    @Override
+    public void onDeskRestored(long sequence, DeskNotionalLimit deskNotionalLimit, List<TraderNotionalLimit> traderNotionalLimits)
+    {
+        publish(deskUpdate(sequence, deskNotionalLimit));
+        for (TraderNotionalLimit traderNotionalLimit : traderNotionalLimits)
+            publish(traderUpdate(sequence, deskNotionalLimit, traderNotionalLimit.getTraderId(), traderNotionalLimit.getCurrentBuyNotionalMicros(),
+                    traderNotionalLimit.getCurrentSellNotionalMicros(), traderNotionalLimit.getCurrentGrossNotionalMicros()));
+    }
+
+    // Every current notional is now zero, so every streamed entry is re-sent at zero.
+    @Override
+    public void onReset(long sequence)
+    {
+        for (UtilisationUpdate update : List.copyOf(latest.values()))
+            publish(new UtilisationUpdate(update.getEntityType(), update.getId(), update.getDeskId(), sequence, 0, 0, 0, 0, 0, 0));
+    }
+
+    // Follows the reset of the closing day: entries for desks and traders no longer in the book do not carry into the next.
+    @Override
+    public void onRollover(long sequence, UtilisationSnapshot snapshot)
+    {
+        Set<UUID> retained = new HashSet<>();
+        snapshot.getDesks().forEach(desk -> retained.add(desk.getDeskId()));
+        snapshot.getTraders().forEach(trader -> retained.add(trader.getTraderId()));
+        for (UUID id : List.copyOf(latest.keySet()))
+        {
+            if (!retained.contains(id))
+                evict(id);
+        }
+    }
+
+    public SseEmitter subscribe(String entityType)
+    {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMs);
+        UtilisationSubscriber subscriber = new UtilisationSubscriber(emitter, entityType);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+
+        boolean schedule = false;
+        for (UtilisationUpdate update : latest.values())
+            schedule |= subscriber.offer(update);
+        if (schedule)
+            senderExecutor.execute(() -> drain(subscriber));
+
+        log.info("Added utilisation stream subscriber: {} for: {}, {} subscribers in total", subscriber.getId(), entityType == null ? "all" : entityType, subscribers.size());
+        return emitter;
+    }
+
+    public int getSubscriberCount()
+    {
+        return subscribers.size();
+    }
+
+    private void publish(UtilisationUpdate update)
+    {
+        latest.put(update.getId(), update);
+        dirty.add(update.getId());
+    }
+
+    private void evict(UUID id)
+    {
+        latest.remove(id);
+        dirty.remove(id);
+    }
+
+    private void evictDesk(UUID deskId)
+    {
+        for (UtilisationUpdate update : List.copyOf(latest.values()))
+        {
+            if (deskId.equals(update.getDeskId()))
+                evict(update.getId());
+        }
+    }
+
+    private static UtilisationUpdate deskUpdate(long sequence, DeskNotionalLimit deskNotionalLimit)
+    {
+        UUID deskId = deskNotionalLimit.getDeskId();
+        return new UtilisationUpdate(DESK, deskId, deskId, sequence,
+                Notional.toUsd2dp(deskNotionalLimit.getCurrentBuyNotionalMicros()),
+                Notional.toUsd2dp(deskNotionalLimit.getCurrentSellNotionalMicros()),
+                Notional.toUsd2dp(deskNotionalLimit.getCurrentGrossNotionalMicros()),
+                Notional.round2dp(deskNotionalLimit.getBuyUtilizationPercentage()),
+                Notional.round2dp(deskNotionalLimit.getSellUtilizationPercentage()),
+                Notional.round2dp(deskNotionalLimit.getGrossUtilizationPercentage()));
+    }
+
+    private static UtilisationUpdate traderUpdate(long sequence, DeskNotionalLimit deskNotionalLimit, UUID traderId, long buyMicros, long sellMicros, long grossMicros)
+    {
+        return new UtilisationUpdate(TRADER, traderId, deskNotionalLimit.getDeskId(), sequence,
+                Notional.toUsd2dp(buyMicros),
+                Notional.toUsd2dp(sellMicros),
+                Notional.toUsd2dp(grossMicros),
+                Notional.round2dp(Notional.utilizationPercentage(buyMicros, deskNotionalLimit.getBuyNotionalLimitMicros())),
+                Notional.round2dp(Notional.utilizationPercentage(sellMicros, deskNotionalLimit.getSellNotionalLimitMicros())),
+                Notional.round2dp(Notional.utilizationPercentage(grossMicros, deskNotionalLimit.getGrossNotionalLimitMicros())));
+    }
+
+    private void fanOut()
+    {
+        try
+        {
+            Iterator<UUID> keys = dirty.iterator();
+            while (keys.hasNext())
+            {
+                UUID id = keys.next();
+                keys.remove();
+                UtilisationUpdate update = latest.get(id);
+                if (update == null)
+                    continue;
+
+                for (UtilisationSubscriber subscriber : subscribers)
+                {
+                    if (subscriber.offer(update))
+                        senderExecutor.execute(() -> drain(subscriber));
+                }
+            }
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-991: Failed to fan out utilisation updates", e);
+        }
+    }
+
+    private void drain(UtilisationSubscriber subscriber)
+    {
+        try
+        {
+            if (subscriber.drain())
+                senderExecutor.execute(() -> drain(subscriber));
+        }
+        catch (Exception e)
+        {
+            log.info("Dropping utilisation stream subscriber: {} after send failure: {}", subscriber.getId(), e.getMessage());
+            remove(subscriber);
+            subscriber.getEmitter().completeWithError(e);
+        }
+    }
+
+    private void remove(UtilisationSubscriber subscriber)
+    {
+        subscriber.close();
+        if (subscribers.remove(subscriber))
+            log.info("Removed utilisation stream subscriber: {}, {} subscribers remaining", subscriber.getId(), subscribers.size());
+    }
+
+    private static ThreadFactory daemon(String name)
+    {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable ->
+        {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
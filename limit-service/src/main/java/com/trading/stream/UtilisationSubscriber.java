@@ -0,0 +1,69 @@
+package com.trading.stream;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class UtilisationSubscriber
+{
+    private final String id = UUID.randomUUID().toString();
+    private final SseEmitter emitter;
+    private final String entityType;
+    private final Map<UUID, UtilisationUpdate> slots = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile boolean closed;
+
+    public UtilisationSubscriber(SseEmitter emitter, String entityType)
+    {
+        this.emitter = emitter;
+        this.entityType = entityType;
+    }
+
+    public String getId()
+    {
+        return id;
+    }
+
+    public SseEmitter getEmitter()
+    {
+        return emitter;
+    }
+
+    public boolean isClosed()
+    {
+        return closed;
+    }
+
+    public void close()
+    {
+        closed = true;
+        slots.clear();
+    }
+
+    public boolean offer(UtilisationUpdate update)
+    {
+        if (closed || (entityType != null && !entityType.equals(update.getEntityType())))
+            return false;
+
+        slots.put(update.getId(), update);
+        return scheduled.compareAndSet(false, true);
+    }
+
+    public boolean drain() throws IOException
+    {
+        Iterator<UUID> keys = slots.keySet().iterator();
+        while (keys.hasNext() && !closed)
+        {
+            UtilisationUpdate update = slots.remove(keys.next());
+            if (update != null)
+                emitter.send(SseEmitter.event().name(update.getEntityType()).data(update));
+        }
+
+        scheduled.set(false);
+        return !slots.isEmpty() && !closed && scheduled.compareAndSet(false, true);
+    }
+}
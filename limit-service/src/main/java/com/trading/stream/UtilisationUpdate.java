@@ -0,0 +1,21 @@
+package com.trading.stream;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+public class UtilisationUpdate
+{
+    private final String entityType;
+    private final UUID id;
+    private final UUID deskId;
+    private final long sequence;
+    private final double currentBuyNotional;
+    private final double currentSellNotional;
+    private final double currentGrossNotional;
+    private final double buyUtilizationPercentage;
+    private final double sellUtilizationPercentage;
+    private final double grossUtilizationPercentage;
+}
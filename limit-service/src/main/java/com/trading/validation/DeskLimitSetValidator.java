@@ -0,0 +1,58 @@
+package com.trading.validation;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.service.TradingPersistenceService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class DeskLimitSetValidator
+{
+    private static final Logger log = LoggerFactory.getLogger(DeskLimitSetValidator.class);
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+
+    public ValidationResult validate(List<DeskNotionalLimit> deskNotionalLimits)
+    {
+        if (deskNotionalLimits == null || deskNotionalLimits.isEmpty())
+            return new ValidationResult(false, "Limit set is empty.");
+
+        StringBuilder errors = new StringBuilder();
+        Set<UUID> deskIds = new HashSet<>();
+        for (DeskNotionalLimit deskNotionalLimit : deskNotionalLimits)
+        {
+            UUID deskId = deskNotionalLimit.getDeskId();
+            if (deskId == null)
+            {
+                errors.append("Desk ID is required. ");
+                continue;
+            }
+
+            if (!deskIds.add(deskId))
+                errors.append("Duplicate desk: ").append(deskId).append(". ");
+
+            if (persistenceService.getDeskById(deskId) == null)
+                errors.append("Unknown desk: ").append(deskId).append(". ");
+
+            if (deskNotionalLimit.getBuyNotionalLimitMicros() < 0 || deskNotionalLimit.getSellNotionalLimitMicros() < 0 || deskNotionalLimit.getGrossNotionalLimitMicros() < 0)
+                errors.append("Limits must be non-negative for desk: ").append(deskId).append(". ");
+        }
+
+        if (errors.length() > 0)
+        {
+            String errorMessage = errors.toString().trim();
+            log.error("ERR-504: Invalid desk limit set: {}", errorMessage);
+            return new ValidationResult(false, errorMessage);
+        }
+
+        return new ValidationResult(true, null);
+    }
+}
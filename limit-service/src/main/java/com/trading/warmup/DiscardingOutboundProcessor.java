@@ -0,0 +1,50 @@
+package com.trading.warmup;
+
+import com.trading.messaging.AmpsMessageOutboundProcessor;
+import com.trading.messaging.MessageBuffer;
+
+// Counts the messages the engine encodes against the throwaway book instead of publishing them.
+class DiscardingOutboundProcessor extends AmpsMessageOutboundProcessor
+{
+    private long discarded;
+
+    DiscardingOutboundProcessor()
+    {
+        super(null);
+    }
+
+    long getDiscarded()
+    {
+        return discarded;
+    }
+
+    @Override
+    public void publishLimitBreach(MessageBuffer breachMessage)
+    {
+        discard(breachMessage);
+    }
+
+    @Override
+    public void publishDeskNotionalUpdate(MessageBuffer notionalUpdateMessage)
+    {
+        discard(notionalUpdateMessage);
+    }
+
+    @Override
+    public void publishTraderNotionalUpdate(MessageBuffer notionalUpdateMessage)
+    {
+        discard(notionalUpdateMessage);
+    }
+
+    @Override
+    public void publishOrderRejection(MessageBuffer rejectionMessage)
+    {
+        discard(rejectionMessage);
+    }
+
+    private void discard(MessageBuffer message)
+    {
+        discarded++;
+        releaseBuffer(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.trading.warmup;
+
+// Published once warm-up has finished, or straight away when it is disabled; every order ingress opens on it.
+public class EngineReadyEvent
+{
+    private final long warmupMs;
+
+    public EngineReadyEvent(long warmupMs)
+    {
+        this.warmupMs = warmupMs;
+    }
+
+    public long getWarmupMs()
+    {
+        return warmupMs;
+    }
+}
@@ -0,0 +1,289 @@
+package com.trading.warmup;
+
+import com.trading.gateway.BinaryOrderCodec;
+import com.trading.messaging.OrderMessageProcessor;
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Order;
+import com.trading.model.OrderStateEvents;
+import com.trading.model.OrderStates;
+import com.trading.model.Side;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.repository.memory.InMemoryDeskNotionalLimitRepository;
+import com.trading.repository.memory.InMemoryDeskRepository;
+import com.trading.repository.memory.InMemoryTraderNotionalLimitRepository;
+import com.trading.repository.memory.InMemoryTraderRepository;
+import com.trading.seed.ReferenceDataSeeder;
+import com.trading.service.CurrencyManager;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.CommandEvent;
+import com.trading.service.disruptor.BreachThrottle;
+import com.trading.service.disruptor.LimitEngineListener;
+import com.trading.service.disruptor.OrderEventHandler;
+import com.trading.validation.OrderMessageValidator;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Replays synthetic orders through decode, limit check and message encoding against a throwaway copy of part of the book
+// until JIT compilation settles, and only then opens the order ingresses and reports ready.
+@Service
+@RequiredArgsConstructor
+public class EngineWarmupService
+{
+    private static final Logger log = LoggerFactory.getLogger(EngineWarmupService.class);
+    private static final int BATCH_SIZE = 64;
+    @Value("${warmup.enabled}")
+    private boolean enabled;
+    @Value("${warmup.traders}")
+    private int warmupTraders;
+    @Value("${warmup.round.orders}")
+    private int roundOrders;
+    @Value("${warmup.stable.rounds}")
+    private int stableRounds;
+    @Value("${warmup.compile.threshold.ms}")
+    private long compileThresholdMs;
+    @Value("${warmup.max.seconds}")
+    private long maxSeconds;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final CurrencyManager currencyManager;
+    @Autowired
+    private final OrderMessageProcessor orderMessageProcessor;
+    @Autowired
+    private final OrderMessageValidator messageValidator;
+    @Autowired
+    private final ApplicationEventPublisher eventPublisher;
+    private volatile WarmupState state = WarmupState.WARMING_UP;
+    private volatile long ordersReplayed;
+    private volatile int rounds;
+    private volatile long warmupMs;
+    private volatile long compilationMs;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady()
+    {
+        if (!enabled)
+        {
+            openIngress();
+            return;
+        }
+
+        Thread warmupThread = new Thread(() ->
+        {
+            warmUp();
+            openIngress();
+        }, "engine-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    public WarmupState getState()
+    {
+        return state;
+    }
+
+    public boolean isReady()
+    {
+        return state == WarmupState.READY;
+    }
+
+    public Map<String, Object> getStatus()
+    {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("status", state);
+        status.put("warmupEnabled", enabled);
+        status.put("ordersReplayed", ordersReplayed);
+        status.put("rounds", rounds);
+        status.put("warmupMs", warmupMs);
+        status.put("compilationMs", compilationMs);
+        return status;
+    }
+
+    private void warmUp()
+    {
+        long started = System.nanoTime();
+        try
+        {
+            List<String> ownerIds = new ArrayList<>();
+            TradingPersistenceService book = createThrowawayBook(ownerIds);
+            if (ownerIds.isEmpty())
+            {
+                log.warn("No traders with limits to warm up against, skipping warm-up");
+                return;
+            }
+
+            DefaultListableBeanFactory noBeans = new DefaultListableBeanFactory();
+            DiscardingOutboundProcessor outboundProcessor = new DiscardingOutboundProcessor();
+            OrderEventHandler handler = new OrderEventHandler(book, currencyManager, outboundProcessor,
+                    new BreachThrottle(0, 1), noBeans.getBeanProvider(LimitEngineListener.class));
+            handler.initialize();
+
+            Currency[] currencies = supportedCurrencies();
+            SplittableRandom random = new SplittableRandom(17);
+            CommandEvent event = new CommandEvent();
+            ByteBuffer binary = ByteBuffer.allocate(BinaryOrderCodec.MESSAGE_LENGTH).order(BinaryOrderCodec.BYTE_ORDER);
+            CompilationMXBean compiler = ManagementFactory.getCompilationMXBean();
+            boolean compileTimeSupported = compiler != null && compiler.isCompilationTimeMonitoringSupported();
+            long deadline = started + TimeUnit.SECONDS.toNanos(maxSeconds);
+            long lastCompileMs = compileTimeSupported ? compiler.getTotalCompilationTime() : 0;
+            int stable = 0;
+            long sequence = 0;
+
+            log.info("Warming up against {} traders in rounds of {} orders", ownerIds.size(), roundOrders);
+            while (stable < stableRounds && System.nanoTime() < deadline)
+            {
+                for (int i = 0; i < roundOrders; i++, sequence++)
+                {
+                    Order order = decode(syntheticOrder(random, sequence, ownerIds, currencies).toJSON());
+                    BinaryOrderCodec.encode(binary, 0, order);
+                    event.clear();
+                    BinaryOrderCodec.decode(binary, 0, event.getReusableOrder());
+                    event.setOrder(event.getReusableOrder());
+                    handler.onEvent(event, sequence, sequence % BATCH_SIZE == BATCH_SIZE - 1);
+                }
+                book.resetCurrentNotionals();
+                ordersReplayed = sequence;
+                rounds++;
+
+                long compileMs = compileTimeSupported ? compiler.getTotalCompilationTime() : 0;
+                stable = compileMs - lastCompileMs <= compileThresholdMs ? stable + 1 : 0;
+                log.debug("Warm-up round: {} spent {} ms compiling", rounds, compileMs - lastCompileMs);
+                lastCompileMs = compileMs;
+                compilationMs = compileMs;
+            }
+
+            warmupMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            log.info("Warm-up replayed {} orders in {} rounds over {} ms, encoded {} messages, compilation {}",
+                    ordersReplayed, rounds, warmupMs, outboundProcessor.getDiscarded(), stable >= stableRounds ? "settled" : "still active at the time limit");
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-014: Engine warm-up failed after {} orders, starting without it", ordersReplayed, e);
+        }
+    }
+
+    private void openIngress()
+    {
+        try
+        {
+            eventPublisher.publishEvent(new EngineReadyEvent(warmupMs));
+        }
+        catch (Exception e)
+        {
+            log.error("ERR-015: Failed to open order ingress after warm-up", e);
+        }
+        finally
+        {
+            state = WarmupState.READY;
+            log.info("Limit engine is ready");
+        }
+    }
+
+    private TradingPersistenceService createThrowawayBook(List<String> ownerIds)
+    {
+        InMemoryDeskRepository deskRepository = new InMemoryDeskRepository();
+        InMemoryTraderRepository traderRepository = new InMemoryTraderRepository();
+        InMemoryDeskNotionalLimitRepository deskNotionalLimitRepository = new InMemoryDeskNotionalLimitRepository();
+        InMemoryTraderNotionalLimitRepository traderNotionalLimitRepository = new InMemoryTraderNotionalLimitRepository();
+
+        for (Desk desk : persistenceService.getAllDesks())
+        {
+            DeskNotionalLimit deskNotionalLimit = persistenceService.getDeskNotionalLimit(desk.getDeskId());
+            if (deskNotionalLimit == null)
+                continue;
+
+            Desk deskCopy = new Desk();
+            deskCopy.setDeskId(desk.getDeskId());
+            deskCopy.setDeskName(desk.getDeskName());
+            for (UUID traderId : desk.getTraders())
+            {
+                Trader trader = persistenceService.getTraderById(traderId);
+                if (trader == null || persistenceService.getTraderNotionalLimit(traderId) == null || ownerIds.size() >= warmupTraders)
+                    continue;
+
+                deskCopy.getTraders().add(traderId);
+                traderRepository.save(trader);
+                traderNotionalLimitRepository.save(new TraderNotionalLimit(traderId));
+                ownerIds.add(trader.getUserId());
+            }
+
+            DeskNotionalLimit deskNotionalLimitCopy = new DeskNotionalLimit(desk.getDeskId());
+            deskNotionalLimitCopy.setBuyNotionalLimitMicros(deskNotionalLimit.getBuyNotionalLimitMicros());
+            deskNotionalLimitCopy.setSellNotionalLimitMicros(deskNotionalLimit.getSellNotionalLimitMicros());
+            deskNotionalLimitCopy.setGrossNotionalLimitMicros(deskNotionalLimit.getGrossNotionalLimitMicros());
+            deskNotionalLimitRepository.save(deskNotionalLimitCopy);
+            deskRepository.save(deskCopy);
+
+            if (ownerIds.size() >= warmupTraders)
+                break;
+        }
+
+        DefaultListableBeanFactory noBeans = new DefaultListableBeanFactory();
+        TradingPersistenceService book = new TradingPersistenceService(deskNotionalLimitRepository, deskRepository, traderRepository,
+                traderNotionalLimitRepository, noBeans.getBeanProvider(MongoTemplate.class), noBeans.getBeanProvider(ReferenceDataSeeder.class));
+        book.initializeCaches();
+        return book;
+    }
+
+    private Order decode(String messageData) throws Exception
+    {
+        if (!messageValidator.validateMessage(messageData).isValid())
+            throw new IllegalStateException("Synthetic warm-up order failed validation: " + messageData);
+
+        return orderMessageProcessor.decode(messageData);
+    }
+
+    private Currency[] supportedCurrencies()
+    {
+        List<Currency> currencies = new ArrayList<>();
+        for (Currency currency : Currency.values())
+        {
+            if (currencyManager.hasRate(currency))
+                currencies.add(currency);
+        }
+        return currencies.toArray(new Currency[0]);
+    }
+
+    private static Order syntheticOrder(SplittableRandom random, long sequence, List<String> ownerIds, Currency[] currencies)
+    {
+        Order order = new Order();
+        order.setOrderId("WARMUP-" + sequence);
+        order.setOwnerId(ownerIds.get(random.nextInt(ownerIds.size())));
+        order.setInstrumentCode("WARM" + random.nextInt(100));
+        order.setSettlementCurrency(currencies[random.nextInt(currencies.length)].name());
+        order.setSide(random.nextBoolean() ? Side.BUY : Side.SELL);
+        order.setQuantity(100 + random.nextInt(1_000));
+        order.setPrice(1 + random.nextInt(10_000) / 100.0);
+        order.setOrderNotionalValueInLocal(order.getQuantity() * order.getPrice());
+        order.setTradeDate(LocalDate.now());
+        order.setArrivalTime(LocalTime.now().withNano(0));
+        order.setState(OrderStates.ACCEPTED_BY_DESK);
+        order.setActionEvent(OrderStateEvents.SUBMIT_TO_EXCH);
+        order.setVersion(1);
+        return order;
+    }
+}
@@ -0,0 +1,7 @@
+package com.trading.warmup;
+
+public enum WarmupState
+{
+    WARMING_UP,
+    READY;
+}
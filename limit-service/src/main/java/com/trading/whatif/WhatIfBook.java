@@ -0,0 +1,96 @@
+package com.trading.whatif;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.model.TraderNotionalLimitView;
+import com.trading.service.BookSnapshotService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// Copy-on-write view over the published book snapshot. Desks and traders are copied only when an order touches them;
+// everything else is read straight from the shared immutable views, with the scenario's limits applied on read.
+class WhatIfBook
+{
+    private final BookSnapshotService bookSnapshotService;
+    private final WhatIfRequest request;
+    private final Map<UUID, DeskNotionalLimit> limitChanges = new HashMap<>();
+    private final Map<UUID, DeskNotionalLimit> desks = new HashMap<>();
+    private final Map<UUID, TraderNotionalLimit> traders = new HashMap<>();
+
+    WhatIfBook(BookSnapshotService bookSnapshotService, WhatIfRequest request)
+    {
+        this.bookSnapshotService = bookSnapshotService;
+        this.request = request;
+        request.getDeskLimits().forEach(deskLimit -> limitChanges.put(deskLimit.getDeskId(), deskLimit));
+    }
+
+    Map<UUID, DeskNotionalLimit> getLimitChanges()
+    {
+        return limitChanges;
+    }
+
+    Map<UUID, DeskNotionalLimit> getTouchedDesks()
+    {
+        return desks;
+    }
+
+    DeskNotionalLimit desk(UUID deskId)
+    {
+        DeskNotionalLimit desk = desks.get(deskId);
+        if (desk != null)
+            return desk;
+
+        DeskNotionalLimitView view = bookSnapshotService.getDesk(deskId);
+        if (view == null)
+            return null;
+
+        desk = scenario(view);
+        desks.put(deskId, desk);
+        return desk;
+    }
+
+    TraderNotionalLimit trader(UUID traderId)
+    {
+        TraderNotionalLimit trader = traders.get(traderId);
+        if (trader != null)
+            return trader;
+
+        TraderNotionalLimitView view = bookSnapshotService.getTrader(traderId);
+        if (view == null)
+            return null;
+
+        trader = new TraderNotionalLimit(traderId);
+        trader.setCurrentBuyNotionalMicros(view.getCurrentBuyNotionalMicros());
+        trader.setCurrentSellNotionalMicros(view.getCurrentSellNotionalMicros());
+        trader.setCurrentGrossNotionalMicros(view.getCurrentGrossNotionalMicros());
+        traders.put(traderId, trader);
+        return trader;
+    }
+
+    // The desk under the scenario's limits, without recording a copy, for desks no order has touched.
+    DeskNotionalLimit peek(DeskNotionalLimitView view)
+    {
+        DeskNotionalLimit desk = desks.get(view.getDeskId());
+        return desk != null ? desk : scenario(view);
+    }
+
+    private DeskNotionalLimit scenario(DeskNotionalLimitView view)
+    {
+        DeskNotionalLimit limitChange = limitChanges.get(view.getDeskId());
+        DeskNotionalLimit desk = new DeskNotionalLimit(view.getDeskId());
+        desk.setBuyNotionalLimitMicros(scale(limitChange != null ? limitChange.getBuyNotionalLimitMicros() : view.getBuyNotionalLimitMicros(), request.getBuyLimitScale()));
+        desk.setSellNotionalLimitMicros(scale(limitChange != null ? limitChange.getSellNotionalLimitMicros() : view.getSellNotionalLimitMicros(), request.getSellLimitScale()));
+        desk.setGrossNotionalLimitMicros(scale(limitChange != null ? limitChange.getGrossNotionalLimitMicros() : view.getGrossNotionalLimitMicros(), request.getGrossLimitScale()));
+        desk.setCurrentBuyNotionalMicros(view.getCurrentBuyNotionalMicros());
+        desk.setCurrentSellNotionalMicros(view.getCurrentSellNotionalMicros());
+        desk.setCurrentGrossNotionalMicros(view.getCurrentGrossNotionalMicros());
+        return desk;
+    }
+
+    private static long scale(long limitMicros, double factor)
+    {
+        return factor == 1.0 ? limitMicros : Math.round(limitMicros * factor);
+    }
+}
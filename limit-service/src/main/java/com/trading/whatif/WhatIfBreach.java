@@ -0,0 +1,12 @@
+package com.trading.whatif;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class WhatIfBreach
+{
+    private final String breachType;
+    private final int limitPercentage;
+}
@@ -0,0 +1,18 @@
+package com.trading.whatif;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// A desk whose utilisation crosses a higher threshold under the scenario than it does in the live book.
+@Data
+public class WhatIfDeskOutcome
+{
+    private UUID deskId;
+    private String deskName;
+    private double buyUtilizationPercentage;
+    private double sellUtilizationPercentage;
+    private double grossUtilizationPercentage;
+    private List<WhatIfBreach> breaches = new ArrayList<>();
+}
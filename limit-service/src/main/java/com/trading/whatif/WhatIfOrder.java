@@ -0,0 +1,21 @@
+package com.trading.whatif;
+
+import com.trading.model.Side;
+import lombok.Data;
+
+@Data
+public class WhatIfOrder
+{
+    private String orderId;
+    private String ownerId;
+    private String settlementCurrency;
+    private Side side;
+    private int quantity;
+    private double price;
+    private Double notionalLocal;
+
+    public double getEffectiveNotionalLocal()
+    {
+        return notionalLocal != null ? notionalLocal : quantity * price;
+    }
+}
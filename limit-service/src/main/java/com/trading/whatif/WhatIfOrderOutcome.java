@@ -0,0 +1,21 @@
+package com.trading.whatif;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class WhatIfOrderOutcome
+{
+    private String orderId;
+    private String ownerId;
+    private UUID deskId;
+    private String deskName;
+    private double notionalUSD;
+    private boolean accepted;
+    private List<WhatIfBreach> breaches = new ArrayList<>();
+    private double buyUtilizationPercentage;
+    private double sellUtilizationPercentage;
+    private double grossUtilizationPercentage;
+}
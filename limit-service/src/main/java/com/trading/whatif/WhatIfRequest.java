@@ -0,0 +1,22 @@
+package com.trading.whatif;
+
+import com.trading.model.DeskNotionalLimit;
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+// Limit changes are applied before the orders, which are then evaluated in sequence against the hypothetical book.
+@Data
+public class WhatIfRequest
+{
+    private List<WhatIfOrder> orders = new ArrayList<>();
+    private List<DeskNotionalLimit> deskLimits = new ArrayList<>();
+    private double buyLimitScale = 1.0;
+    private double sellLimitScale = 1.0;
+    private double grossLimitScale = 1.0;
+
+    public boolean isScaled()
+    {
+        return buyLimitScale != 1.0 || sellLimitScale != 1.0 || grossLimitScale != 1.0;
+    }
+}
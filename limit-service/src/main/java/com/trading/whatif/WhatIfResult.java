@@ -0,0 +1,13 @@
+package com.trading.whatif;
+
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class WhatIfResult
+{
+    private long bookVersion;
+    private List<WhatIfOrderOutcome> orders = new ArrayList<>();
+    private List<WhatIfDeskOutcome> desks = new ArrayList<>();
+}
@@ -0,0 +1,196 @@
+package com.trading.whatif;
+
+import com.trading.model.Currency;
+import com.trading.model.Desk;
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.DeskNotionalLimitView;
+import com.trading.model.Notional;
+import com.trading.model.Trader;
+import com.trading.model.TraderNotionalLimit;
+import com.trading.service.BookSnapshotService;
+import com.trading.service.CurrencyManager;
+import com.trading.service.TradingPersistenceService;
+import com.trading.service.disruptor.BreachType;
+import com.trading.service.disruptor.LimitCheck;
+import com.trading.validation.DeskLimitSetValidator;
+import com.trading.validation.ValidationResult;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Evaluates hypothetical orders and limit changes against the published book snapshot, never the engine's live state,
+// so a scenario costs the engine nothing and only the desks it touches are copied.
+@Service
+@RequiredArgsConstructor
+public class WhatIfService
+{
+    private static final Logger log = LoggerFactory.getLogger(WhatIfService.class);
+    @Autowired
+    private final BookSnapshotService bookSnapshotService;
+    @Autowired
+    private final TradingPersistenceService persistenceService;
+    @Autowired
+    private final CurrencyManager currencyManager;
+    @Autowired
+    private final DeskLimitSetValidator deskLimitSetValidator;
+
+    public WhatIfResult evaluate(WhatIfRequest request)
+    {
+        if (!request.getDeskLimits().isEmpty())
+        {
+            ValidationResult validationResult = deskLimitSetValidator.validate(request.getDeskLimits());
+            if (!validationResult.isValid())
+                throw new IllegalArgumentException(validationResult.getErrorMessage());
+        }
+        if (request.getBuyLimitScale() < 0 || request.getSellLimitScale() < 0 || request.getGrossLimitScale() < 0)
+            throw new IllegalArgumentException("Limit scale factors must be non-negative.");
+
+        WhatIfResult result = new WhatIfResult();
+        result.setBookVersion(bookSnapshotService.getVersion());
+        WhatIfBook book = new WhatIfBook(bookSnapshotService, request);
+
+        for (WhatIfOrder order : request.getOrders())
+            result.getOrders().add(evaluateOrder(book, order));
+
+        for (DeskNotionalLimitView live : affectedDesks(book, request))
+        {
+            WhatIfDeskOutcome outcome = compareDesk(live, book.peek(live));
+            if (outcome != null)
+                result.getDesks().add(outcome);
+        }
+
+        log.info("Evaluated what-if scenario with {} orders and {} limit changes at book version: {}, {} desks worsened",
+                request.getOrders().size(), request.getDeskLimits().size(), result.getBookVersion(), result.getDesks().size());
+        return result;
+    }
+
+    private WhatIfOrderOutcome evaluateOrder(WhatIfBook book, WhatIfOrder order)
+    {
+        if (order.getSide() == null)
+            throw new IllegalArgumentException("Side is required for order: " + order.getOrderId());
+
+        Trader trader = persistenceService.findTraderByUserId(order.getOwnerId())
+                .orElseThrow(() -> new IllegalArgumentException("Unknown trader: " + order.getOwnerId()));
+        Desk desk = persistenceService.findDeskByTraderId(trader.getTraderId())
+                .orElseThrow(() -> new IllegalArgumentException("No desk for trader: " + order.getOwnerId()));
+        TraderNotionalLimit traderNotionalLimit = book.trader(trader.getTraderId());
+        DeskNotionalLimit deskNotionalLimit = book.desk(desk.getDeskId());
+        if (traderNotionalLimit == null || deskNotionalLimit == null)
+            throw new IllegalArgumentException("No notional limits for trader: " + order.getOwnerId());
+
+        Currency currency;
+        try
+        {
+            currency = Currency.valueOf(order.getSettlementCurrency());
+        }
+        catch (RuntimeException e)
+        {
+            throw new IllegalArgumentException("Unknown settlement currency: " + order.getSettlementCurrency());
+        }
+        long notionalValueUSD = currencyManager.convertToUSDMicros(order.getEffectiveNotionalLocal(), currency);
+
+        WhatIfOrderOutcome outcome = new WhatIfOrderOutcome();
+        outcome.setOrderId(order.getOrderId());
+        outcome.setOwnerId(order.getOwnerId());
+        outcome.setDeskId(desk.getDeskId());
+        outcome.setDeskName(desk.getDeskName());
+        outcome.setNotionalUSD(Notional.toUsd(notionalValueUSD));
+
+        // Same sequence as the engine: the side and gross checks are independent, each either rejects or applies.
+        boolean accepted = true;
+        if (LimitCheck.breachesSideLimit(deskNotionalLimit, order.getSide(), notionalValueUSD))
+        {
+            outcome.getBreaches().add(new WhatIfBreach(BreachType.fullSide(order.getSide()).getLabel(), 100));
+            accepted = false;
+        }
+        else
+        {
+            LimitCheck.applySide(deskNotionalLimit, traderNotionalLimit, order.getSide(), notionalValueUSD);
+            LimitCheck.forEachWarning(deskNotionalLimit, order.getSide(), (breachType, limitPercentage) -> outcome.getBreaches().add(new WhatIfBreach(breachType.getLabel(), limitPercentage)));
+        }
+
+        if (LimitCheck.breachesGrossLimit(deskNotionalLimit, notionalValueUSD))
+        {
+            outcome.getBreaches().add(new WhatIfBreach(BreachType.FULL_GROSS.getLabel(), 100));
+            accepted = false;
+        }
+        else
+        {
+            LimitCheck.applyGross(deskNotionalLimit, traderNotionalLimit, notionalValueUSD);
+        }
+
+        outcome.setAccepted(accepted);
+        outcome.setBuyUtilizationPercentage(deskNotionalLimit.getBuyUtilizationPercentage());
+        outcome.setSellUtilizationPercentage(deskNotionalLimit.getSellUtilizationPercentage());
+        outcome.setGrossUtilizationPercentage(deskNotionalLimit.getGrossUtilizationPercentage());
+        return outcome;
+    }
+
+    // Scaling moves every desk's limits, otherwise only the desks with changed limits or hypothetical orders can differ.
+    private Collection<DeskNotionalLimitView> affectedDesks(WhatIfBook book, WhatIfRequest request)
+    {
+        if (request.isScaled())
+            return bookSnapshotService.getAllDesks();
+
+        Set<UUID> deskIds = new LinkedHashSet<>(book.getLimitChanges().keySet());
+        deskIds.addAll(book.getTouchedDesks().keySet());
+        List<DeskNotionalLimitView> desks = new ArrayList<>(deskIds.size());
+        for (UUID deskId : deskIds)
+        {
+            DeskNotionalLimitView view = bookSnapshotService.getDesk(deskId);
+            if (view != null)
+                desks.add(view);
+        }
+        return desks;
+    }
+
+    private WhatIfDeskOutcome compareDesk(DeskNotionalLimitView live, DeskNotionalLimit scenario)
+    {
+        List<WhatIfBreach> breaches = new ArrayList<>();
+        addIfWorse(breaches, BreachType.BUY_WARNING, threshold(live.getCurrentBuyNotionalMicros(), live.getBuyNotionalLimitMicros()),
+                threshold(scenario.getCurrentBuyNotionalMicros(), scenario.getBuyNotionalLimitMicros()));
+        addIfWorse(breaches, BreachType.SELL_WARNING, threshold(live.getCurrentSellNotionalMicros(), live.getSellNotionalLimitMicros()),
+                threshold(scenario.getCurrentSellNotionalMicros(), scenario.getSellNotionalLimitMicros()));
+        addIfWorse(breaches, BreachType.GROSS_WARNING, threshold(live.getCurrentGrossNotionalMicros(), live.getGrossNotionalLimitMicros()),
+                threshold(scenario.getCurrentGrossNotionalMicros(), scenario.getGrossNotionalLimitMicros()));
+        if (breaches.isEmpty())
+            return null;
+
+        Desk desk = persistenceService.getDeskById(live.getDeskId());
+        WhatIfDeskOutcome outcome = new WhatIfDeskOutcome();
+        outcome.setDeskId(live.getDeskId());
+        outcome.setDeskName(desk == null ? null : desk.getDeskName());
+        outcome.setBuyUtilizationPercentage(scenario.getBuyUtilizationPercentage());
+        outcome.setSellUtilizationPercentage(scenario.getSellUtilizationPercentage());
+        outcome.setGrossUtilizationPercentage(scenario.getGrossUtilizationPercentage());
+        outcome.setBreaches(breaches);
+        return outcome;
+    }
+
+    private static void addIfWorse(List<WhatIfBreach> breaches, BreachType breachType, int liveThreshold, int scenarioThreshold)
+    {
+        if (scenarioThreshold > liveThreshold)
+            breaches.add(new WhatIfBreach(breachType.getLabel(), scenarioThreshold));
+    }
+
+    // The highest warning threshold the utilisation exceeds, 100 once the limit itself is exceeded.
+    private static int threshold(long currentMicros, long limitMicros)
+    {
+        if (currentMicros > limitMicros)
+            return 100;
+        for (int limitPercentage = 80; limitPercentage >= 20; limitPercentage -= 20)
+        {
+            if (Notional.exceedsPercentage(currentMicros, limitMicros, limitPercentage))
+                return limitPercentage;
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,41 @@
+package com.trading.changefeed;
+
+import com.trading.model.DeskNotionalLimit;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryChangeFeedTest
+{
+    @Test
+    void publishesToTheStartedHandler()
+    {
+        InMemoryChangeFeed changeFeed = new InMemoryChangeFeed();
+        List<ChangeEvent> received = new ArrayList<>();
+        changeFeed.start(received::add);
+
+        ChangeEvent change = new ChangeEvent(DeskNotionalLimit.class, ChangeEvent.Operation.DELETE, UUID.randomUUID(), null);
+        changeFeed.publish(change);
+
+        assertEquals(1, received.size());
+        assertSame(change, received.get(0));
+    }
+
+    @Test
+    void dropsChangesBeforeStartAndAfterStop()
+    {
+        InMemoryChangeFeed changeFeed = new InMemoryChangeFeed();
+        List<ChangeEvent> received = new ArrayList<>();
+        changeFeed.publish(new ChangeEvent(DeskNotionalLimit.class, ChangeEvent.Operation.DELETE, UUID.randomUUID(), null));
+
+        changeFeed.start(received::add);
+        changeFeed.stop();
+        changeFeed.publish(new ChangeEvent(DeskNotionalLimit.class, ChangeEvent.Operation.DELETE, UUID.randomUUID(), null));
+
+        assertTrue(received.isEmpty());
+    }
+}
@@ -0,0 +1,108 @@
+package com.trading.gateway;
+
+import com.trading.model.Order;
+import com.trading.model.Side;
+import com.trading.service.disruptor.CommandEvent;
+import org.junit.jupiter.api.Test;
+import java.nio.ByteBuffer;
+import java.time.LocalTime;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryOrderCodecTest
+{
+    private static final int OFFSET = 5;
+
+    @Test
+    void roundTripsAnOrder()
+    {
+        ByteBuffer buffer = encode(order());
+        Order decoded = new Order();
+        BinaryOrderCodec.decode(buffer, OFFSET, decoded);
+
+        assertTrue(BinaryOrderCodec.isNewOrder(buffer, OFFSET));
+        assertEquals("3f2c9a4e-0000-4000-8000-000000000001", decoded.getOrderId());
+        assertEquals("jsmith", decoded.getOwnerId());
+        assertEquals("VOD.L", decoded.getInstrumentCode());
+        assertEquals("GBP", decoded.getSettlementCurrency());
+        assertEquals(Side.SELL, decoded.getSide());
+        assertEquals(1_500, decoded.getQuantity());
+        assertEquals(72.25, decoded.getPrice());
+        assertEquals(108_375.0, decoded.getOrderNotionalValueInLocal());
+        assertEquals(3, decoded.getVersion());
+        assertEquals(LocalTime.of(9, 30, 15), decoded.getArrivalTime());
+    }
+
+    @Test
+    void readsFieldsInPlace()
+    {
+        ByteBuffer buffer = encode(order());
+
+        assertEquals("jsmith", BinaryOrderCodec.ownerId(buffer, OFFSET));
+        assertEquals(1_500, BinaryOrderCodec.quantity(buffer, OFFSET));
+        assertEquals(72.25, BinaryOrderCodec.price(buffer, OFFSET));
+        assertEquals(3, BinaryOrderCodec.orderVersion(buffer, OFFSET));
+        assertTrue(BinaryOrderCodec.hasValidSide(buffer, OFFSET));
+        assertTrue(BinaryOrderCodec.hasKnownCurrency(buffer, OFFSET));
+    }
+
+    @Test
+    void rejectsUnknownCurrencyAndSide()
+    {
+        Order order = order();
+        order.setSettlementCurrency("XXX");
+        ByteBuffer buffer = encode(order);
+        buffer.put(OFFSET + BinaryOrderCodec.HEADER_LENGTH + 36 + 16 + 16 + 3, (byte) Side.values().length);
+
+        assertFalse(BinaryOrderCodec.hasKnownCurrency(buffer, OFFSET));
+        assertFalse(BinaryOrderCodec.hasValidSide(buffer, OFFSET));
+    }
+
+    @Test
+    void rejectsOtherTemplates()
+    {
+        ByteBuffer buffer = encode(order());
+        buffer.putShort(OFFSET + 2, (short) (BinaryOrderCodec.TEMPLATE_NEW_ORDER + 1));
+
+        assertFalse(BinaryOrderCodec.isNewOrder(buffer, OFFSET));
+    }
+
+    @Test
+    void translatesIntoTheEventsReusableOrder()
+    {
+        ByteBuffer buffer = encode(order());
+        buffer.position(OFFSET);
+        CommandEvent event = new CommandEvent();
+
+        BinaryOrderCodec.TRANSLATOR.translateTo(event, 0, buffer);
+
+        assertSame(event.getReusableOrder(), event.getOrder());
+        assertEquals("jsmith", event.getOrder().getOwnerId());
+        assertEquals(OFFSET, buffer.position());
+    }
+
+    private static ByteBuffer encode(Order order)
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(OFFSET + BinaryOrderCodec.MESSAGE_LENGTH).order(BinaryOrderCodec.BYTE_ORDER);
+        BinaryOrderCodec.encode(buffer, OFFSET, order);
+        return buffer;
+    }
+
+    private static Order order()
+    {
+        Order order = new Order();
+        order.setOrderId("3f2c9a4e-0000-4000-8000-000000000001");
+        order.setOwnerId("jsmith");
+        order.setInstrumentCode("VOD.L");
+        order.setSettlementCurrency("GBP");
+        order.setSide(Side.SELL);
+        order.setQuantity(1_500);
+        order.setPrice(72.25);
+        order.setOrderNotionalValueInLocal(108_375.0);
+        order.setVersion(3);
+        order.setArrivalTime(LocalTime.of(9, 30, 15));
+        return order;
+    }
+}
@@ -0,0 +1,97 @@
+package com.trading.history;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UtilisationRingTest
+{
+    @Test
+    void carriesValuesForwardThroughQuietBucketsAndUpToNow()
+    {
+        UtilisationRing ring = new UtilisationRing(Resolution.SECOND, 5);
+        ring.record(1_000, 10, 20, 30);
+        ring.record(3_500, 40, 50, 60);
+
+        Copy copy = copy(ring, 0, 10_000, 4_000);
+
+        assertArrayEquals(new long[] { 1_000, 2_000, 3_000, 4_000 }, copy.times);
+        assertArrayEquals(new float[] { 10, 10, 40, 40 }, copy.buy);
+        assertArrayEquals(new float[] { 20, 20, 50, 50 }, copy.sell);
+        assertArrayEquals(new float[] { 30, 30, 60, 60 }, copy.gross);
+    }
+
+    @Test
+    void keepsOnlyTheLastCapacityBuckets()
+    {
+        UtilisationRing ring = new UtilisationRing(Resolution.SECOND, 3);
+        ring.record(1_000, 10, 10, 10);
+        ring.record(10_000, 70, 70, 70);
+
+        Copy copy = copy(ring, 0, 20_000, 10_000);
+
+        assertArrayEquals(new long[] { 8_000, 9_000, 10_000 }, copy.times);
+        assertArrayEquals(new float[] { 10, 10, 70 }, copy.buy);
+    }
+
+    @Test
+    void keepsTheLastValueRecordedInABucketAndNeverMovesBackwards()
+    {
+        UtilisationRing ring = new UtilisationRing(Resolution.MINUTE, 4);
+        ring.record(60_000, 10, 10, 10);
+        ring.record(119_999, 20, 20, 20);
+        ring.record(30_000, 30, 30, 30);
+
+        Copy copy = copy(ring, 0, 120_000, 60_000);
+
+        assertArrayEquals(new long[] { 60_000 }, copy.times);
+        assertArrayEquals(new float[] { 30 }, copy.buy);
+    }
+
+    @Test
+    void clipsToTheRequestedRange()
+    {
+        UtilisationRing ring = new UtilisationRing(Resolution.SECOND, 10);
+        for (int second = 0; second < 6; second++)
+            ring.record(second * 1_000L, second, second, second);
+
+        Copy copy = copy(ring, 2_000, 3_999, 5_000);
+
+        assertArrayEquals(new long[] { 2_000, 3_000 }, copy.times);
+        assertArrayEquals(new float[] { 2, 3 }, copy.gross);
+    }
+
+    @Test
+    void copiesNothingBeforeTheFirstRecord()
+    {
+        assertEquals(0, copy(new UtilisationRing(Resolution.SECOND, 4), 0, 10_000, 5_000).times.length);
+    }
+
+    private static Copy copy(UtilisationRing ring, long fromMillis, long toMillis, long nowMillis)
+    {
+        int capacity = ring.getCapacity();
+        long[] times = new long[capacity];
+        float[] buy = new float[capacity];
+        float[] sell = new float[capacity];
+        float[] gross = new float[capacity];
+        int count = ring.copy(fromMillis, toMillis, nowMillis, times, buy, sell, gross);
+        return new Copy(Arrays.copyOf(times, count), Arrays.copyOf(buy, count), Arrays.copyOf(sell, count), Arrays.copyOf(gross, count));
+    }
+
+    private static final class Copy
+    {
+        private final long[] times;
+        private final float[] buy;
+        private final float[] sell;
+        private final float[] gross;
+
+        private Copy(long[] times, float[] buy, float[] sell, float[] gross)
+        {
+            this.times = times;
+            this.buy = buy;
+            this.sell = sell;
+            this.gross = gross;
+        }
+    }
+}
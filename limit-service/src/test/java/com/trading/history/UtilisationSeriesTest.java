@@ -0,0 +1,52 @@
+package com.trading.history;
+
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class UtilisationSeriesTest
+{
+    private static final int[] CAPACITIES = { 10, 10, 10 };
+    private final UUID id = UUID.randomUUID();
+
+    @Test
+    void recordsIntoEveryResolution()
+    {
+        UtilisationSeries series = new UtilisationSeries(CAPACITIES, 0);
+        series.record(0, 61_000, 10, 20, 30);
+
+        UtilisationHistory seconds = series.read(id, Resolution.SECOND, 0, 61_000, 61_000, 0);
+        UtilisationHistory minutes = series.read(id, Resolution.MINUTE, 0, 61_000, 61_000, 0);
+
+        assertEquals(id, seconds.getId());
+        assertEquals("1s", seconds.getResolution());
+        assertArrayEquals(new long[] { 61_000 }, seconds.getTimes());
+        assertArrayEquals(new long[] { 60_000 }, minutes.getTimes());
+        assertArrayEquals(new float[] { 30 }, minutes.getGrossUtilizationPercentage());
+    }
+
+    @Test
+    void readsZeroFromAResetTheSeriesHasNotRecordedSince()
+    {
+        UtilisationSeries series = new UtilisationSeries(CAPACITIES, 0);
+        series.record(0, 1_000, 50, 50, 50);
+
+        UtilisationHistory history = series.read(id, Resolution.SECOND, 0, 10_000, 4_000, 2_500);
+
+        assertArrayEquals(new long[] { 1_000, 2_000, 3_000, 4_000 }, history.getTimes());
+        assertArrayEquals(new float[] { 50, 0, 0, 0 }, history.getBuyUtilizationPercentage());
+    }
+
+    @Test
+    void writesThePendingResetOnItsNextRecord()
+    {
+        UtilisationSeries series = new UtilisationSeries(CAPACITIES, 0);
+        series.record(0, 1_000, 50, 50, 50);
+        series.record(2_500, 3_000, 70, 70, 70);
+
+        UtilisationHistory history = series.read(id, Resolution.SECOND, 0, 10_000, 4_000, 2_500);
+
+        assertArrayEquals(new float[] { 50, 0, 70, 70 }, history.getSellUtilizationPercentage());
+    }
+}
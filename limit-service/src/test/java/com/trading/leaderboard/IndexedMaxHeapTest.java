@@ -0,0 +1,84 @@
+package com.trading.leaderboard;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndexedMaxHeapTest
+{
+    @Test
+    void returnsTheHighestScoresInOrder()
+    {
+        IndexedMaxHeap heap = new IndexedMaxHeap(1);
+        UUID low = UUID.randomUUID();
+        UUID middle = UUID.randomUUID();
+        UUID high = UUID.randomUUID();
+        heap.update(middle, 50);
+        heap.update(low, 10);
+        heap.update(high, 90);
+
+        assertEquals(3, heap.size());
+        assertEquals(List.of(high, middle), heap.top(2));
+        assertEquals(List.of(high, middle, low), heap.top(10));
+    }
+
+    @Test
+    void reordersOnUpdateAndRemove()
+    {
+        IndexedMaxHeap heap = new IndexedMaxHeap(4);
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        heap.update(first, 30);
+        heap.update(second, 20);
+        heap.update(third, 10);
+
+        heap.update(third, 40);
+        heap.update(first, 5);
+        assertEquals(List.of(third, second, first), heap.top(3));
+
+        heap.remove(third);
+        heap.remove(UUID.randomUUID());
+        assertEquals(2, heap.size());
+        assertEquals(List.of(second, first), heap.top(3));
+    }
+
+    @Test
+    void matchesAFullSortUnderRandomUpdatesAndRemovals()
+    {
+        Random random = new Random(42);
+        IndexedMaxHeap heap = new IndexedMaxHeap(8);
+        Map<UUID, Double> expected = new HashMap<>();
+        List<UUID> keys = new ArrayList<>();
+        for (int i = 0; i < 200; i++)
+            keys.add(UUID.randomUUID());
+
+        for (int step = 0; step < 5_000; step++)
+        {
+            UUID key = keys.get(random.nextInt(keys.size()));
+            if (random.nextInt(5) == 0)
+            {
+                heap.remove(key);
+                expected.remove(key);
+            }
+            else
+            {
+                double score = random.nextInt(1_000);
+                heap.update(key, score);
+                expected.put(key, score);
+            }
+        }
+
+        List<Double> sorted = expected.values().stream().sorted(Comparator.reverseOrder()).limit(20).collect(Collectors.toList());
+        List<Double> top = heap.top(20).stream().map(expected::get).collect(Collectors.toList());
+        assertEquals(expected.size(), heap.size());
+        assertEquals(sorted, top);
+    }
+}
@@ -0,0 +1,53 @@
+package com.trading.messaging;
+
+import org.junit.jupiter.api.Test;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class MessageBufferPoolTest
+{
+    @Test
+    void reusesAReleasedBufferEmptied()
+    {
+        MessageBufferPool pool = new MessageBufferPool(2, 16, 64);
+        MessageBuffer buffer = pool.acquire();
+        buffer.write("{\"a\":1}".getBytes(StandardCharsets.UTF_8), 0, 7);
+
+        pool.release(buffer);
+        MessageBuffer reused = pool.acquire();
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.length());
+        assertEquals("", reused.toString());
+    }
+
+    @Test
+    void handsOutNewBuffersWhenEmptyAndDropsReleasesWhenFull()
+    {
+        MessageBufferPool pool = new MessageBufferPool(1, 16, 64);
+        MessageBuffer first = pool.acquire();
+        MessageBuffer second = pool.acquire();
+        assertNotSame(first, second);
+        assertEquals(16, first.capacity());
+
+        pool.release(first);
+        pool.release(second);
+
+        assertSame(first, pool.acquire());
+        assertNotSame(second, pool.acquire());
+    }
+
+    @Test
+    void doesNotRetainBuffersGrownPastTheLimit()
+    {
+        MessageBufferPool pool = new MessageBufferPool(2, 16, 64);
+        MessageBuffer grown = pool.acquire();
+        grown.write(new byte[100], 0, 100);
+
+        pool.release(grown);
+
+        assertNotSame(grown, pool.acquire());
+    }
+}
@@ -0,0 +1,104 @@
+package com.trading.messaging;
+
+import com.trading.model.Trader;
+import com.trading.service.OrderDedupSet;
+import com.trading.service.TradingPersistenceService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OrderMessagePreFilterTest
+{
+    private static final String ORDER_ID = "3f2c9a4e-0000-4000-8000-000000000001";
+    private final TradingPersistenceService persistenceService = new TradingPersistenceService(null, null, null, null, null, null);
+    private final OrderDedupSet dedupSet = new OrderDedupSet();
+    private OrderMessagePreFilter preFilter;
+
+    @BeforeEach
+    void setUp()
+    {
+        Trader trader = new Trader();
+        trader.setTraderId(UUID.randomUUID());
+        trader.setUserId("jsmith");
+        persistenceService.applyTrader(trader);
+
+        ReflectionTestUtils.setField(dedupSet, "requestedCapacity", 64);
+        dedupSet.initialize();
+        preFilter = preFilter(true);
+    }
+
+    @Test
+    void passesAKnownOwnerInASupportedCurrency()
+    {
+        assertEquals(PreFilterVerdict.PASS, filter(preFilter, order("jsmith", "GBP", 1)));
+    }
+
+    @Test
+    void dropsUnknownOwnersAndUnsupportedCurrencies()
+    {
+        assertEquals(PreFilterVerdict.UNKNOWN_OWNER, filter(preFilter, order("nobody", "GBP", 1)));
+        assertEquals(PreFilterVerdict.UNSUPPORTED_CURRENCY, filter(preFilter, order("jsmith", "XXX", 1)));
+        assertEquals(PreFilterVerdict.UNSUPPORTED_CURRENCY, filter(preFilter, order("jsmith", "GB", 1)));
+        assertEquals(1L, preFilter.getCounters().get(PreFilterVerdict.UNKNOWN_OWNER));
+        assertEquals(2L, preFilter.getCounters().get(PreFilterVerdict.UNSUPPORTED_CURRENCY));
+    }
+
+    @Test
+    void dropsARecordedVersionButNotTheNextOne()
+    {
+        dedupSet.add(ORDER_ID, 1);
+
+        assertEquals(PreFilterVerdict.DUPLICATE_VERSION, filter(preFilter, order("jsmith", "GBP", 1)));
+        assertEquals(PreFilterVerdict.PASS, filter(preFilter, order("jsmith", "GBP", 2)));
+    }
+
+    @Test
+    void letsThroughFieldsItCannotReadForFullValidation()
+    {
+        assertEquals(PreFilterVerdict.PASS, filter(preFilter, "{\"ownerId\": null, \"settlementCurrency\": 7}"));
+        assertEquals(PreFilterVerdict.PASS, filter(preFilter, "{\"ownerId\": \"no\\\"body\"}"));
+        assertEquals(PreFilterVerdict.PASS, filter(preFilter, "{\"settlementCurrency\""));
+    }
+
+    @Test
+    void onlyChecksDuplicatesWhenDisabled()
+    {
+        OrderMessagePreFilter disabled = preFilter(false);
+        dedupSet.add(ORDER_ID, 1);
+
+        assertEquals(PreFilterVerdict.PASS, filter(disabled, order("nobody", "XXX", 2)));
+        assertEquals(PreFilterVerdict.DUPLICATE_VERSION, filter(disabled, order("nobody", "XXX", 1)));
+    }
+
+    @Test
+    void scansOnlyTheGivenSlice()
+    {
+        byte[] framed = ("header" + order("nobody", "GBP", 1) + "trailer").getBytes(StandardCharsets.UTF_8);
+        byte[] known = order("jsmith", "GBP", 1).getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(known, 0, framed, 6, known.length);
+
+        assertEquals(PreFilterVerdict.PASS, preFilter.filter(framed, 6, known.length));
+    }
+
+    private OrderMessagePreFilter preFilter(boolean enabled)
+    {
+        OrderMessagePreFilter preFilter = new OrderMessagePreFilter(persistenceService, dedupSet);
+        ReflectionTestUtils.setField(preFilter, "enabled", enabled);
+        preFilter.initialize();
+        return preFilter;
+    }
+
+    private static PreFilterVerdict filter(OrderMessagePreFilter preFilter, String message)
+    {
+        byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+        return preFilter.filter(bytes, 0, bytes.length);
+    }
+
+    private static String order(String ownerId, String currency, int version)
+    {
+        return "{\"orderId\": \"" + ORDER_ID + "\", \"ownerId\": \"" + ownerId + "\", \"settlementCurrency\" : \"" + currency + "\",\n \"version\":" + version + "}";
+    }
+}
@@ -0,0 +1,42 @@
+package com.trading.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotionalTest
+{
+    @Test
+    void convertsUsdToMicrosAndBack()
+    {
+        assertEquals(1_234_567L, Notional.fromUsd(1.234567));
+        assertEquals(1.234567, Notional.toUsd(1_234_567L), 1e-12);
+        assertEquals(1.23, Notional.toUsd2dp(1_234_567L));
+        assertEquals(1.24, Notional.toUsd2dp(1_235_000L));
+    }
+
+    @Test
+    void exceedsPercentageIsStrict()
+    {
+        assertFalse(Notional.exceedsPercentage(80, 100, 80));
+        assertTrue(Notional.exceedsPercentage(81, 100, 80));
+        assertFalse(Notional.exceedsPercentage(0, 0, 20));
+    }
+
+    @Test
+    void exceedsPercentageDoesNotOverflowAboveNinetyTwoBillionUsd()
+    {
+        long limit = Notional.fromUsd(200_000_000_000.0);
+        assertTrue(Notional.exceedsPercentage(Notional.fromUsd(190_000_000_000.0), limit, 80));
+        assertFalse(Notional.exceedsPercentage(Notional.fromUsd(150_000_000_000.0), limit, 80));
+        assertTrue(Notional.exceedsPercentage(Long.MAX_VALUE, Long.MAX_VALUE, 80));
+        assertFalse(Notional.exceedsPercentage(Long.MAX_VALUE - 1, Long.MAX_VALUE, 100));
+    }
+
+    @Test
+    void exceedsPercentageHandlesNegativeCurrents()
+    {
+        assertFalse(Notional.exceedsPercentage(-Notional.fromUsd(200_000_000_000.0), Notional.fromUsd(100.0), 20));
+    }
+}
@@ -0,0 +1,69 @@
+package com.trading.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderDedupSetTest
+{
+    private static final String ORDER_ID = "3f2c9a4e-0000-4000-8000-000000000001";
+
+    @Test
+    void recognisesARecordedOrderVersion()
+    {
+        OrderDedupSet dedupSet = dedupSet(64);
+        byte[] orderId = ORDER_ID.getBytes(StandardCharsets.UTF_8);
+
+        assertFalse(dedupSet.contains(orderId, 0, orderId.length, 1));
+        assertTrue(dedupSet.add(ORDER_ID, 1));
+        assertTrue(dedupSet.contains(orderId, 0, orderId.length, 1));
+        assertFalse(dedupSet.contains(orderId, 0, orderId.length, 2));
+        assertFalse(dedupSet.add(ORDER_ID, 1));
+    }
+
+    @Test
+    void hashesByteArraysAndZeroPaddedBuffersAlike()
+    {
+        OrderDedupSet dedupSet = dedupSet(64);
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.position(8);
+        buffer.put(ORDER_ID.getBytes(StandardCharsets.US_ASCII));
+        byte[] framed = ("{\"orderId\":\"" + ORDER_ID + "\"}").getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(dedupSet.add(buffer, 8, 40, 3));
+        assertTrue(dedupSet.contains(framed, 12, ORDER_ID.length(), 3));
+        assertTrue(dedupSet.contains(buffer, 8, 40, 3));
+    }
+
+    @Test
+    void stopsRecordingWhenFullAndForgetsEverythingOnClear()
+    {
+        // Rounded up to 32 slots, three quarters of which may be filled
+        OrderDedupSet dedupSet = dedupSet(32);
+        for (int version = 0; version < 24; version++)
+            assertTrue(dedupSet.add(ORDER_ID, version));
+
+        assertTrue(dedupSet.add(ORDER_ID, 24));
+        assertFalse(dedupSet.contains(ORDER_ID.getBytes(StandardCharsets.UTF_8), 0, ORDER_ID.length(), 24));
+        assertEquals(24, dedupSet.getCounters().get("capacity"));
+        assertEquals(1L, dedupSet.getCounters().get("overflows"));
+
+        dedupSet.onRollover(42, null);
+
+        assertEquals(0, dedupSet.getCounters().get("size"));
+        assertEquals(1L, dedupSet.getCounters().get("resets"));
+        assertTrue(dedupSet.add(ORDER_ID, 0));
+    }
+
+    private static OrderDedupSet dedupSet(int capacity)
+    {
+        OrderDedupSet dedupSet = new OrderDedupSet();
+        ReflectionTestUtils.setField(dedupSet, "requestedCapacity", capacity);
+        dedupSet.initialize();
+        return dedupSet;
+    }
+}
@@ -0,0 +1,104 @@
+package com.trading.service;
+
+import com.trading.model.Order;
+import com.trading.model.Side;
+import com.trading.service.disruptor.DisruptorService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderSpillJournalTest
+{
+    @TempDir
+    Path spillDirectory;
+    private final List<Order> pushed = new ArrayList<>();
+    private OrderSpillJournal journal;
+
+    @AfterEach
+    void shutdown()
+    {
+        if (journal != null)
+            journal.shutdown();
+    }
+
+    @Test
+    void replaysFilesLeftByAPreviousRunOldestFirst() throws Exception
+    {
+        Files.write(spillDirectory.resolve("orders-2000.jsonl"), List.of(order("B").toJSON()), StandardCharsets.UTF_8);
+        Files.write(spillDirectory.resolve("orders-1000.jsonl"), List.of(order("A1").toJSON(), "", order("A2").toJSON()), StandardCharsets.UTF_8);
+        Files.write(spillDirectory.resolve("unrelated.jsonl"), List.of(order("X").toJSON()), StandardCharsets.UTF_8);
+
+        journal = start();
+        journal.replayLeftovers();
+
+        assertEquals(List.of("A1", "A2", "B"), orderIds());
+        assertEquals(3, journal.getReplayedOrders());
+        assertFalse(Files.exists(spillDirectory.resolve("orders-1000.jsonl")));
+        assertFalse(Files.exists(spillDirectory.resolve("orders-2000.jsonl")));
+        assertTrue(Files.exists(spillDirectory.resolve("unrelated.jsonl")));
+    }
+
+    @Test
+    void skipsAnUnreadableOrderAndKeepsReplaying() throws Exception
+    {
+        Files.write(spillDirectory.resolve("orders-1000.jsonl"), List.of("{not json", order("A").toJSON()), StandardCharsets.UTF_8);
+
+        journal = start();
+        journal.replayLeftovers();
+
+        assertEquals(List.of("A"), orderIds());
+    }
+
+    @Test
+    void replaysNothingWhenNoFilesWereLeft() throws Exception
+    {
+        journal = start();
+        journal.replayLeftovers();
+
+        assertEquals(List.of(), orderIds());
+        assertEquals(0, journal.getReplayedOrders());
+    }
+
+    private OrderSpillJournal start() throws Exception
+    {
+        DisruptorService disruptorService = (DisruptorService) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { DisruptorService.class }, (proxy, method, args) ->
+        {
+            if (method.getName().equals("push") && args.length == 1 && args[0] instanceof Order)
+                pushed.add((Order) args[0]);
+            return null;
+        });
+        OrderSpillJournal journal = new OrderSpillJournal(disruptorService);
+        ReflectionTestUtils.setField(journal, "spillDirectory", spillDirectory.toString());
+        journal.initialize();
+        return journal;
+    }
+
+    private List<String> orderIds()
+    {
+        List<String> orderIds = new ArrayList<>();
+        pushed.forEach(order -> orderIds.add(order.getOrderId()));
+        return orderIds;
+    }
+
+    private static Order order(String orderId)
+    {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setOwnerId("jsmith");
+        order.setSettlementCurrency("USD");
+        order.setSide(Side.BUY);
+        order.setQuantity(100);
+        order.setPrice(10.0);
+        return order;
+    }
+}
@@ -0,0 +1,55 @@
+package com.trading.service;
+
+import com.trading.model.TraderNotionalLimit;
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TradingPersistenceServiceTest
+{
+    private final TradingPersistenceService persistenceService = new TradingPersistenceService(null, null, null, null, null, null);
+
+    @Test
+    void changeFeedUpsertInsertsMissingTrader()
+    {
+        TraderNotionalLimit traderNotionalLimit = trader(UUID.randomUUID(), 5);
+
+        assertSame(traderNotionalLimit, persistenceService.applyTraderNotionalLimit(traderNotionalLimit));
+        assertSame(traderNotionalLimit, persistenceService.getTraderNotionalLimit(traderNotionalLimit.getTraderId()));
+    }
+
+    @Test
+    void changeFeedUpsertLeavesLiveCurrentsAlone()
+    {
+        UUID traderId = UUID.randomUUID();
+        TraderNotionalLimit live = trader(traderId, 500);
+        persistenceService.applyTraderNotionalLimit(live);
+
+        assertSame(live, persistenceService.applyTraderNotionalLimit(trader(traderId, 100)));
+        assertEquals(500, live.getCurrentBuyNotionalMicros());
+        assertEquals(500, live.getCurrentGrossNotionalMicros());
+    }
+
+    @Test
+    void replicatedRestoreOverwritesLiveCurrentsInPlace()
+    {
+        UUID traderId = UUID.randomUUID();
+        TraderNotionalLimit live = trader(traderId, 500);
+        persistenceService.applyTraderNotionalLimit(live);
+
+        assertSame(live, persistenceService.restoreTraderNotionalLimit(trader(traderId, 700)));
+        assertEquals(700, live.getCurrentBuyNotionalMicros());
+        assertEquals(700, live.getCurrentSellNotionalMicros());
+        assertEquals(700, live.getCurrentGrossNotionalMicros());
+    }
+
+    private static TraderNotionalLimit trader(UUID traderId, long currentMicros)
+    {
+        TraderNotionalLimit traderNotionalLimit = new TraderNotionalLimit(traderId);
+        traderNotionalLimit.setCurrentBuyNotionalMicros(currentMicros);
+        traderNotionalLimit.setCurrentSellNotionalMicros(currentMicros);
+        traderNotionalLimit.setCurrentGrossNotionalMicros(currentMicros);
+        return traderNotionalLimit;
+    }
+}
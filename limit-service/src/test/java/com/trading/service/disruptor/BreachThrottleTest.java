@@ -0,0 +1,111 @@
+package com.trading.service.disruptor;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BreachThrottleTest
+{
+    private final AtomicLong clock = new AtomicLong(1_000);
+    private final BreachThrottle throttle = new BreachThrottle(clock::get, 1, 2);
+    private final UUID deskId = UUID.randomUUID();
+    private final List<String> flushed = new ArrayList<>();
+
+    @Test
+    void allowsABurstThenSuppressesAndReportsTheCountOnTheNextPublished()
+    {
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+        assertEquals(-1, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+        assertEquals(-1, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+
+        advanceSeconds(1);
+
+        assertEquals(2, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+        assertEquals(-1, throttle.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+    }
+
+    @Test
+    void throttlesEachBreachTypeAndThresholdSeparately()
+    {
+        throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 80);
+        throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 80);
+
+        assertEquals(-1, throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 80));
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 60));
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.BUY_WARNING, 80));
+        assertEquals(0, throttle.tryAcquire(UUID.randomUUID(), BreachType.GROSS_WARNING, 80));
+    }
+
+    @Test
+    void flushesSuppressedCountsOnceTheBucketRefills()
+    {
+        throttle.tryAcquire(deskId, BreachType.SELL_WARNING, 40);
+        throttle.tryAcquire(deskId, BreachType.SELL_WARNING, 40);
+        throttle.tryAcquire(deskId, BreachType.SELL_WARNING, 40);
+
+        throttle.flushRefilled(this::onSuppressed);
+        assertEquals(List.of(), flushed);
+
+        advanceSeconds(1);
+        throttle.flushRefilled(this::onSuppressed);
+        throttle.flushRefilled(this::onSuppressed);
+
+        assertEquals(List.of("SELL_WARNING 40 1"), flushed);
+        assertEquals(-1, throttle.tryAcquire(deskId, BreachType.SELL_WARNING, 40));
+    }
+
+    @Test
+    void flushAllReportsEverythingAndRestartsFromAFullBurst()
+    {
+        for (int i = 0; i < 3; i++)
+            throttle.tryAcquire(deskId, BreachType.FULL_GROSS, 0);
+        for (int i = 0; i < 4; i++)
+            throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 20);
+
+        throttle.flushAll(this::onSuppressed);
+
+        assertEquals(List.of("FULL_GROSS 0 1", "GROSS_WARNING 20 2"), flushed);
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.FULL_GROSS, 0));
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.FULL_GROSS, 0));
+    }
+
+    @Test
+    void aRemovedDeskStartsAfreshAndIsNotFlushed()
+    {
+        for (int i = 0; i < 3; i++)
+            throttle.tryAcquire(deskId, BreachType.FULL_SELL, 0);
+
+        throttle.remove(deskId);
+        throttle.flushAll(this::onSuppressed);
+
+        assertEquals(List.of(), flushed);
+        assertEquals(0, throttle.tryAcquire(deskId, BreachType.FULL_SELL, 0));
+    }
+
+    @Test
+    void doesNotThrottleWhenDisabledOrOutsideTheKnownThresholds()
+    {
+        BreachThrottle disabled = new BreachThrottle(clock::get, 0, 1);
+        for (int i = 0; i < 5; i++)
+            assertEquals(0, disabled.tryAcquire(deskId, BreachType.FULL_BUY, 0));
+
+        for (int i = 0; i < 5; i++)
+            assertEquals(0, throttle.tryAcquire(deskId, BreachType.GROSS_WARNING, 120));
+    }
+
+    private void onSuppressed(UUID suppressedDeskId, BreachType breachType, int limitPercentage, long suppressedCount)
+    {
+        assertEquals(deskId, suppressedDeskId);
+        flushed.add(breachType + " " + limitPercentage + " " + suppressedCount);
+    }
+
+    private void advanceSeconds(long seconds)
+    {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
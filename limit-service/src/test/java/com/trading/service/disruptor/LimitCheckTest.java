@@ -0,0 +1,83 @@
+package com.trading.service.disruptor;
+
+import com.trading.model.DeskNotionalLimit;
+import com.trading.model.Notional;
+import com.trading.model.Side;
+import com.trading.model.TraderNotionalLimit;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LimitCheckTest
+{
+    @Test
+    void sideLimitsAreInclusive()
+    {
+        DeskNotionalLimit desk = desk(1_000, 2_000, 5_000);
+        desk.setCurrentBuyNotionalMicros(Notional.fromUsd(900));
+
+        assertFalse(LimitCheck.breachesSideLimit(desk, Side.BUY, Notional.fromUsd(100)));
+        assertTrue(LimitCheck.breachesSideLimit(desk, Side.BUY, Notional.fromUsd(100) + 1));
+        assertFalse(LimitCheck.breachesSideLimit(desk, Side.SELL, Notional.fromUsd(2_000)));
+        assertTrue(LimitCheck.breachesSideLimit(desk, Side.SHORT_SELL, Notional.fromUsd(2_000) + 1));
+        assertFalse(LimitCheck.breachesGrossLimit(desk, Notional.fromUsd(5_000)));
+        assertTrue(LimitCheck.breachesGrossLimit(desk, Notional.fromUsd(5_000) + 1));
+    }
+
+    @Test
+    void appliesToDeskAndTraderAlike()
+    {
+        DeskNotionalLimit desk = desk(1_000, 1_000, 2_000);
+        TraderNotionalLimit trader = new TraderNotionalLimit(UUID.randomUUID());
+
+        LimitCheck.applySide(desk, trader, Side.BUY, 100);
+        LimitCheck.applySide(desk, trader, Side.SHORT_SELL, 30);
+        LimitCheck.applyGross(desk, trader, 130);
+
+        assertEquals(100, desk.getCurrentBuyNotionalMicros());
+        assertEquals(30, desk.getCurrentSellNotionalMicros());
+        assertEquals(130, desk.getCurrentGrossNotionalMicros());
+        assertEquals(100, trader.getCurrentBuyNotionalMicros());
+        assertEquals(30, trader.getCurrentSellNotionalMicros());
+        assertEquals(130, trader.getCurrentGrossNotionalMicros());
+        assertEquals(100, LimitCheck.currentSideNotional(desk, Side.BUY));
+        assertEquals(30, LimitCheck.currentSideNotional(desk, Side.SELL));
+    }
+
+    @Test
+    void warnsOnGrossDownToTheFirstSideThreshold()
+    {
+        DeskNotionalLimit desk = desk(1_000, 1_000, 1_000);
+        desk.setCurrentGrossNotionalMicros(Notional.fromUsd(850));
+        desk.setCurrentBuyNotionalMicros(Notional.fromUsd(450));
+
+        assertEquals(List.of("GROSS_WARNING 80", "GROSS_WARNING 60", "GROSS_WARNING 40", "BUY_WARNING 40"), warnings(desk, Side.BUY));
+        assertEquals(List.of("GROSS_WARNING 80", "GROSS_WARNING 60", "GROSS_WARNING 40", "GROSS_WARNING 20"), warnings(desk, Side.SELL));
+    }
+
+    @Test
+    void raisesNothingAtOrBelowTwentyPercent()
+    {
+        DeskNotionalLimit desk = desk(1_000, 1_000, 1_000);
+        desk.setCurrentGrossNotionalMicros(Notional.fromUsd(200));
+        desk.setCurrentSellNotionalMicros(Notional.fromUsd(200));
+
+        assertEquals(List.of(), warnings(desk, Side.SELL));
+    }
+
+    private static List<String> warnings(DeskNotionalLimit desk, Side side)
+    {
+        List<String> warnings = new ArrayList<>();
+        LimitCheck.forEachWarning(desk, side, (breachType, limitPercentage) -> warnings.add(breachType + " " + limitPercentage));
+        return warnings;
+    }
+
+    private static DeskNotionalLimit desk(double buyLimit, double sellLimit, double grossLimit)
+    {
+        return new DeskNotionalLimit(UUID.randomUUID(), buyLimit, sellLimit, grossLimit);
+    }
+}